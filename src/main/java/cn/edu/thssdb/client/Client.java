@@ -156,7 +156,10 @@ public class Client {
         println(resp.getStatus().msg);
       } else {
         if (resp.isAbort) {
-          println("illegal SQL statement!");
+          if (resp.isSetColumnsList()) {
+            inTransaction = "";
+            println(resp.columnsList.get(0));
+          } else println("illegal SQL statement!");
         }
         else if (resp.isSetRowList()) {
           StringBuilder column_str = new StringBuilder();
@@ -181,6 +184,7 @@ public class Client {
             column = column.trim();
             if (column.equals("start transaction")) inTransaction = "(T)";
             else if (column.equals("commit transaction")) inTransaction = "";
+            else if (column.equals("rollback transaction")) inTransaction = "";
             println(column);
           }
         }
@@ -2,6 +2,15 @@ package cn.edu.thssdb.common;
 
 public class Global {
   public static int fanout = 129;
+  public static double bulkLoadFillFactor = 0.9;     // share of a node filled by bulk loads, the rest is left for inserts
+  public static int pageSize = 4096;
+  public static int bufferPoolSize = 1024;           // frames shared by all paged files
+  public static long bufferPoolFlushInterval = 1000; // ms between two rounds of the background flusher
+  public static long checkpointLogSize = 50000;      // bytes of log that trigger a checkpoint on commit
+  public static long walSegmentSize = 16 * 1024 * 1024; // bytes of a log segment file
+  public static int recoveryThreads = Runtime.getRuntime().availableProcessors(); // tables/databases loaded at once
+  public static long lockWaitTimeout = 10000;        // ms a session waits for a lock before giving up
+  public static long versionVacuumInterval = 1000;   // ms between two rounds of dropping dead row versions
 
   public static int SUCCESS_CODE = 0;
   public static int FAILURE_CODE = -1;
@@ -24,7 +33,11 @@ public class Global {
 
   public static final String DBMS_DIR = "thssdb";
   public static final String META_SUFFIX = "_meta";
+  public static final String INDEX_SUFFIX = "_index";
 
   public static final String LOG_BEGIN_TRANSACTION = "begin transaction";
   public static final String LOG_COMMIT = "commit";
+  public static final String LOG_ROLLBACK = "rollback";
+  public static final String SET_OPTIMISTIC = "set transaction optimistic";
+  public static final String SET_PESSIMISTIC = "set transaction pessimistic";
 }
@@ -0,0 +1,8 @@
+package cn.edu.thssdb.exception;
+
+public class LockWaitTimeoutException extends RuntimeException {
+  @Override
+  public String getMessage() {
+    return "Exception: lock wait timeout, please retry the transaction!";
+  }
+}
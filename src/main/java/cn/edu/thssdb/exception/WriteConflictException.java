@@ -0,0 +1,8 @@
+package cn.edu.thssdb.exception;
+
+public class WriteConflictException extends RuntimeException {
+  @Override
+  public String getMessage() {
+    return "Exception: the row is being changed by another transaction, please retry the transaction!";
+  }
+}
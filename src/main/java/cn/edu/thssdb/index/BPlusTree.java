@@ -1,64 +1,576 @@
 package cn.edu.thssdb.index;
 
+import cn.edu.thssdb.common.Global;
 import cn.edu.thssdb.common.Pair;
+import cn.edu.thssdb.exception.DuplicateKeyException;
+import cn.edu.thssdb.exception.KeyNotExistException;
+import cn.edu.thssdb.storage.Codec;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A B+ tree that may be used by several threads at once. Lookups and inserts/removes that stay inside one leaf
+ * descend with the tree latch held in shared mode and latch only the leaf they read (shared) or change
+ * (exclusive), so they run in parallel. The inner nodes only change when a leaf splits or merges; such an
+ * operation is redone from the root with the tree latch held exclusively (Bayer-Schkolnick optimistic descent).
+ * Point lookups take no latch at all, they validate the versions of the tree latch and of the leaf
+ * after reading (optimistic lock coupling) and fall back to the shared latch after a few failed tries.
+ * Iterators read one leaf at a time without keeping a latch in between. They follow the leaf chain as long as
+ * the tree has not been split or merged meanwhile and find their position again by the last key returned
+ * otherwise, so that they are weakly consistent like the iterators of java.util.concurrent.
+ */
 public final class BPlusTree<K extends Comparable<K>, V> implements Iterable<Pair<K, V>> {
+  public static final int MIN_FANOUT = 4;
+  public static final int MAX_FANOUT = 1024;   // keys are shifted on every insert, wider nodes cost more than they save
+
+  private static final int OPTIMISTIC_RETRIES = 3;
+  private static final Object MISSING = new Object();
+  private static final Object RETRY = new Object();
 
-  BPlusTreeNode<K, V> root;
-  private int size;
+  final NodeStore<K, V> store;
+  private final StampedLock latch = new StampedLock();
 
   public BPlusTree() {
-    root = new BPlusTreeLeafNode<>(0);
+    this(KeyArray.objects(), Global.fanout);
+  }
+
+  /**
+   * An in-memory tree whose nodes keep their keys in arrays like keyArray, see KeyArray.
+   */
+  public BPlusTree(KeyArray<K> keyArray) {
+    this(keyArray, Global.fanout);
+  }
+
+  public BPlusTree(KeyArray<K> keyArray, int fanout) {
+    this(new MemoryNodeStore<>(keyArray, checkFanout(fanout)));
+  }
+
+  /**
+   * Opens (or creates) a B+ tree kept in the page file at path, nodes are loaded on demand.
+   */
+  public BPlusTree(String path, Codec<K> keyCodec, Codec<V> valueCodec) {
+    this(path, keyCodec, valueCodec, KeyArray.objects(), 0);
+  }
+
+  /**
+   * A new tree gets the given fanout, or with 0 one that fills a page with the leaves and the inner nodes
+   * each, judging by the widths of the codecs. An existing tree keeps the fanout it was created with.
+   */
+  public BPlusTree(String path, Codec<K> keyCodec, Codec<V> valueCodec, KeyArray<K> keyArray, int fanout) {
+    this(new DiskNodeStore<>(path, keyCodec, valueCodec, keyArray, fanout == 0 ? 0 : checkFanout(fanout)));
+  }
+
+  public static int checkFanout(int fanout) {
+    if (fanout < MIN_FANOUT || fanout > MAX_FANOUT)
+      throw new IllegalArgumentException("fanout " + fanout + " is not between " + MIN_FANOUT + " and " + MAX_FANOUT);
+    return fanout;
+  }
+
+  private BPlusTree(NodeStore<K, V> store) {
+    this.store = store;
+    if (store.rootId == NodeStore.NO_NODE) {
+      store.rootId = new BPlusTreeLeafNode<>(store, 0).pageId;
+      store.release();
+    }
+  }
+
+  BPlusTreeNode<K, V> root() {
+    return store.fetch(store.rootId);
   }
 
   public int size() {
-    return size;
+    return store.size;
   }
 
+  @SuppressWarnings("unchecked")
   public V get(K key) {
     if (key == null) throw new IllegalArgumentException("argument key to get() is null");
-    return root.get(key);
+    for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+      Object value = readOptimistically(key);
+      if (value == MISSING)
+        throw new KeyNotExistException();
+      if (value != RETRY)
+        return (V) value;
+    }
+    long stamp = latch.readLock();
+    try {
+      BPlusTreeLeafNode<K, V> leaf = findLeaf(key);
+      long leafStamp = leaf.latch.readLock();
+      try {
+        return leaf.get(key);
+      } finally {
+        leaf.latch.unlockRead(leafStamp);
+      }
+    } finally {
+      store.release();
+      latch.unlockRead(stamp);
+    }
   }
 
   public void update(K key, V value) {
-    root.remove(key);
-    root.put(key, value);
+    long stamp = latch.readLock();
+    try {
+      BPlusTreeLeafNode<K, V> leaf = findLeaf(key);
+      long leafStamp = leaf.latch.writeLock();
+      try {
+        leaf.replace(key, value);
+      } finally {
+        leaf.latch.unlockWrite(leafStamp);
+      }
+    } finally {
+      store.release();
+      latch.unlockRead(stamp);
+    }
   }
 
   public void put(K key, V value) {
     if (key == null) throw new IllegalArgumentException("argument key to put() is null");
-    root.put(key, value);
-    size++;
-    checkRoot();
+    long stamp = latch.readLock();
+    try {
+      BPlusTreeLeafNode<K, V> leaf = findLeaf(key);
+      long leafStamp = leaf.latch.writeLock();
+      try {
+        if (leaf.canInsert()) {
+          leaf.put(key, value);
+          store.resize(1);
+          return;
+        }
+      } finally {
+        leaf.latch.unlockWrite(leafStamp);
+      }
+    } finally {
+      store.release();
+      latch.unlockRead(stamp);
+    }
+    // the leaf splits, redo the insert from the root with the whole tree latched
+    stamp = latch.writeLock();
+    try {
+      root().put(key, value);
+      store.resize(1);
+      checkRoot();
+    } finally {
+      store.release();
+      latch.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Sorts the entries by key and bulk loads them into the empty tree, see below.
+   */
+  public void bulkLoad(List<Pair<K, V>> entries) {
+    entries.sort((a, b) -> a.left.compareTo(b.left));
+    for (int i = 1; i < entries.size(); i++)
+      if (entries.get(i - 1).left.compareTo(entries.get(i).left) == 0)
+        throw new DuplicateKeyException();
+    bulkLoad(entries.iterator(), Global.bulkLoadFillFactor);
+  }
+
+  /**
+   * Fills the empty tree with entries in strictly ascending key order, bottom-up: the leaves are filled one
+   * after another up to fillFactor (0.5 to 1) of a node, then every level of inner nodes is built over the
+   * level below. Unlike put() no node is split and no key is shifted. Only the node being filled is pinned,
+   * so the entries may be streamed from disk. Entries out of order throw and leave the tree unusable.
+   */
+  public void bulkLoad(Iterator<Pair<K, V>> sorted, double fillFactor) {
+    long stamp = latch.writeLock();
+    try {
+      if (store.size != 0)
+        throw new IllegalStateException("bulk load into a non-empty tree");
+      int capacity = bulkLoadCapacity(fillFactor, store.leafFanout);
+      ArrayList<Integer> ids = new ArrayList<>();
+      ArrayList<K> separators = new ArrayList<>();
+      BPlusTreeLeafNode<K, V> leaf = (BPlusTreeLeafNode<K, V>) root();
+      ids.add(leaf.pageId);
+      K last = null;
+      int count = 0;
+      while (sorted.hasNext()) {
+        Pair<K, V> entry = sorted.next();
+        if (last != null && last.compareTo(entry.left) >= 0)
+          throw new IllegalArgumentException("bulk load keys are not in ascending order at " + entry.left);
+        if (leaf.nodeSize == capacity) {
+          BPlusTreeLeafNode<K, V> next = new BPlusTreeLeafNode<>(store, 0);
+          leaf.next = next.pageId;
+          leaf.dirty = true;
+          store.release();
+          leaf = (BPlusTreeLeafNode<K, V>) store.fetch(next.pageId);
+          ids.add(leaf.pageId);
+        }
+        if (leaf.nodeSize == 0)
+          separators.add(last == null ? entry.left : store.keyArray.separator(last, entry.left));
+        leaf.keys.set(leaf.nodeSize, entry.left);
+        leaf.values[leaf.nodeSize] = entry.right;
+        leaf.nodeSize++;
+        leaf.dirty = true;
+        last = entry.left;
+        count++;
+      }
+      store.release();
+      if (ids.size() > 1)
+        balanceLastLeaves(ids, separators);
+      while (ids.size() > 1)
+        buildLevel(ids, separators, bulkLoadCapacity(fillFactor, store.fanout) + 1);
+      store.rootId = ids.get(0);
+      store.resize(count);
+    } finally {
+      store.release();
+      latch.unlockWrite(stamp);
+    }
+  }
+
+  // keys per node, at least half full so that later removes merge nodes as after puts
+  private static int bulkLoadCapacity(double fillFactor, int fanout) {
+    int max = fanout - 1;
+    int capacity = (int) Math.round(max * Math.min(Math.max(fillFactor, 0.5), 1.0));
+    return Math.max(capacity, Math.min(2, max));
+  }
+
+  // the last leaf may be nearly empty, share the entries of the last two leaves evenly
+  private void balanceLastLeaves(ArrayList<Integer> ids, ArrayList<K> separators) {
+    int n = ids.size();
+    BPlusTreeLeafNode<K, V> left = (BPlusTreeLeafNode<K, V>) store.fetch(ids.get(n - 2));
+    BPlusTreeLeafNode<K, V> right = (BPlusTreeLeafNode<K, V>) store.fetch(ids.get(n - 1));
+    int move = (left.nodeSize + right.nodeSize) / 2 - right.nodeSize;
+    if (!right.isUnderFlow() || move <= 0)
+      return;
+    right.keys.copy(0, right.keys, move, right.nodeSize);
+    System.arraycopy(right.values, 0, right.values, move, right.nodeSize);
+    int from = left.nodeSize - move;
+    left.keys.copy(from, right.keys, 0, move);
+    System.arraycopy(left.values, from, right.values, 0, move);
+    left.keys.clear(from, left.nodeSize);
+    Arrays.fill(left.values, from, left.nodeSize, null);
+    left.nodeSize -= move;
+    right.nodeSize += move;
+    left.keys.trim(left.nodeSize);
+    left.dirty = true;
+    right.dirty = true;
+    separators.set(n - 1, store.keyArray.separator(left.keys.get(left.nodeSize - 1), right.keys.get(0)));
+    store.release();
+  }
+
+  // replaces the nodes of a level by their parents, the children are spread evenly over as few parents as possible
+  private void buildLevel(ArrayList<Integer> ids, ArrayList<K> separators, int maxChildren) {
+    int n = ids.size();
+    int parents = (n + maxChildren - 1) / maxChildren;
+    ArrayList<Integer> parentIds = new ArrayList<>(parents);
+    ArrayList<K> parentKeys = new ArrayList<>(parents);
+    int start = 0;
+    for (int p = 0; p < parents; p++) {
+      int children = n / parents + (p < n % parents ? 1 : 0);
+      BPlusTreeInternalNode<K, V> node = new BPlusTreeInternalNode<>(store, children - 1);
+      for (int i = 0; i < children; i++) {
+        node.children[i] = ids.get(start + i);
+        if (i > 0)
+          node.keys.set(i - 1, separators.get(start + i));
+      }
+      node.dirty = true;
+      parentIds.add(node.pageId);
+      parentKeys.add(separators.get(start));
+      start += children;
+      store.release();
+    }
+    ids.clear();
+    ids.addAll(parentIds);
+    separators.clear();
+    separators.addAll(parentKeys);
   }
 
   public void remove(K key) {
     if (key == null) throw new IllegalArgumentException("argument key to remove() is null");
-    root.remove(key);
-    size--;
-    if (root instanceof BPlusTreeInternalNode && root.size() == 0) {
-      root = ((BPlusTreeInternalNode<K, V>) root).children.get(0);
+    long stamp = latch.readLock();
+    try {
+      BPlusTreeLeafNode<K, V> leaf = findLeaf(key);
+      long leafStamp = leaf.latch.writeLock();
+      try {
+        int index = leaf.binarySearch(key);
+        if (index < 0)
+          throw new KeyNotExistException();
+        // separators only bound the keys of a leaf, they stay valid when any key is removed
+        if (leaf.pageId == store.rootId || leaf.canRemove()) {
+          leaf.remove(key);
+          store.resize(-1);
+          return;
+        }
+      } finally {
+        leaf.latch.unlockWrite(leafStamp);
+      }
+    } finally {
+      store.release();
+      latch.unlockRead(stamp);
+    }
+    stamp = latch.writeLock();
+    try {
+      BPlusTreeNode<K, V> root = root();
+      root.remove(key);
+      store.resize(-1);
+      if (root instanceof BPlusTreeInternalNode && root.size() == 0) {
+        store.rootId = ((BPlusTreeInternalNode<K, V>) root).children[0];
+        store.free(root);
+      }
+    } finally {
+      store.release();
+      latch.unlockWrite(stamp);
     }
   }
 
   public boolean contains(K key) {
     if (key == null) throw new IllegalArgumentException("argument key to contains() is null");
-    return root.containsKey(key);
+    for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+      Object value = readOptimistically(key);
+      if (value != RETRY)
+        return value != MISSING;
+    }
+    long stamp = latch.readLock();
+    try {
+      BPlusTreeLeafNode<K, V> leaf = findLeaf(key);
+      long leafStamp = leaf.latch.readLock();
+      try {
+        return leaf.containsKey(key);
+      } finally {
+        leaf.latch.unlockRead(leafStamp);
+      }
+    } finally {
+      store.release();
+      latch.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Writes the tree as it is now to disk and switches its file to it at once, a crash before leaves the file
+   * as of the last flush. No-op for an in-memory tree.
+   */
+  public void flush() {
+    checkpoint().run();
+  }
+
+  /**
+   * Like flush() but only takes the checkpoint, blocking writers meanwhile; the returned task writes it and
+   * may run while the tree is changed further.
+   */
+  public Runnable checkpoint() {
+    long stamp = latch.writeLock();
+    try {
+      return store.checkpoint();
+    } finally {
+      latch.unlockWrite(stamp);
+    }
+  }
+
+  public void close() {
+    store.close();
   }
 
   private void checkRoot() {
+    BPlusTreeNode<K, V> root = root();
     if (root.isOverFlow()) {
+      K separator = root.splitKey();
       BPlusTreeNode<K, V> newSiblingNode = root.split();
-      BPlusTreeInternalNode<K, V> newRoot = new BPlusTreeInternalNode<>(1);
-      newRoot.keys.set(0, newSiblingNode.getFirstLeafKey());
-      newRoot.children.set(0, root);
-      newRoot.children.set(1, newSiblingNode);
-      root = newRoot;
+      BPlusTreeInternalNode<K, V> newRoot = new BPlusTreeInternalNode<>(store, 1);
+      newRoot.keys.set(0, separator);
+      newRoot.children[0] = root.pageId;
+      newRoot.children[1] = newSiblingNode.pageId;
+      store.rootId = newRoot.pageId;
+    }
+  }
+
+  /**
+   * Reads the next entries of the iterator into its buffer, starting after the last key it returned.
+   * Returns false if there are none left.
+   */
+  boolean fill(BPlusTreeIterator<K, V> cursor) {
+    long stamp = latch.readLock();
+    try {
+      return cursor.descending ? fillDescending(cursor) : fillAscending(cursor);
+    } finally {
+      store.release();
+      latch.unlockRead(stamp);
+    }
+  }
+
+  private boolean fillAscending(BPlusTreeIterator<K, V> cursor) {
+    BPlusTreeLeafNode<K, V> leaf;
+    // the leaf following the previous one is still right as long as no split or merge happened since
+    if (cursor.nextLeaf != NodeStore.NO_NODE && latch.validate(cursor.version))
+      leaf = (BPlusTreeLeafNode<K, V>) store.fetch(cursor.nextLeaf);
+    else if (cursor.last != null)
+      leaf = findLeaf(cursor.last);
+    else if (cursor.from != null)
+      leaf = findLeaf(cursor.from);
+    else
+      leaf = firstLeaf();
+    while (true) {
+      boolean end = false;
+      int next;
+      long leafStamp = leaf.latch.readLock();
+      try {
+        for (int i = 0; i < leaf.size() && !end; i++) {
+          K key = leaf.keys.get(i);
+          if (!cursor.afterStart(key))
+            continue;
+          end = !cursor.beforeEnd(key);
+          if (!end)
+            cursor.add(key, leaf.values[i]);
+        }
+        next = leaf.next;
+      } finally {
+        leaf.latch.unlockRead(leafStamp);
+      }
+      if (end || next == NodeStore.NO_NODE) {
+        cursor.nextLeaf = NodeStore.NO_NODE;
+        return cursor.hasBuffered();
+      }
+      if (cursor.hasBuffered()) {
+        cursor.nextLeaf = next;
+        cursor.version = latch.tryOptimisticRead();
+        return true;
+      }
+      leaf = (BPlusTreeLeafNode<K, V>) store.fetch(next);
+    }
+  }
+
+  // leaves are only linked forwards, the previous leaf is found from the root by the first key of the current one
+  private boolean fillDescending(BPlusTreeIterator<K, V> cursor) {
+    BPlusTreeLeafNode<K, V> leaf;
+    if (cursor.last != null)
+      leaf = findLeafBefore(cursor.last);
+    else if (cursor.to != null)
+      leaf = cursor.toInclusive ? findLeaf(cursor.to) : findLeafBefore(cursor.to);
+    else
+      leaf = lastLeaf();
+    while (true) {
+      boolean end = false;
+      K first;
+      long leafStamp = leaf.latch.readLock();
+      try {
+        for (int i = leaf.size() - 1; i >= 0 && !end; i--) {
+          K key = leaf.keys.get(i);
+          if (!cursor.afterStart(key))
+            continue;
+          end = !cursor.beforeEnd(key);
+          if (!end)
+            cursor.add(key, leaf.values[i]);
+        }
+        first = leaf.size() > 0 ? leaf.keys.get(0) : null;
+      } finally {
+        leaf.latch.unlockRead(leafStamp);
+      }
+      if (end || cursor.hasBuffered() || first == null)
+        return cursor.hasBuffered();
+      BPlusTreeLeafNode<K, V> previous = findLeafBefore(first);
+      if (previous.pageId == leaf.pageId)
+        return false;
+      leaf = previous;
     }
   }
 
+  /**
+   * Looks the key up without taking any latch: the versions of the tree latch and of the leaf are read
+   * before and validated after reading, so that a concurrent change of the leaf or of the inner nodes
+   * is detected. Returns the value, MISSING, or RETRY if the read raced with a writer or met a node
+   * that is not in memory.
+   */
+  private Object readOptimistically(K key) {
+    long stamp = latch.tryOptimisticRead();
+    if (stamp == 0)
+      return RETRY;
+    try {
+      BPlusTreeNode<K, V> node = store.fetchIfCached(store.rootId);
+      while (node instanceof BPlusTreeInternalNode) {
+        int childId = ((BPlusTreeInternalNode<K, V>) node).searchChildId(key);
+        if (!latch.validate(stamp))
+          return RETRY;
+        node = store.fetchIfCached(childId);
+      }
+      if (node == null)
+        return RETRY;
+      BPlusTreeLeafNode<K, V> leaf = (BPlusTreeLeafNode<K, V>) node;
+      long leafStamp = leaf.latch.tryOptimisticRead();
+      if (leafStamp == 0)
+        return RETRY;
+      int index = leaf.binarySearch(key);
+      Object value = index >= 0 ? leaf.values[index] : MISSING;
+      if (!leaf.latch.validate(leafStamp) || !latch.validate(stamp))
+        return RETRY;
+      return value;
+    } catch (RuntimeException e) {
+      // a node seen half-changed, the pessimistic path reports real errors
+      return RETRY;
+    } finally {
+      store.release();
+    }
+  }
+
+  // the caller holds the tree latch
+  private BPlusTreeLeafNode<K, V> findLeaf(K key) {
+    BPlusTreeNode<K, V> node = root();
+    while (node instanceof BPlusTreeInternalNode)
+      node = ((BPlusTreeInternalNode<K, V>) node).searchChild(key);
+    return (BPlusTreeLeafNode<K, V>) node;
+  }
+
+  // the leaf holding the greatest key less than the given one
+  private BPlusTreeLeafNode<K, V> findLeafBefore(K key) {
+    BPlusTreeNode<K, V> node = root();
+    BPlusTreeNode<K, V> before = null;    // the nearest subtree left of the path
+    while (node instanceof BPlusTreeInternalNode) {
+      int index = node.binarySearch(key);
+      int childIndex = index >= 0 ? index : -index - 1;
+      if (childIndex > 0)
+        before = ((BPlusTreeInternalNode<K, V>) node).child(childIndex - 1);
+      node = ((BPlusTreeInternalNode<K, V>) node).child(childIndex);
+    }
+    // a separator may be less than the first key of the leaf after it, so the leaf reached may hold no
+    // smaller key, the greatest one is then in the last leaf left of the path
+    BPlusTreeLeafNode<K, V> leaf = (BPlusTreeLeafNode<K, V>) node;
+    if (before == null)
+      return leaf;
+    long leafStamp = leaf.latch.readLock();
+    try {
+      if (leaf.size() > 0 && leaf.keys.get(0).compareTo(key) < 0)
+        return leaf;
+    } finally {
+      leaf.latch.unlockRead(leafStamp);
+    }
+    node = before;
+    while (node instanceof BPlusTreeInternalNode)
+      node = ((BPlusTreeInternalNode<K, V>) node).child(node.size());
+    return (BPlusTreeLeafNode<K, V>) node;
+  }
+
+  private BPlusTreeLeafNode<K, V> lastLeaf() {
+    BPlusTreeNode<K, V> node = root();
+    while (node instanceof BPlusTreeInternalNode)
+      node = ((BPlusTreeInternalNode<K, V>) node).child(node.size());
+    return (BPlusTreeLeafNode<K, V>) node;
+  }
+
+  private BPlusTreeLeafNode<K, V> firstLeaf() {
+    BPlusTreeNode<K, V> node = root();
+    while (node instanceof BPlusTreeInternalNode)
+      node = ((BPlusTreeInternalNode<K, V>) node).child(0);
+    return (BPlusTreeLeafNode<K, V>) node;
+  }
+
   @Override
   public BPlusTreeIterator<K, V> iterator() {
-    return new BPlusTreeIterator<>(this);
+    return new BPlusTreeIterator<>(this, null, false, null, false, false);
+  }
+
+  /**
+   * Iterates the entries with keys between from and to in ascending order, a null bound means no bound.
+   */
+  public BPlusTreeIterator<K, V> iterator(K from, boolean fromInclusive, K to, boolean toInclusive) {
+    return new BPlusTreeIterator<>(this, from, fromInclusive, to, toInclusive, false);
+  }
+
+  /**
+   * Iterates the entries with keys between from and to, greatest key first.
+   */
+  public BPlusTreeIterator<K, V> descendingIterator(K from, boolean fromInclusive, K to, boolean toInclusive) {
+    return new BPlusTreeIterator<>(this, from, fromInclusive, to, toInclusive, true);
   }
 }
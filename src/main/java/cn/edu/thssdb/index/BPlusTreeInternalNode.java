@@ -1,31 +1,40 @@
 package cn.edu.thssdb.index;
 
-import cn.edu.thssdb.common.Global;
-
-import java.util.ArrayList;
-import java.util.Collections;
-
 public final class BPlusTreeInternalNode<K extends Comparable<K>, V> extends BPlusTreeNode<K, V> {
 
-  ArrayList<BPlusTreeNode<K, V>> children;
+  int[] children;
+
+  BPlusTreeInternalNode(NodeStore<K, V> store, int size) {
+    this(store, NodeStore.NO_NODE, size);
+    store.register(this);
+  }
 
-  BPlusTreeInternalNode(int size) {
-    keys = new ArrayList<>(Collections.nCopies((int) (1.5 * Global.fanout) + 1, null));
-    children = new ArrayList<>((Collections.nCopies((int) (1.5 * Global.fanout) + 2, null)));
+  BPlusTreeInternalNode(NodeStore<K, V> store, int pageId, int size) {
+    keys = store.keyArray.create(capacity(store.fanout));
+    children = new int[capacity(store.fanout) + 1];
     this.nodeSize = size;
+    this.store = store;
+    this.pageId = pageId;
+  }
+
+  BPlusTreeNode<K, V> child(int index) {
+    return store.fetch(children[index]);
   }
 
   private void childrenAdd(int index, BPlusTreeNode<K, V> node) {
-    for (int i = nodeSize + 1; i > index; i--) {
-      children.set(i, children.get(i - 1));
-    }
-    children.set(index, node);
+    System.arraycopy(children, index, children, index + 1, nodeSize + 1 - index);
+    children[index] = node.pageId;
+    dirty = true;
   }
 
   private void childrenRemove(int index) {
-    for (int i = index; i < nodeSize; i++) {
-      children.set(i, children.get(i + 1));
-    }
+    System.arraycopy(children, index + 1, children, index, nodeSize - index);
+    dirty = true;
+  }
+
+  @Override
+  int fanout() {
+    return store.fanout;
   }
 
   @Override
@@ -43,8 +52,8 @@ public final class BPlusTreeInternalNode<K extends Comparable<K>, V> extends BPl
     BPlusTreeNode<K, V> child = searchChild(key);
     child.put(key, value);
     if (child.isOverFlow()) {
-      BPlusTreeNode<K, V> newSiblingNode = child.split();
-      insertChild(newSiblingNode.getFirstLeafKey(), newSiblingNode);
+      K separator = child.splitKey();
+      insertChild(separator, child.split());
     }
   }
 
@@ -52,45 +61,48 @@ public final class BPlusTreeInternalNode<K extends Comparable<K>, V> extends BPl
   void remove(K key) {
     int index = binarySearch(key);
     int childIndex = index >= 0 ? index + 1 : -index - 1;
-    BPlusTreeNode<K, V> child = children.get(childIndex);
+    BPlusTreeNode<K, V> child = child(childIndex);
     child.remove(key);
     if (child.isUnderFlow()) {
       BPlusTreeNode<K, V> childLeftSibling = getChildLeftSibling(key);
       BPlusTreeNode<K, V> childRightSibling = getChildRightSibling(key);
       BPlusTreeNode<K, V> left = childLeftSibling != null ? childLeftSibling : child;
       BPlusTreeNode<K, V> right = childLeftSibling != null ? child : childRightSibling;
+      assert right != null;
       left.merge(right);
-      if (index >= 0) {
-        childrenRemove(index + 1);
-        keysRemove(index);
-      } else {
-        assert right != null;
-        deleteChild(right.getFirstLeafKey());
-      }
+      // separators are not always keys in the tree, the one before right is found by position
+      int rightIndex = childLeftSibling != null ? childIndex : childIndex + 1;
+      childrenRemove(rightIndex);
+      keysRemove(rightIndex - 1);
+      store.free(right);
       if (left.isOverFlow()) {
-        BPlusTreeNode<K, V> newSiblingNode = left.split();
-        insertChild(newSiblingNode.getFirstLeafKey(), newSiblingNode);
+        K separator = left.splitKey();
+        insertChild(separator, left.split());
       }
-    } else if (index >= 0)
-      keys.set(index, children.get(index + 1).getFirstLeafKey());
+    }
   }
 
   @Override
   K getFirstLeafKey() {
-    return children.get(0).getFirstLeafKey();
+    return child(0).getFirstLeafKey();
+  }
+
+  @Override
+  K splitKey() {
+    return keys.get(size() / 2);
   }
 
   @Override
   BPlusTreeNode<K, V> split() {
     int from = size() / 2 + 1;
     int to = size();
-    BPlusTreeInternalNode<K, V> newSiblingNode = new BPlusTreeInternalNode(to - from);
-    for (int i = 0; i < to - from; i++) {
-      newSiblingNode.keys.set(i, keys.get(i + from));
-      newSiblingNode.children.set(i, children.get(i + from));
-    }
-    newSiblingNode.children.set(to - from, children.get(to));
+    BPlusTreeInternalNode<K, V> newSiblingNode = new BPlusTreeInternalNode<>(store, to - from);
+    keys.copy(from, newSiblingNode.keys, 0, to - from);
+    System.arraycopy(children, from, newSiblingNode.children, 0, to - from + 1);
+    keys.clear(from - 1, to);
     this.nodeSize = this.nodeSize - to + from - 1;
+    keys.trim(nodeSize);
+    dirty = true;
     return newSiblingNode;
   }
 
@@ -100,43 +112,38 @@ public final class BPlusTreeInternalNode<K extends Comparable<K>, V> extends BPl
     BPlusTreeInternalNode<K, V> node = (BPlusTreeInternalNode<K, V>) sibling;
     int length = node.nodeSize;
     keys.set(index, node.getFirstLeafKey());
-    for (int i = 0; i < length; i++) {
-      keys.set(i + index + 1, node.keys.get(i));
-      children.set(i + index + 1, node.children.get(i));
-    }
-    children.set(length + index + 1, node.children.get(length));
+    node.keys.copy(0, keys, index + 1, length);
+    System.arraycopy(node.children, 0, children, index + 1, length + 1);
     nodeSize = index + length + 1;
+    dirty = true;
+  }
+
+  BPlusTreeNode<K, V> searchChild(K key) {
+    return store.fetch(searchChildId(key));
   }
 
-  private BPlusTreeNode<K, V> searchChild(K key) {
+  int searchChildId(K key) {
     int index = binarySearch(key);
-    return children.get(index >= 0 ? index + 1 : -index - 1);
+    return children[index >= 0 ? index + 1 : -index - 1];
   }
 
   private void insertChild(K key, BPlusTreeNode<K, V> child) {
     int index = binarySearch(key);
     int childIndex = index >= 0 ? index + 1 : -index - 1;
     if (index >= 0) {
-      children.set(childIndex, child);
+      children[childIndex] = child.pageId;
+      dirty = true;
     } else {
       childrenAdd(childIndex + 1, child);
       keysAdd(childIndex, key);
     }
   }
 
-  private void deleteChild(K key) {
-    int index = binarySearch(key);
-    if (index >= 0) {
-      childrenRemove(index + 1);
-      keysRemove(index);
-    }
-  }
-
   private BPlusTreeNode<K, V> getChildLeftSibling(K key) {
     int index = binarySearch(key);
     int childIndex = index >= 0 ? index + 1 : -index - 1;
     if (childIndex > 0)
-      return children.get(childIndex - 1);
+      return child(childIndex - 1);
     return null;
   }
 
@@ -144,7 +151,7 @@ public final class BPlusTreeInternalNode<K extends Comparable<K>, V> extends BPl
     int index = binarySearch(key);
     int childIndex = index >= 0 ? index + 1 : -index - 1;
     if (childIndex < size())
-      return children.get(childIndex + 1);
+      return child(childIndex + 1);
     return null;
   }
 }
@@ -2,40 +2,93 @@ package cn.edu.thssdb.index;
 
 import cn.edu.thssdb.common.Pair;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
+/**
+ * Iterates a key range of a BPlusTree, one leaf is buffered at a time. In ascending order the range starts at
+ * from and ends at to; in descending order it is walked from to down to from.
+ */
 public class BPlusTreeIterator<K extends Comparable<K>, V> implements Iterator<Pair<K, V>> {
-  private LinkedList<BPlusTreeNode<K, V>> queue;
-  private LinkedList<Pair<K, V>> buffer;
-
-  BPlusTreeIterator(BPlusTree<K, V> tree) {
-    queue = new LinkedList<>();
-    buffer = new LinkedList<>();
-    if (tree.size() == 0) return;
-    queue.add(tree.root);
+  private final BPlusTree<K, V> tree;
+  final K from;
+  final boolean fromInclusive;
+  final K to;
+  final boolean toInclusive;
+  final boolean descending;
+
+  // position kept by BPlusTree.fill()
+  K last;
+  int nextLeaf = NodeStore.NO_NODE;
+  long version;
+
+  private final ArrayList<K> keys;
+  private final ArrayList<V> values;
+  private int position;
+  private boolean exhausted;
+
+  BPlusTreeIterator(BPlusTree<K, V> tree, K from, boolean fromInclusive, K to, boolean toInclusive,
+                    boolean descending) {
+    this.tree = tree;
+    this.from = from;
+    this.fromInclusive = fromInclusive;
+    this.to = to;
+    this.toInclusive = toInclusive;
+    this.descending = descending;
+    this.keys = new ArrayList<>();
+    this.values = new ArrayList<>();
   }
 
   @Override
   public boolean hasNext() {
-    return !queue.isEmpty() || !buffer.isEmpty();
+    if (position == keys.size() && !exhausted) {
+      keys.clear();
+      values.clear();
+      position = 0;
+      exhausted = !tree.fill(this);
+    }
+    return position < keys.size();
   }
 
   @Override
   public Pair<K, V> next() {
-    if (buffer.isEmpty()) {
-      while (true) {
-        BPlusTreeNode<K, V> node = queue.poll();
-        if (node instanceof BPlusTreeLeafNode) {
-          for (int i = 0; i < node.size(); i++)
-            buffer.add(
-                    new Pair<>(node.keys.get(i), ((BPlusTreeLeafNode<K, V>) node).values.get(i)));
-          break;
-        } else if (node instanceof BPlusTreeInternalNode)
-          for (int i = 0; i <= node.size(); i++)
-            queue.add(((BPlusTreeInternalNode<K, V>) node).children.get(i));
-      }
+    if (!hasNext())
+      throw new NoSuchElementException();
+    last = keys.get(position);
+    return new Pair<>(last, values.get(position++));
+  }
+
+  void add(K key, V value) {
+    keys.add(key);
+    values.add(value);
+  }
+
+  boolean hasBuffered() {
+    return !keys.isEmpty();
+  }
+
+  // the key comes after the last one returned, or after the start of the range
+  boolean afterStart(K key) {
+    K start = descending ? to : from;
+    boolean inclusive = descending ? toInclusive : fromInclusive;
+    if (last != null) {
+      start = last;
+      inclusive = false;
     }
-    return buffer.poll();
+    if (start == null)
+      return true;
+    int compare = descending ? start.compareTo(key) : key.compareTo(start);
+    return compare > 0 || (compare == 0 && inclusive);
+  }
+
+  // the key is not past the end of the range
+  boolean beforeEnd(K key) {
+    K end = descending ? from : to;
+    boolean inclusive = descending ? fromInclusive : toInclusive;
+    if (end == null)
+      return true;
+    int compare = descending ? end.compareTo(key) : key.compareTo(end);
+    return compare < 0 || (compare == 0 && inclusive);
   }
 }
@@ -2,31 +2,45 @@ package cn.edu.thssdb.index;
 
 import cn.edu.thssdb.exception.DuplicateKeyException;
 import cn.edu.thssdb.exception.KeyNotExistException;
-import cn.edu.thssdb.common.Global;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
 
 public class BPlusTreeLeafNode<K extends Comparable<K>, V> extends BPlusTreeNode<K, V> {
 
-  ArrayList<V> values;
-  private BPlusTreeLeafNode<K, V> next;
+  V[] values;
+  int next;
+  // taken by BPlusTree while the tree latch is held in shared mode, not persisted
+  final StampedLock latch = new StampedLock();
 
-  BPlusTreeLeafNode(int size) {
-    keys = new ArrayList<>(Collections.nCopies((int) (1.5 * Global.fanout) + 1, null));
-    values = new ArrayList<>(Collections.nCopies((int) (1.5 * Global.fanout) + 1, null));
+  BPlusTreeLeafNode(NodeStore<K, V> store, int size) {
+    this(store, NodeStore.NO_NODE, size);
+    next = NodeStore.NO_NODE;
+    store.register(this);
+  }
+
+  @SuppressWarnings("unchecked")
+  BPlusTreeLeafNode(NodeStore<K, V> store, int pageId, int size) {
+    keys = store.keyArray.create(capacity(store.leafFanout));
+    values = (V[]) new Object[capacity(store.leafFanout)];
     nodeSize = size;
+    this.store = store;
+    this.pageId = pageId;
   }
 
   private void valuesAdd(int index, V value) {
-    for (int i = nodeSize; i > index; i--)
-      values.set(i, values.get(i - 1));
-    values.set(index, value);
+    System.arraycopy(values, index, values, index + 1, nodeSize - index);
+    values[index] = value;
   }
 
   private void valuesRemove(int index) {
-    for (int i = index; i < nodeSize - 1; i++)
-      values.set(i, values.get(i + 1));
+    System.arraycopy(values, index + 1, values, index, nodeSize - index - 1);
+    values[nodeSize - 1] = null;
+  }
+
+  @Override
+  int fanout() {
+    return store.leafFanout;
   }
 
   @Override
@@ -38,7 +52,7 @@ public class BPlusTreeLeafNode<K extends Comparable<K>, V> extends BPlusTreeNode
   V get(K key) {
     int index = binarySearch(key);
     if (index >= 0)
-      return values.get(index);
+      return values[index];
     throw new KeyNotExistException();
   }
 
@@ -54,6 +68,14 @@ public class BPlusTreeLeafNode<K extends Comparable<K>, V> extends BPlusTreeNode
     }
   }
 
+  void replace(K key, V value) {
+    int index = binarySearch(key);
+    if (index < 0)
+      throw new KeyNotExistException();
+    values[index] = value;
+    dirty = true;
+  }
+
   @Override
   void remove(K key) {
     int index = binarySearch(key);
@@ -70,19 +92,25 @@ public class BPlusTreeLeafNode<K extends Comparable<K>, V> extends BPlusTreeNode
   }
 
   @Override
-  BPlusTreeNode split() {
+  K splitKey() {
+    int from = (size() + 1) / 2;
+    return keys.separator(keys.get(from - 1), keys.get(from));
+  }
+
+  @Override
+  BPlusTreeNode<K, V> split() {
     int from = (size() + 1) / 2;
     int to = size();
-    BPlusTreeLeafNode<K, V> newSiblingNode = new BPlusTreeLeafNode(to - from);
-    for (int i = 0; i < to - from; i++) {
-      newSiblingNode.keys.set(i, keys.get(i + from));
-      newSiblingNode.values.set(i, values.get(i + from));
-      keys.set(i + from, null);
-      values.set(i + from, null);
-    }
+    BPlusTreeLeafNode<K, V> newSiblingNode = new BPlusTreeLeafNode<>(store, to - from);
+    keys.copy(from, newSiblingNode.keys, 0, to - from);
+    System.arraycopy(values, from, newSiblingNode.values, 0, to - from);
+    keys.clear(from, to);
+    Arrays.fill(values, from, to, null);
     nodeSize = from;
+    keys.trim(nodeSize);
     newSiblingNode.next = next;
-    next = newSiblingNode;
+    next = newSiblingNode.pageId;
+    dirty = true;
     return newSiblingNode;
   }
 
@@ -91,11 +119,10 @@ public class BPlusTreeLeafNode<K extends Comparable<K>, V> extends BPlusTreeNode
     int index = size();
     BPlusTreeLeafNode<K, V> node = (BPlusTreeLeafNode<K, V>) sibling;
     int length = node.size();
-    for (int i = 0; i < length; i++) {
-      keys.set(i + index, node.keys.get(i));
-      values.set(i + index, node.values.get(i));
-    }
+    node.keys.copy(0, keys, index, length);
+    System.arraycopy(node.values, 0, values, index, length);
     nodeSize = index + length;
     next = node.next;
+    dirty = true;
   }
 }
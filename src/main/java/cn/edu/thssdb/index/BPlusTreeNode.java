@@ -1,13 +1,13 @@
 package cn.edu.thssdb.index;
 
-import cn.edu.thssdb.common.Global;
-
-import java.util.ArrayList;
-import java.util.Collections;
-
 abstract class BPlusTreeNode<K extends Comparable<K>, V> {
-  ArrayList<K> keys;
+  private static final int MIN_SPLIT = 3;
+
+  KeyArray<K> keys;
   int nodeSize;
+  int pageId;
+  volatile boolean dirty;
+  NodeStore<K, V> store;
 
   abstract V get(K key);
 
@@ -19,6 +19,9 @@ abstract class BPlusTreeNode<K extends Comparable<K>, V> {
 
   abstract K getFirstLeafKey();
 
+  // the key put in the parent between the halves left by split(), taken before splitting
+  abstract K splitKey();
+
   abstract BPlusTreeNode<K, V> split();
 
   abstract void merge(BPlusTreeNode<K, V> sibling);
@@ -27,30 +30,48 @@ abstract class BPlusTreeNode<K extends Comparable<K>, V> {
     return nodeSize;
   }
 
+  // the fanout of the tree for this kind of node, leaves and inner nodes may differ
+  abstract int fanout();
+
+  // a node that outgrows its page splits even below the fanout, as long as both halves keep a key
   boolean isOverFlow() {
-    return nodeSize > Global.fanout - 1;
+    return nodeSize > fanout() - 1 || nodeSize >= MIN_SPLIT && !store.fits(this, false);
   }
 
   boolean isUnderFlow() {
-    return nodeSize < (Global.fanout + 1) / 2 - 1;
+    return nodeSize < (fanout() + 1) / 2 - 1;
+  }
+
+  // one more key fits without a split
+  boolean canInsert() {
+    return nodeSize < fanout() - 1 && store.fits(this, true);
+  }
+
+  // one key less does not need a merge
+  boolean canRemove() {
+    return nodeSize > (fanout() + 1) / 2 - 1;
+  }
+
+  // room for the keys of a node that overflows and of two merged nodes
+  static int capacity(int fanout) {
+    return (int) (1.5 * fanout) + 1;
   }
 
   int binarySearch(K key) {
-    return Collections.binarySearch(keys.subList(0, nodeSize), key);
+    return keys.binarySearch(nodeSize, key);
   }
 
   void keysAdd(int index, K key) {
-    for (int i = nodeSize; i > index; i--) {
-      keys.set(i, keys.get(i - 1));
-    }
+    keys.copy(index, keys, index + 1, nodeSize - index);
     keys.set(index, key);
     nodeSize++;
+    dirty = true;
   }
 
   void keysRemove(int index) {
-    for (int i = index; i < nodeSize - 1; i++) {
-      keys.set(i, keys.get(i + 1));
-    }
+    keys.copy(index + 1, keys, index, nodeSize - index - 1);
+    keys.clear(nodeSize - 1, nodeSize);
     nodeSize--;
+    dirty = true;
   }
 }
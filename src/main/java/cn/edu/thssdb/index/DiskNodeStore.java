@@ -0,0 +1,350 @@
+package cn.edu.thssdb.index;
+
+import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.common.Pair;
+import cn.edu.thssdb.exception.FileIOException;
+import cn.edu.thssdb.storage.BufferPool;
+import cn.edu.thssdb.storage.Codec;
+import cn.edu.thssdb.storage.PageFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps every node in its own page chain of a PageFile and loads nodes on demand through
+ * the buffer pool. Nodes fetched during a tree operation stay pinned until release(); pins are kept per
+ * thread so that concurrent readers of the tree only release their own nodes.
+ * Node ids are logical: a node is never written over its last image, every write-back puts it into a new
+ * chain and a mapping from ids to chains says where the current one is. The chains the file refers to, i.e.
+ * those of the last checkpoint, stay untouched until the next checkpoint is durable, so the file always
+ * holds the tree as of a checkpoint however many dirty nodes the buffer pool has evicted since.
+ * A checkpoint takes the images of the dirty nodes while the tree is quiescent and writes them, the
+ * mapping and the new root afterwards, while the tree is changed further; it switches the file to them at once
+ * through PageFile.sync(). Ids of nodes freed by merges are only reused once a checkpoint dropped them.
+ */
+final class DiskNodeStore<K extends Comparable<K>, V> extends NodeStore<K, V>
+        implements BufferPool.PageSource<BPlusTreeNode<K, V>> {
+  private static final int META_ROOT = 0;
+  private static final int META_SIZE = 1;
+  private static final int META_FANOUT = 2;
+  private static final int META_LEAF_FANOUT = 3;
+  private static final int META_MAP = 4;
+  private static final int NO_CHAIN = 0;
+  private static final byte LEAF = 0;
+  private static final byte INTERNAL = 1;
+  private static final int NODE_HEADER = 9;    // type, size and next leaf
+  private static final int CHILD_WIDTH = 4;
+  private static final int MIN_KEY_WIDTH = 2;  // of a key array that compresses, length and one byte
+
+  private final String path;
+  private final PageFile file;
+  private final Codec<K> keyCodec;
+  private final Codec<V> valueCodec;
+  private final BufferPool pool;
+  private final ThreadLocal<ArrayList<BPlusTreeNode<K, V>>> pinned;
+  // chain of every node id: the latest one written, the one of the last checkpoint and, while a checkpoint
+  // is being written, the one it writes
+  private int[] live;
+  private int[] durable;
+  private int[] checkpoint;
+  private int nextId;
+  private int mapChain;
+  private final ArrayDeque<Integer> freeIds;
+  private final ArrayList<Integer> pendingFree;
+
+  /**
+   * A fanout of 0 fits the nodes to the pages, the fanout of an existing tree is kept in its file.
+   * Key arrays that compress their keys get a fanout for the shortest keys, their nodes split as soon as
+   * they outgrow a page instead.
+   */
+  DiskNodeStore(String path, Codec<K> keyCodec, Codec<V> valueCodec, KeyArray<K> keyArray, int fanout) {
+    super(keyArray);
+    this.path = path;
+    this.file = new PageFile(path, Global.pageSize);
+    this.keyCodec = keyCodec;
+    this.valueCodec = valueCodec;
+    this.pool = BufferPool.getInstance();
+    this.pinned = ThreadLocal.withInitial(ArrayList::new);
+    this.freeIds = new ArrayDeque<>();
+    this.pendingFree = new ArrayList<>();
+    this.durable = new int[0];
+    if (file.getPageCount() > 1) {
+      rootId = (int) file.getMeta(META_ROOT);
+      size = (int) file.getMeta(META_SIZE);
+      this.fanout = (int) file.getMeta(META_FANOUT);
+      this.leafFanout = (int) file.getMeta(META_LEAF_FANOUT);
+      mapChain = (int) file.getMeta(META_MAP);
+      ByteBuffer map = ByteBuffer.wrap(file.readRecord(mapChain));
+      durable = new int[map.remaining() / 4];
+      for (int id = 0; id < durable.length; id++) {
+        durable[id] = map.getInt();
+        if (durable[id] == NO_CHAIN)
+          freeIds.push(id);
+      }
+    } else if (fanout != 0) {
+      this.fanout = fanout;
+      this.leafFanout = fanout;
+    } else {
+      int keyWidth = keyArray.pageBytes(0) < 0 ? keyCodec.width() : MIN_KEY_WIDTH;
+      int valueWidth = valueCodec.width();
+      this.fanout = keyWidth == 0 ? Global.fanout : fitFanout(keyWidth + CHILD_WIDTH);
+      this.leafFanout = keyWidth == 0 || valueWidth == 0 ? Global.fanout : fitFanout(keyWidth + valueWidth);
+    }
+    this.nextId = durable.length;
+    this.live = Arrays.copyOf(durable, Math.max(16, durable.length));
+  }
+
+  // as many entries as fit in one page, a node only spills over into a second page while it overflows
+  private int fitFanout(int entryWidth) {
+    int fanout = (file.getPageCapacity() - NODE_HEADER) / entryWidth;
+    return Math.max(BPlusTree.MIN_FANOUT, Math.min(fanout, BPlusTree.MAX_FANOUT));
+  }
+
+  @Override
+  boolean fits(BPlusTreeNode<K, V> node, boolean oneMore) {
+    int size = node.size();
+    int keyBytes = node.keys.pageBytes(size);
+    if (keyBytes < 0)
+      return true;
+    boolean leaf = node instanceof BPlusTreeLeafNode;
+    int entryWidth = leaf ? valueCodec.width() : CHILD_WIDTH;
+    if (entryWidth == 0)
+      return true;
+    int bytes = NODE_HEADER + keyBytes + (leaf ? size : size + 1) * entryWidth;
+    if (oneMore)
+      bytes += keyCodec.width() + entryWidth;
+    return bytes <= file.getPageCapacity();
+  }
+
+  @Override
+  BPlusTreeNode<K, V> fetch(int pageId) {
+    BPlusTreeNode<K, V> node = pool.pin(this, pageId);
+    pinned.get().add(node);
+    return node;
+  }
+
+  @Override
+  BPlusTreeNode<K, V> fetchIfCached(int pageId) {
+    BPlusTreeNode<K, V> node = pool.pinIfCached(this, pageId);
+    if (node != null)
+      pinned.get().add(node);
+    return node;
+  }
+
+  @Override
+  void register(BPlusTreeNode<K, V> node) {
+    synchronized (this) {
+      if (!freeIds.isEmpty()) {
+        node.pageId = freeIds.pop();
+      } else {
+        node.pageId = nextId++;
+        if (nextId > live.length)
+          live = Arrays.copyOf(live, live.length * 2);
+      }
+    }
+    pool.add(this, node.pageId, node);
+    pinned.get().add(node);
+  }
+
+  @Override
+  void free(BPlusTreeNode<K, V> node) {
+    pool.discard(this, node.pageId);
+    synchronized (this) {
+      replace(node.pageId, NO_CHAIN);
+      pendingFree.add(node.pageId);
+    }
+  }
+
+  @Override
+  void release() {
+    ArrayList<BPlusTreeNode<K, V>> nodes = pinned.get();
+    for (BPlusTreeNode<K, V> node : nodes) {
+      // only clear the flag when it was seen set, another thread may be setting it concurrently
+      boolean dirty = node.dirty;
+      if (dirty)
+        node.dirty = false;
+      pool.unpin(this, node.pageId, dirty);
+    }
+    nodes.clear();
+  }
+
+  /**
+   * Called with every writer of the tree excluded, so the dirty nodes, the root and the size form one tree.
+   * Waits for the checkpoint before to finish writing.
+   */
+  @Override
+  Runnable checkpoint() {
+    int[] ids;
+    synchronized (this) {
+      while (checkpoint != null) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new FileIOException(path + " (interrupted while waiting for a checkpoint)");
+        }
+      }
+      checkpoint = new int[0];   // taken, the mapping follows once the dirty nodes are
+    }
+    List<Pair<Integer, byte[]>> images = pool.takeDirty(this);
+    int root = rootId;
+    int count = size;
+    ArrayList<Integer> freed;
+    synchronized (this) {
+      checkpoint = Arrays.copyOf(live, nextId);
+      freed = new ArrayList<>(pendingFree);
+      pendingFree.clear();
+    }
+    return () -> {
+      ArrayList<Integer> kept = new ArrayList<>();
+      ArrayList<Integer> dropped = new ArrayList<>();
+      int written = 0;
+      try {
+        for (; written < images.size(); written++) {
+          Pair<Integer, byte[]> image = images.get(written);
+          int chain = file.write(image.right);
+          synchronized (this) {
+            checkpoint[image.left] = chain;
+            // the pool does not write the node back before endWrite(), so its live chain is older
+            replace(image.left, chain);
+          }
+          pool.endWrite(this, image.left, true);
+        }
+        ByteBuffer map = ByteBuffer.allocate(4 * checkpoint.length);
+        synchronized (this) {
+          for (int id = 0; id < checkpoint.length; id++) {
+            int old = id < durable.length ? durable[id] : NO_CHAIN;
+            map.putInt(checkpoint[id]);
+            if (checkpoint[id] != old) {
+              if (checkpoint[id] != NO_CHAIN)
+                kept.add(checkpoint[id]);
+              if (old != NO_CHAIN)
+                dropped.add(old);
+            }
+          }
+        }
+        int newMap = file.write(map.array());
+        kept.add(newMap);
+        if (mapChain != NO_CHAIN)
+          dropped.add(mapChain);
+        file.setMeta(META_ROOT, root);
+        file.setMeta(META_SIZE, count);
+        file.setMeta(META_FANOUT, fanout);
+        file.setMeta(META_LEAF_FANOUT, leafFanout);
+        file.setMeta(META_MAP, newMap);
+        file.sync(kept, dropped);
+        synchronized (this) {
+          mapChain = newMap;
+          durable = checkpoint;
+          for (int id : freed)
+            freeIds.push(id);
+          freed.clear();
+        }
+      } finally {
+        for (; written < images.size(); written++)
+          pool.endWrite(this, images.get(written).left, false);
+        synchronized (this) {
+          // a failed checkpoint leaves the file as of the one before, its ids and chains stay in use
+          pendingFree.addAll(freed);
+          checkpoint = null;
+          notifyAll();
+        }
+      }
+    };
+  }
+
+  @Override
+  void close() {
+    release();
+    pool.discardAll(this);
+    file.close();
+  }
+
+  @Override
+  public BPlusTreeNode<K, V> load(int pageId) {
+    int chain;
+    synchronized (this) {
+      chain = live[pageId];
+    }
+    return decode(pageId, file.readRecord(chain));
+  }
+
+  @Override
+  public void write(int pageId, byte[] image) {
+    int chain = file.write(image);
+    synchronized (this) {
+      replace(pageId, chain);
+    }
+  }
+
+  /**
+   * Makes chain the live one of the node and frees the one before unless a checkpoint refers to it.
+   */
+  private void replace(int id, int chain) {
+    int old = live[id];
+    live[id] = chain;
+    if (old != NO_CHAIN && (id >= durable.length || old != durable[id])
+            && (checkpoint == null || id >= checkpoint.length || old != checkpoint[id]))
+      file.free(old);
+  }
+
+  @Override
+  public byte[] encode(BPlusTreeNode<K, V> node) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(buffer);
+    try {
+      int size = node.size();
+      if (node instanceof BPlusTreeLeafNode) {
+        BPlusTreeLeafNode<K, V> leaf = (BPlusTreeLeafNode<K, V>) node;
+        out.writeByte(LEAF);
+        out.writeInt(size);
+        out.writeInt(leaf.next);
+        leaf.keys.write(out, size, keyCodec);
+        for (int i = 0; i < size; i++)
+          valueCodec.write(out, leaf.values[i]);
+      } else {
+        BPlusTreeInternalNode<K, V> internal = (BPlusTreeInternalNode<K, V>) node;
+        out.writeByte(INTERNAL);
+        out.writeInt(size);
+        for (int i = 0; i <= size; i++)
+          out.writeInt(internal.children[i]);
+        internal.keys.write(out, size, keyCodec);
+      }
+      out.close();
+    } catch (IOException e) {
+      throw new FileIOException(path + " when encoding page " + node.pageId);
+    }
+    return buffer.toByteArray();
+  }
+
+  private BPlusTreeNode<K, V> decode(int pageId, byte[] bytes) {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    try {
+      byte type = in.readByte();
+      int size = in.readInt();
+      if (type == LEAF) {
+        BPlusTreeLeafNode<K, V> leaf = new BPlusTreeLeafNode<>(this, pageId, size);
+        leaf.next = in.readInt();
+        leaf.keys.read(in, size, keyCodec);
+        for (int i = 0; i < size; i++)
+          leaf.values[i] = valueCodec.read(in);
+        return leaf;
+      }
+      BPlusTreeInternalNode<K, V> internal = new BPlusTreeInternalNode<>(this, pageId, size);
+      for (int i = 0; i <= size; i++)
+        internal.children[i] = in.readInt();
+      internal.keys.read(in, size, keyCodec);
+      return internal;
+    } catch (IOException e) {
+      throw new FileIOException(path + " when decoding page " + pageId);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package cn.edu.thssdb.index;
+
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+final class IntKeyArray<K extends Comparable<K>> extends KeyArray<K> {
+  private final int[] keys;
+  private final ToIntFunction<K> toInt;
+  private final IntFunction<K> fromInt;
+
+  IntKeyArray(int capacity, ToIntFunction<K> toInt, IntFunction<K> fromInt) {
+    this.keys = new int[capacity];
+    this.toInt = toInt;
+    this.fromInt = fromInt;
+  }
+
+  @Override
+  KeyArray<K> create(int capacity) {
+    return new IntKeyArray<>(capacity, toInt, fromInt);
+  }
+
+  @Override
+  K get(int index) {
+    return fromInt.apply(keys[index]);
+  }
+
+  @Override
+  void set(int index, K key) {
+    keys[index] = toInt.applyAsInt(key);
+  }
+
+  @Override
+  int binarySearch(int size, K key) {
+    int value = toInt.applyAsInt(key);
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midValue = keys[mid];
+      if (midValue < value)
+        low = mid + 1;
+      else if (midValue > value)
+        high = mid - 1;
+      else
+        return mid;
+    }
+    return -(low + 1);
+  }
+
+  @Override
+  void copy(int from, KeyArray<K> dest, int to, int length) {
+    System.arraycopy(keys, from, ((IntKeyArray<K>) dest).keys, to, length);
+  }
+
+  @Override
+  void clear(int from, int to) {
+  }
+}
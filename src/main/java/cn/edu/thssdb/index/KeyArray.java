@@ -0,0 +1,86 @@
+package cn.edu.thssdb.index;
+
+import cn.edu.thssdb.storage.Codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The keys of one node. Keys that map to an int or a long in the same order are kept unboxed in a primitive
+ * array, so a lookup compares primitives instead of calling compareTo on a boxed key for every step of the
+ * binary search. String keys are prefix compressed, see StringKeyArray. The KeyArray given to a tree is the
+ * prototype its nodes create their arrays from.
+ */
+public abstract class KeyArray<K extends Comparable<K>> {
+
+  public static <K extends Comparable<K>> KeyArray<K> objects() {
+    return new ObjectKeyArray<>(0);
+  }
+
+  /**
+   * Keys stored as int, toInt must preserve the order of the keys and fromInt undo it.
+   */
+  public static <K extends Comparable<K>> KeyArray<K> ints(ToIntFunction<K> toInt, IntFunction<K> fromInt) {
+    return new IntKeyArray<>(0, toInt, fromInt);
+  }
+
+  public static <K extends Comparable<K>> KeyArray<K> longs(ToLongFunction<K> toLong, LongFunction<K> fromLong) {
+    return new LongKeyArray<>(0, toLong, fromLong);
+  }
+
+  public static <K extends Comparable<K>> KeyArray<K> strings(Function<K, String> toString,
+                                                             Function<String, K> fromString) {
+    return new StringKeyArray<>(0, toString, fromString);
+  }
+
+  abstract KeyArray<K> create(int capacity);
+
+  abstract K get(int index);
+
+  abstract void set(int index, K key);
+
+  // same contract as Arrays.binarySearch, on the first size keys
+  abstract int binarySearch(int size, K key);
+
+  // System.arraycopy, dest is of the same kind
+  abstract void copy(int from, KeyArray<K> dest, int to, int length);
+
+  // drops the references held by the slots, so that removed keys can be collected
+  abstract void clear(int from, int to);
+
+  // the keys from size on were moved away by a split
+  void trim(int size) {
+  }
+
+  /**
+   * Bytes the first size keys take once written by write(), or -1 if that is size times the width of the codec.
+   */
+  int pageBytes(int size) {
+    return -1;
+  }
+
+  // the first size keys, in the format of the array
+  void write(DataOutput out, int size, Codec<K> codec) throws IOException {
+    for (int i = 0; i < size; i++)
+      codec.write(out, get(i));
+  }
+
+  void read(DataInput in, int size, Codec<K> codec) throws IOException {
+    for (int i = 0; i < size; i++)
+      set(i, codec.read(in));
+  }
+
+  /**
+   * A key s with left < s <= right, put between two nodes in their parent. Any key between them works as well
+   * as right for a search, a shorter one takes less room.
+   */
+  K separator(K left, K right) {
+    return right;
+  }
+}
@@ -0,0 +1,58 @@
+package cn.edu.thssdb.index;
+
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+final class LongKeyArray<K extends Comparable<K>> extends KeyArray<K> {
+  private final long[] keys;
+  private final ToLongFunction<K> toLong;
+  private final LongFunction<K> fromLong;
+
+  LongKeyArray(int capacity, ToLongFunction<K> toLong, LongFunction<K> fromLong) {
+    this.keys = new long[capacity];
+    this.toLong = toLong;
+    this.fromLong = fromLong;
+  }
+
+  @Override
+  KeyArray<K> create(int capacity) {
+    return new LongKeyArray<>(capacity, toLong, fromLong);
+  }
+
+  @Override
+  K get(int index) {
+    return fromLong.apply(keys[index]);
+  }
+
+  @Override
+  void set(int index, K key) {
+    keys[index] = toLong.applyAsLong(key);
+  }
+
+  @Override
+  int binarySearch(int size, K key) {
+    long value = toLong.applyAsLong(key);
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midValue = keys[mid];
+      if (midValue < value)
+        low = mid + 1;
+      else if (midValue > value)
+        high = mid - 1;
+      else
+        return mid;
+    }
+    return -(low + 1);
+  }
+
+  @Override
+  void copy(int from, KeyArray<K> dest, int to, int length) {
+    System.arraycopy(keys, from, ((LongKeyArray<K>) dest).keys, to, length);
+  }
+
+  @Override
+  void clear(int from, int to) {
+  }
+}
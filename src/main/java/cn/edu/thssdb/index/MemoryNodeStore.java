@@ -0,0 +1,37 @@
+package cn.edu.thssdb.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+final class MemoryNodeStore<K extends Comparable<K>, V> extends NodeStore<K, V> {
+  private final ArrayList<BPlusTreeNode<K, V>> nodes = new ArrayList<>();
+  private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+
+  MemoryNodeStore(KeyArray<K> keyArray, int fanout) {
+    super(keyArray);
+    this.fanout = fanout;
+    this.leafFanout = fanout;
+  }
+
+  @Override
+  BPlusTreeNode<K, V> fetch(int pageId) {
+    return nodes.get(pageId);
+  }
+
+  @Override
+  void register(BPlusTreeNode<K, V> node) {
+    if (freeIds.isEmpty()) {
+      node.pageId = nodes.size();
+      nodes.add(node);
+    } else {
+      node.pageId = freeIds.pop();
+      nodes.set(node.pageId, node);
+    }
+  }
+
+  @Override
+  void free(BPlusTreeNode<K, V> node) {
+    nodes.set(node.pageId, null);
+    freeIds.push(node.pageId);
+  }
+}
@@ -0,0 +1,70 @@
+package cn.edu.thssdb.index;
+
+/**
+ * NodeStore owns the nodes of one B+ tree. Nodes refer to each other by page id,
+ * so that a store is free to keep only part of the tree in memory.
+ */
+abstract class NodeStore<K extends Comparable<K>, V> {
+  static final int NO_NODE = -1;
+
+  final KeyArray<K> keyArray;   // prototype of the key arrays of the nodes
+  int fanout;                   // of the inner nodes, set by the subclass
+  int leafFanout;
+  int rootId = NO_NODE;
+  volatile int size;
+
+  NodeStore(KeyArray<K> keyArray) {
+    this.keyArray = keyArray;
+  }
+
+  abstract BPlusTreeNode<K, V> fetch(int pageId);
+
+  /**
+   * Like fetch() but returns null instead of reading the node from disk. Used by lookups that hold no latch
+   * and may follow the id of a node freed meanwhile, which must not be loaded.
+   */
+  BPlusTreeNode<K, V> fetchIfCached(int pageId) {
+    return fetch(pageId);
+  }
+
+  /**
+   * Whether the node, with one more entry if oneMore, fits in a page. Stores without pages, and those whose
+   * fanout already fits the nodes to the pages, always say yes.
+   */
+  boolean fits(BPlusTreeNode<K, V> node, boolean oneMore) {
+    return true;
+  }
+
+  synchronized void resize(int delta) {
+    size += delta;
+  }
+
+  /**
+   * Gives a newly created node its page id.
+   */
+  abstract void register(BPlusTreeNode<K, V> node);
+
+  abstract void free(BPlusTreeNode<K, V> node);
+
+  /**
+   * Called when a tree operation is finished and no node is referenced from the stack anymore.
+   */
+  void release() {
+  }
+
+  /**
+   * Takes a checkpoint of the tree, called while no operation changes it. The returned task makes the
+   * checkpoint durable and may run while the tree is changed again.
+   */
+  Runnable checkpoint() {
+    return () -> {
+    };
+  }
+
+  void flush() {
+    checkpoint().run();
+  }
+
+  void close() {
+  }
+}
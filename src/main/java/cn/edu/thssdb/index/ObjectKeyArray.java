@@ -0,0 +1,54 @@
+package cn.edu.thssdb.index;
+
+import java.util.Arrays;
+
+final class ObjectKeyArray<K extends Comparable<K>> extends KeyArray<K> {
+  private final K[] keys;
+
+  @SuppressWarnings("unchecked")
+  ObjectKeyArray(int capacity) {
+    keys = (K[]) new Comparable<?>[capacity];
+  }
+
+  @Override
+  KeyArray<K> create(int capacity) {
+    return new ObjectKeyArray<>(capacity);
+  }
+
+  @Override
+  K get(int index) {
+    return keys[index];
+  }
+
+  @Override
+  void set(int index, K key) {
+    keys[index] = key;
+  }
+
+  @Override
+  int binarySearch(int size, K key) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int order = keys[mid].compareTo(key);
+      if (order < 0)
+        low = mid + 1;
+      else if (order > 0)
+        high = mid - 1;
+      else
+        return mid;
+    }
+    return -(low + 1);
+  }
+
+  @Override
+  void copy(int from, KeyArray<K> dest, int to, int length) {
+    System.arraycopy(keys, from, ((ObjectKeyArray<K>) dest).keys, to, length);
+  }
+
+  @Override
+  void clear(int from, int to) {
+    Arrays.fill(keys, from, to, null);
+  }
+}
@@ -0,0 +1,270 @@
+package cn.edu.thssdb.index;
+
+import cn.edu.thssdb.storage.Codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * String keys encoded as bytes, the prefix shared by all keys of the node is kept once and every slot only
+ * holds the rest of its key. Each char is encoded on its own in the UTF-8 style (1 to 3 bytes), so comparing
+ * the bytes unsigned gives the order of String.compareTo. The prefix shrinks when a key not starting with it
+ * is added and grows again when a split leaves keys sharing more, a search compares against it only once.
+ * Slots in use are the non-null ones, the tree clears the slots it frees.
+ * Pages hold the keys the same way, the prefix once and then the suffixes, each behind its length.
+ */
+final class StringKeyArray<K extends Comparable<K>> extends KeyArray<K> {
+  private static final byte[] EMPTY = new byte[0];
+
+  private final byte[][] suffixes;
+  private final Function<K, String> toString;
+  private final Function<String, K> fromString;
+  private byte[] prefix;    // null while no slot is in use
+
+  StringKeyArray(int capacity, Function<K, String> toString, Function<String, K> fromString) {
+    this.suffixes = new byte[capacity][];
+    this.toString = toString;
+    this.fromString = fromString;
+  }
+
+  @Override
+  KeyArray<K> create(int capacity) {
+    return new StringKeyArray<>(capacity, toString, fromString);
+  }
+
+  @Override
+  K get(int index) {
+    byte[] suffix = suffixes[index];
+    return suffix == null ? null : fromString.apply(decode(prefix, suffix));
+  }
+
+  @Override
+  void set(int index, K key) {
+    if (key == null)
+      suffixes[index] = null;
+    else
+      setBytes(index, encode(toString.apply(key)));
+  }
+
+  private void setBytes(int index, byte[] bytes) {
+    if (prefix == null) {
+      prefix = bytes;
+      suffixes[index] = EMPTY;
+      return;
+    }
+    int common = mismatch(prefix, 0, bytes, 0);
+    if (common < prefix.length)
+      shrink(common);
+    suffixes[index] = Arrays.copyOfRange(bytes, common, bytes.length);
+  }
+
+  // moves the end of the prefix into every slot in use
+  private void shrink(int length) {
+    byte[] moved = Arrays.copyOfRange(prefix, length, prefix.length);
+    for (int i = 0; i < suffixes.length; i++)
+      if (suffixes[i] != null)
+        suffixes[i] = concat(moved, suffixes[i]);
+    prefix = Arrays.copyOf(prefix, length);
+  }
+
+  @Override
+  int binarySearch(int size, K key) {
+    if (size == 0)
+      return -1;
+    byte[] bytes = encode(toString.apply(key));
+    int common = mismatch(prefix, 0, bytes, 0);
+    if (common < prefix.length) {
+      // the key does not start with the prefix, it is before or after all keys
+      if (common == bytes.length || (bytes[common] & 0xFF) < (prefix[common] & 0xFF))
+        return -1;
+      return -(size + 1);
+    }
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int order = compare(suffixes[mid], bytes, common);
+      if (order < 0)
+        low = mid + 1;
+      else if (order > 0)
+        high = mid - 1;
+      else
+        return mid;
+    }
+    return -(low + 1);
+  }
+
+  @Override
+  void copy(int from, KeyArray<K> dest, int to, int length) {
+    if (dest == this) {
+      System.arraycopy(suffixes, from, suffixes, to, length);
+      return;
+    }
+    StringKeyArray<K> array = (StringKeyArray<K>) dest;
+    for (int i = 0; i < length; i++)
+      array.setBytes(to + i, concat(prefix, suffixes[from + i]));
+  }
+
+  @Override
+  void clear(int from, int to) {
+    Arrays.fill(suffixes, from, to, null);
+    if (suffixes[0] == null)
+      prefix = null;
+  }
+
+  @Override
+  void trim(int size) {
+    if (size == 0)
+      return;
+    // the keys are sorted, the first and the last share the longest prefix of all
+    int extra = mismatch(suffixes[0], 0, suffixes[size - 1], 0);
+    if (extra == 0)
+      return;
+    byte[] longer = concat(prefix, Arrays.copyOf(suffixes[0], extra));
+    for (int i = 0; i < size; i++)
+      suffixes[i] = Arrays.copyOfRange(suffixes[i], extra, suffixes[i].length);
+    prefix = longer;
+  }
+
+  @Override
+  int pageBytes(int size) {
+    if (size == 0)
+      return lengthBytes(0);
+    int bytes = lengthBytes(prefix.length) + prefix.length;
+    for (int i = 0; i < size; i++)
+      bytes += lengthBytes(suffixes[i].length) + suffixes[i].length;
+    return bytes;
+  }
+
+  @Override
+  void write(DataOutput out, int size, Codec<K> codec) throws IOException {
+    writeBytes(out, size == 0 ? EMPTY : prefix);
+    for (int i = 0; i < size; i++)
+      writeBytes(out, suffixes[i]);
+  }
+
+  @Override
+  void read(DataInput in, int size, Codec<K> codec) throws IOException {
+    byte[] bytes = readBytes(in);
+    prefix = size == 0 ? null : bytes;
+    for (int i = 0; i < size; i++)
+      suffixes[i] = readBytes(in);
+  }
+
+  // lengths take 7 bits per byte, most suffixes are shorter than 128 bytes
+  private static int lengthBytes(int length) {
+    int bytes = 1;
+    while ((length >>>= 7) != 0)
+      bytes++;
+    return bytes;
+  }
+
+  private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+    int length = bytes.length;
+    while ((length & ~0x7F) != 0) {
+      out.writeByte(length & 0x7F | 0x80);
+      length >>>= 7;
+    }
+    out.writeByte(length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(DataInput in) throws IOException {
+    int length = 0;
+    for (int shift = 0; ; shift += 7) {
+      int b = in.readUnsignedByte();
+      length |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+        break;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  // the shortest prefix of right that is still greater than left
+  @Override
+  K separator(K left, K right) {
+    String low = toString.apply(left);
+    String high = toString.apply(right);
+    int common = 0;
+    while (common < low.length() && common < high.length() && low.charAt(common) == high.charAt(common))
+      common++;
+    if (common + 1 >= high.length())
+      return right;
+    return fromString.apply(high.substring(0, common + 1));
+  }
+
+  private static int mismatch(byte[] a, int aFrom, byte[] b, int bFrom) {
+    int i = 0;
+    while (aFrom + i < a.length && bFrom + i < b.length && a[aFrom + i] == b[bFrom + i])
+      i++;
+    return i;
+  }
+
+  // suffix against key[from..], unsigned bytes
+  private static int compare(byte[] suffix, byte[] key, int from) {
+    int common = mismatch(suffix, 0, key, from);
+    if (common < suffix.length && from + common < key.length)
+      return (suffix[common] & 0xFF) - (key[from + common] & 0xFF);
+    return (suffix.length - common) - (key.length - from - common);
+  }
+
+  private static byte[] concat(byte[] a, byte[] b) {
+    byte[] result = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, result, a.length, b.length);
+    return result;
+  }
+
+  static byte[] encode(String s) {
+    int length = 0;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      length += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+    }
+    byte[] bytes = new byte[length];
+    int pos = 0;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c < 0x80) {
+        bytes[pos++] = (byte) c;
+      } else if (c < 0x800) {
+        bytes[pos++] = (byte) (0xC0 | c >> 6);
+        bytes[pos++] = (byte) (0x80 | c & 0x3F);
+      } else {
+        bytes[pos++] = (byte) (0xE0 | c >> 12);
+        bytes[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+        bytes[pos++] = (byte) (0x80 | c & 0x3F);
+      }
+    }
+    return bytes;
+  }
+
+  static String decode(byte[] prefix, byte[] suffix) {
+    char[] chars = new char[prefix.length + suffix.length];
+    int length = 0;
+    int i = 0;
+    while (i < prefix.length + suffix.length) {
+      int b = byteAt(prefix, suffix, i) & 0xFF;
+      if (b < 0x80) {
+        chars[length++] = (char) b;
+        i += 1;
+      } else if (b < 0xE0) {
+        chars[length++] = (char) ((b & 0x1F) << 6 | byteAt(prefix, suffix, i + 1) & 0x3F);
+        i += 2;
+      } else {
+        chars[length++] = (char) ((b & 0x0F) << 12 | (byteAt(prefix, suffix, i + 1) & 0x3F) << 6
+                | byteAt(prefix, suffix, i + 2) & 0x3F);
+        i += 3;
+      }
+    }
+    return new String(chars, 0, length);
+  }
+
+  private static byte byteAt(byte[] prefix, byte[] suffix, int i) {
+    return i < prefix.length ? prefix[i] : suffix[i - prefix.length];
+  }
+}
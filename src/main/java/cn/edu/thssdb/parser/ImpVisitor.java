@@ -4,12 +4,16 @@ package cn.edu.thssdb.parser;
 // TODO: add logic for some important cases, refer to given implementations and SQLBaseVisitor.java for structures
 
 import cn.edu.thssdb.exception.*;
+import cn.edu.thssdb.index.BPlusTree;
+import cn.edu.thssdb.query.KeyRange;
 import cn.edu.thssdb.query.QueryResult;
 import cn.edu.thssdb.query.QueryTable;
 import cn.edu.thssdb.schema.*;
+import cn.edu.thssdb.transaction.Transaction;
 import cn.edu.thssdb.type.ColumnType;
 import cn.edu.thssdb.type.ConstraintType;
 import cn.edu.thssdb.type.ExpressionType;
+import cn.edu.thssdb.type.IndexType;
 import javafx.util.Pair;
 
 import java.util.ArrayList;
@@ -36,6 +40,7 @@ import static cn.edu.thssdb.schema.Column.parseEntry;
 public class ImpVisitor extends SQLBaseVisitor<Object> {
     private Manager manager;
     private long session;
+    private Exception error;    // 第一个失败语句的异常，语句本身只返回错误信息
 
     public ImpVisitor(Manager manager, long session) {
         super();
@@ -43,6 +48,17 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         this.session = session;
     }
 
+    // 回放旧日志时据此判断语句是否失败
+    public Exception getError() {
+        return error;
+    }
+
+    private String failed(Exception e, String message) {
+        if (error == null)
+            error = e;
+        return message;
+    }
+
     private Database GetCurrentDB() {
         Database currentDB = manager.getCurrentDatabase();
         if(currentDB == null) {
@@ -51,12 +67,34 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         return currentDB;
     }
 
+    // 插入只锁新行的主键（表上加IX锁），不同session可并发插入
+    private void insertRow(Table table, Row row) {
+        Cell primaryCell = table.primaryKey(row);
+        if (primaryCell.value != null)
+            table.takeRowXLock(session, primaryCell);
+        table.insert(session, row);
+    }
+
+    // 语句失败时撤销该语句已做的修改，事务中之前的语句不受影响
+    private int savepoint() {
+        Transaction transaction = manager.getTransaction(session);
+        return transaction == null ? 0 : transaction.getUndoPosition();
+    }
+
+    private void rollbackStatement(int savepoint) {
+        Transaction transaction = manager.getTransaction(session);
+        if (transaction != null)
+            transaction.rollback(savepoint);
+    }
+
     public QueryResult visitSql_stmt(SQLParser.Sql_stmtContext ctx) {
         if (ctx.create_db_stmt() != null) return new QueryResult(visitCreate_db_stmt(ctx.create_db_stmt()));
         if (ctx.drop_db_stmt() != null) return new QueryResult(visitDrop_db_stmt(ctx.drop_db_stmt()));
         if (ctx.use_db_stmt() != null)  return new QueryResult(visitUse_db_stmt(ctx.use_db_stmt()));
         if (ctx.create_table_stmt() != null) return new QueryResult(visitCreate_table_stmt(ctx.create_table_stmt()));
         if (ctx.drop_table_stmt() != null) return new QueryResult(visitDrop_table_stmt(ctx.drop_table_stmt()));
+        if (ctx.create_index_stmt() != null) return new QueryResult(visitCreate_index_stmt(ctx.create_index_stmt()));
+        if (ctx.drop_index_stmt() != null) return new QueryResult(visitDrop_index_stmt(ctx.drop_index_stmt()));
         if (ctx.insert_stmt() != null) return new QueryResult(visitInsert_stmt(ctx.insert_stmt()));
         if (ctx.delete_stmt() != null) return new QueryResult(visitDelete_stmt(ctx.delete_stmt()));
         if (ctx.update_stmt() != null) return new QueryResult(visitUpdate_stmt(ctx.update_stmt()));
@@ -74,7 +112,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
             manager.createDatabaseIfNotExists(ctx.database_name().getText().toLowerCase());
             manager.persist();
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
         return "Create database " + ctx.database_name().getText() + ".";
     }
@@ -87,7 +125,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         try {
             manager.deleteDatabase(ctx.database_name().getText().toLowerCase());
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
         return "Drop database " + ctx.database_name().getText() + ".";
     }
@@ -100,7 +138,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         try {
             manager.switchDatabase(ctx.database_name().getText().toLowerCase());
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
         return "Switch to database " + ctx.database_name().getText() + ".";
     }
@@ -111,13 +149,86 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
     @Override
     public String visitDrop_table_stmt(SQLParser.Drop_table_stmtContext ctx) {
         try {
-            GetCurrentDB().drop(ctx.table_name().getText().toLowerCase());
+            String tableName = ctx.table_name().getText().toLowerCase();
+            Table table = GetCurrentDB().get(tableName);
+            table.takeXLock(session);   // 等待正在使用该表的事务结束
+            try {
+                GetCurrentDB().drop(tableName);
+            } finally {
+                table.releaseXLock(session);
+            }
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
         return "Drop table " + ctx.table_name().getText() + ".";
     }
 
+    /**
+     建表选项的值，须为B+树允许的扇出
+     */
+    @Override
+    public Integer visitTable_option(SQLParser.Table_optionContext ctx) {
+        String value = ctx.NUMERIC_LITERAL().getText();
+        try {
+            return BPlusTree.checkFanout(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("fanout " + value + " is not an integer between "
+                    + BPlusTree.MIN_FANOUT + " and " + BPlusTree.MAX_FANOUT);
+        }
+    }
+
+    /**
+     创建索引，默认为B+树索引
+     */
+    @Override
+    public String visitCreate_index_stmt(SQLParser.Create_index_stmtContext ctx) {
+        try {
+            IndexType type = IndexType.BTREE;
+            if (ctx.index_type() != null) {
+                String typeName = ctx.index_type().getText().toUpperCase();
+                try {
+                    type = IndexType.valueOf(typeName);
+                } catch (IllegalArgumentException e) {
+                    return "Unknown index type " + ctx.index_type().getText() + ".";
+                }
+            }
+            Database database = GetCurrentDB();
+            String tableName = ctx.table_name().getText().toLowerCase();
+            Table table = database.get(tableName);
+            table.takeXLock(session);   // 建索引时表中不能有未提交的修改
+            try {
+                database.createIndex(tableName, ctx.index_name().getText().toLowerCase(),
+                        ctx.column_name().getText().toLowerCase(), type);
+            } finally {
+                table.releaseXLock(session);
+            }
+        } catch (Exception e) {
+            return failed(e, e.getMessage());
+        }
+        return "Created index " + ctx.index_name().getText() + ".";
+    }
+
+    /**
+     删除索引
+     */
+    @Override
+    public String visitDrop_index_stmt(SQLParser.Drop_index_stmtContext ctx) {
+        try {
+            Database database = GetCurrentDB();
+            String tableName = ctx.table_name().getText().toLowerCase();
+            Table table = database.get(tableName);
+            table.takeXLock(session);
+            try {
+                database.dropIndex(tableName, ctx.index_name().getText().toLowerCase());
+            } finally {
+                table.releaseXLock(session);
+            }
+        } catch (Exception e) {
+            return failed(e, e.getMessage());
+        }
+        return "Dropped index " + ctx.index_name().getText() + ".";
+    }
+
     /**
      * TODO
      * 创建表格
@@ -138,11 +249,13 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         if (ctx.table_constraint() != null) {
             String[] compositeNames = visitTable_constraint(ctx.table_constraint());
 
-            for (String compositeName : compositeNames) {
+            // 多列主键按声明顺序比较，primary记录列在主键中的位置
+            for (int k = 0; k < compositeNames.length; k++) {
+                String compositeName = compositeNames[k];
                 boolean found = false;
                 for (Column c : columns) {
                     if (c.getColumnName().toLowerCase().equals(compositeName.toLowerCase())) {
-                        c.setPrimary(1);
+                        c.setPrimary(k + 1);
                         c.setNotNull(true);
                         found = true;
                     }
@@ -155,9 +268,16 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
 
         // 在当前数据库建表
         try {
-            manager.getCurrentDatabase().create(name.toLowerCase(), columns);
+            int fanout = 0;     // with (fanout = N)，0表示按页大小决定
+            for (SQLParser.Table_optionContext subCtx : ctx.table_option()) {
+                String option = subCtx.IDENTIFIER().getText().toLowerCase();
+                if (!option.equals("fanout"))
+                    return "Unknown table option " + subCtx.IDENTIFIER().getText() + ".";
+                fanout = visitTable_option(subCtx);
+            }
+            manager.getCurrentDatabase().create(name.toLowerCase(), columns, fanout);
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
         return "Created table " + name + ".";
         // return null;
@@ -186,6 +306,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         }
 
         // value处理
+        int savepoint = savepoint();
         for (SQLParser.Value_entryContext subCtx : ctx.value_entry()) {
             String[] values = visitValue_entry(subCtx);
             System.out.println(values);
@@ -209,7 +330,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
                     }
                     values_array = values_array.substring(5, values_array.length());
                     Row row = Row.parseRow(values_array, columnList);
-                    the_table.insert(row);
+                    insertRow(the_table, row);
                 } else {
                     if (column_names == null || values == null)
                         throw new SchemaLengthMismatchException(the_table.columns.size(), 0, "");
@@ -249,10 +370,11 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
                     }
                     values_array = values_array.substring(5, values_array.length());
                     Row row = Row.parseRow(values_array, columnList);
-                    the_table.insert(row);
+                    insertRow(the_table, row);
                 }
             } catch (Exception e) {
-                return e.toString();
+                rollbackStatement(savepoint);
+                return failed(e, e.toString());
             }
         }
         return "Inserted " + ctx.value_entry().size() + " rows.";
@@ -264,6 +386,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
      */
     @Override
     public String visitDelete_stmt(SQLParser.Delete_stmtContext ctx) {
+        int savepoint = savepoint();
         try {
             Table table = GetCurrentDB().get(ctx.table_name().getText().toLowerCase());
 
@@ -284,7 +407,17 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
             Cell filterEntry = parseEntry(filterVal, table.columns.get(col_idx));
 
             ArrayList<Row> selectedRows = new ArrayList<>();
-            Iterator<Row> it = table.iterator();
+            if (col_idx == table.getPrimaryIndex() && !table.isCompositeKey() && op.equals("=")) {
+                // 按主键删除：只锁这一行，经索引定位
+                table.takeRowXLock(session, filterEntry);
+                if (table.containsKey(filterEntry))
+                    table.delete(session, table.get(filterEntry));
+                return "Delete From Table " + ctx.table_name().getText() + ".";
+            }
+            table.takeXLock(session);
+            // 主键或有二级索引的列上的条件只扫描索引中的这一段
+            KeyRange keyRange = KeyRange.of(table, col_idx, op, filterEntry);
+            Iterator<Row> it = keyRange == null ? table.iterator() : keyRange.scan(table);
             if (op.equals("<")) {
                 while (it.hasNext()) {
                     Row row = it.next();
@@ -328,12 +461,13 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
                 }
             }
             selectedRows.forEach(row-> {
-                table.delete(row);
+                table.delete(session, row);
             });
 
             return "Delete From Table " + ctx.table_name().getText() + ".";
         } catch (Exception e) {
-            return e.getMessage();
+            rollbackStatement(savepoint);
+            return failed(e, e.getMessage());
         }
     }
 
@@ -347,12 +481,12 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         String table_name = ctx.table_name().getText().toLowerCase();
         String column_name = ctx.column_name().getText().toLowerCase();
         Table the_table = the_database.get(table_name);
-
+        int savepoint = savepoint();
 
         if (ctx.K_WHERE() == null) {
             try {
+                the_table.takeXLock(session);
                 String new_value = ctx.expression().comparer().literal_value().getText();
-                int primaryIndex = the_table.getPrimaryIndex();
                 int new_index = 0;
                 for (int i = 0; i < the_table.columns.size(); i++) {
                     Column the_column = the_table.columns.get(i);
@@ -364,15 +498,19 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
                     throw new KeyNotExistException();
                 }
                 Cell cell_value = parseEntry(new_value, the_table.columns.get(new_index));
-                for (Row row : the_table) {
-                    ArrayList<Cell> newArray=row.getEntries();
+                ArrayList<Row> be_update = new ArrayList<>();
+                for (Row row : the_table)
+                    be_update.add(row);  // 先收集再更新，避免边遍历边修改索引
+                for (Row row : be_update) {
+                    ArrayList<Cell> newArray=new ArrayList<>(row.getEntries());  // 不修改树中的原行
                     newArray.set(new_index, cell_value);
                     Row new_row = new Row(newArray);
-                    the_table.update(row.getEntries().get(primaryIndex), new_row);
+                    the_table.update(session, the_table.primaryKey(row), new_row);
                 }
                 return "The table "+table_name+" has been update";
             } catch (Exception e) {
-                return e.toString();
+                rollbackStatement(savepoint);
+                return failed(e, e.toString());
             }
         }
         else {
@@ -381,7 +519,6 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
                 String w_column_name = ctx.multiple_condition().condition().expression(0).comparer().column_full_name().column_name().getText().toLowerCase();
                 String w_new_value = ctx.multiple_condition().condition().expression(1).comparer().literal_value().getText();
                 ArrayList<Row> be_update = new ArrayList<>();
-                Iterator<Row> iterator = the_table.iterator();
                 int primaryIndex = the_table.getPrimaryIndex();
                 int new_index = 0;
                 for (int i = 0; i < the_table.columns.size(); i++) {
@@ -403,54 +540,70 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
                 }
                 Cell cell_value = parseEntry(new_value, the_table.columns.get(new_index));
                 Cell cell_w_alue = parseEntry(w_new_value, the_table.columns.get(new_w_index));
-                if (ctx.multiple_condition().condition().comparator().EQ() != null) {
-                    while (iterator.hasNext()) {
-                        Row row = iterator.next();
-                        if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) == 0)
-                            be_update.add(row);
-                    }
-                } else if (ctx.multiple_condition().condition().comparator().NE() != null) {
-                    while (iterator.hasNext()) {
-                        Row row = iterator.next();
-                        if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) != 0)
-                            be_update.add(row);
-                    }
-                } else if (ctx.multiple_condition().condition().comparator().LE() != null) {
-                    while (iterator.hasNext()) {
-                        Row row = iterator.next();
-                        if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) <= 0)
-                            be_update.add(row);
-                    }
-                } else if (ctx.multiple_condition().condition().comparator().GE() != null) {
-                    while (iterator.hasNext()) {
-                        Row row = iterator.next();
-                        if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) >= 0)
-                            be_update.add(row);
-                    }
-                } else if (ctx.multiple_condition().condition().comparator().LT() != null) {
-                    while (iterator.hasNext()) {
-                        Row row = iterator.next();
-                        if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) < 0)
-                            be_update.add(row);
-                    }
-                } else if (ctx.multiple_condition().condition().comparator().GT() != null) {
-                    while (iterator.hasNext()) {
-                        Row row = iterator.next();
-                        if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) > 0)
-                            be_update.add(row);
-                    }
+                boolean byPrimaryKey = new_w_index == primaryIndex && !the_table.isCompositeKey()
+                        && ctx.multiple_condition().condition().comparator().EQ() != null;
+                if (byPrimaryKey) {
+                    // 按主键更新：只锁涉及的行（改主键时也锁新主键），经索引定位
+                    the_table.takeRowXLock(session, cell_w_alue);
+                    if (new_index == primaryIndex && cell_value.value != null)
+                        the_table.takeRowXLock(session, cell_value);
+                    if (the_table.containsKey(cell_w_alue))
+                        be_update.add(the_table.get(cell_w_alue));
                 } else {
-                    return "operator doesn't exist";
+                    the_table.takeXLock(session);
+                    String op = ctx.multiple_condition().condition().getChild(1).getText();
+                    KeyRange keyRange = KeyRange.of(the_table, new_w_index, op, cell_w_alue);
+                    Iterator<Row> iterator = keyRange == null ? the_table.iterator() : keyRange.scan(the_table);
+                    if (ctx.multiple_condition().condition().comparator().EQ() != null) {
+                        while (iterator.hasNext()) {
+                            Row row = iterator.next();
+                            if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) == 0)
+                                be_update.add(row);
+                        }
+                    } else if (ctx.multiple_condition().condition().comparator().NE() != null) {
+                        while (iterator.hasNext()) {
+                            Row row = iterator.next();
+                            if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) != 0)
+                                be_update.add(row);
+                        }
+                    } else if (ctx.multiple_condition().condition().comparator().LE() != null) {
+                        while (iterator.hasNext()) {
+                            Row row = iterator.next();
+                            if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) <= 0)
+                                be_update.add(row);
+                        }
+                    } else if (ctx.multiple_condition().condition().comparator().GE() != null) {
+                        while (iterator.hasNext()) {
+                            Row row = iterator.next();
+                            if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) >= 0)
+                                be_update.add(row);
+                        }
+                    } else if (ctx.multiple_condition().condition().comparator().LT() != null) {
+                        while (iterator.hasNext()) {
+                            Row row = iterator.next();
+                            if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) < 0)
+                                be_update.add(row);
+                        }
+                    } else if (ctx.multiple_condition().condition().comparator().GT() != null) {
+                        while (iterator.hasNext()) {
+                            Row row = iterator.next();
+                            if (row.getEntries().get(new_w_index).compareTo(cell_w_alue) > 0)
+                                be_update.add(row);
+                        }
+                    } else {
+                        return "operator doesn't exist";
+                    }
                 }
                 for (Row row : be_update) {
-                    ArrayList<Cell> newArray=row.getEntries();
+                    ArrayList<Cell> newArray=new ArrayList<>(row.getEntries());  // 不修改树中的原行
                     newArray.set(new_index, cell_value);
                     Row new_row = new Row(newArray);
-                    the_table.update(row.getEntries().get(primaryIndex), new_row);
+                    the_table.update(session, the_table.primaryKey(row), new_row);
                 }
                 return "The table "+table_name+" has been update";
             } catch (Exception e) {
-                return e.toString();
+                rollbackStatement(savepoint);
+                return failed(e, e.toString());
             }
         }
     }
@@ -480,20 +633,25 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         List<String> tableNameList = new ArrayList<>();
         List<String> columnNameList = new ArrayList<>();
         List<QueryTable> queryTableList = new ArrayList<>();
+        // 快照读，不加锁；事务外的查询使用语句级快照
+        Transaction snapshot = manager.getTransaction(session);
+        boolean statementSnapshot = snapshot == null;
+        if (statementSnapshot)
+            snapshot = manager.beginTransaction(session);
 
         try {
             // 选择表格
             if (ctx.table_query(0).K_JOIN().size() == 0) {  // 单表
                 Table table = GetCurrentDB().get(ctx.table_query(0).table_name(0).getText().toLowerCase());
-                queryTableList.add(new QueryTable(table));
+                queryTableList.add(new QueryTable(table, snapshot));
             }
             else { // 双表
                 tableName1 = ctx.table_query(0).table_name(0).getText().toLowerCase();
                 tableName2 = ctx.table_query(0).table_name(1).getText().toLowerCase();
                 Table table1 = GetCurrentDB().get(tableName1);
                 Table table2 = GetCurrentDB().get(tableName2);
-                queryTableList.add(new QueryTable(table1));
-                queryTableList.add(new QueryTable(table2));
+                queryTableList.add(new QueryTable(table1, snapshot));
+                queryTableList.add(new QueryTable(table2, snapshot));
             }
 
             // 选择属性
@@ -565,7 +723,11 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
             result.query();
         }
         catch (Exception e) {
-            return new QueryResult(e.getMessage());
+            return new QueryResult(failed(e, e.getMessage()));
+        }
+        finally {
+            if (statementSnapshot)
+                manager.endTransaction(session);
         }
         return result;
     }
@@ -578,7 +740,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         try {
             manager.quit();
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
         return "Quit.";
     }
@@ -591,7 +753,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
         try {
             return current_db.toString();
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
     }
 
@@ -605,7 +767,7 @@ public class ImpVisitor extends SQLBaseVisitor<Object> {
             Table table = current_db.get(tableName);
             return table.toString();
         } catch (Exception e) {
-            return e.getMessage();
+            return failed(e, e.getMessage());
         }
     }
 
@@ -14,6 +14,8 @@ sql_stmt :
     | drop_user_stmt
     | delete_stmt
     | drop_table_stmt
+    | create_index_stmt
+    | drop_index_stmt
     | insert_stmt
     | select_stmt
     | create_view_stmt
@@ -41,7 +43,17 @@ drop_user_stmt :
 
 create_table_stmt :
     K_CREATE K_TABLE table_name
-        '(' column_def ( ',' column_def )* ( ',' table_constraint )? ')' ;
+        '(' column_def ( ',' column_def )* ( ',' table_constraint )? ')'
+        ( K_WITH '(' table_option ( ',' table_option )* ')' )? ;
+
+table_option :
+    IDENTIFIER '=' NUMERIC_LITERAL ;
+
+create_index_stmt :
+    K_CREATE K_INDEX index_name K_ON table_name '(' column_name ')' ( K_USING index_type )? ;
+
+drop_index_stmt :
+    K_DROP K_INDEX index_name K_ON table_name ;
 
 show_meta_stmt :
     K_SHOW K_TABLE table_name ;
@@ -164,6 +176,12 @@ column_name :
 view_name :
     IDENTIFIER;
 
+index_name :
+    IDENTIFIER ;
+
+index_type :
+    IDENTIFIER ;
+
 password :
     STRING_LITERAL ;
 
@@ -204,6 +222,7 @@ K_FROM : F R O M;
 K_GRANT : G R A N T;
 K_IF : I F;
 K_IDENTIFIED : I D E N T I F I E D;
+K_INDEX : I N D E X;
 K_INSERT : I N S E R T;
 K_INTO : I N T O;
 K_JOIN : J O I N;
@@ -222,9 +241,11 @@ K_TO : T O;
 K_UPDATE : U P D A T E;
 K_USE : U S E;
 K_USER : U S E R;
+K_USING : U S I N G;
 K_VALUES : V A L U E S;
 K_VIEW : V I E W;
 K_WHERE : W H E R E;
+K_WITH : W I T H;
 
 IDENTIFIER :
     [a-zA-Z_] [a-zA-Z_0-9]* ;
@@ -2,18 +2,16 @@ package cn.edu.thssdb.parser;
 
 import cn.edu.thssdb.exception.DatabaseNotExistException;
 import cn.edu.thssdb.query.QueryResult;
+import cn.edu.thssdb.type.QueryResultType;
 import cn.edu.thssdb.schema.Database;
 import cn.edu.thssdb.schema.Manager;
-import cn.edu.thssdb.schema.Table;
+import cn.edu.thssdb.transaction.LockManager;
+import cn.edu.thssdb.transaction.Transaction;
 import cn.edu.thssdb.common.Global;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 
 public class SQLHandler {
@@ -24,29 +22,24 @@ public class SQLHandler {
     private final static String BEGIN = "begin";
     private final static String COMMIT = "commit";
     private final static String SELECT = "select";
-    private static String[] CMD_SET_WITHOUT_SELECT = {INSERT, DELETE, UPDATE, BEGIN, COMMIT};
 
     public SQLHandler(Manager manager) {
         this.manager = manager;
     }
 
     public ArrayList<QueryResult> evaluate(String statement, long session) {
-        String stmt_head = statement.split("\\s+")[0];
-        if (Arrays.asList(CMD_SET_WITHOUT_SELECT).contains(stmt_head.toLowerCase()) && session==0)
-        {
-            manager.writeLog(session, statement);
-        }
         System.out.println("session:" +session + "  " + statement);
+        if (statement.equals(Global.SET_OPTIMISTIC) || statement.equals(Global.SET_PESSIMISTIC)) {
+            ArrayList<QueryResult> queryResults = new ArrayList<QueryResult>();
+            boolean optimistic = statement.equals(Global.SET_OPTIMISTIC);
+            manager.setOptimistic(session, optimistic);
+            queryResults.add(new QueryResult("transactions of the session are " + (optimistic ? "optimistic." : "pessimistic.")));
+            return queryResults;
+        }
         if (statement.equals(Global.LOG_BEGIN_TRANSACTION)) {
             ArrayList<QueryResult> queryResults = new ArrayList<QueryResult>();
             try{
-                if (!manager.currentSessions.contains(session)){
-                    manager.currentSessions.add(session);
-                    ArrayList<String> x_lock_tables = new ArrayList<>();
-                    manager.x_lockDict.put(session, x_lock_tables);
-                } else{
-                    System.out.println("session already in a transaction.");
-                }
+                begin(session);
             } catch (Exception e){
                 queryResults.add(new QueryResult(e.getMessage()));
                 return queryResults;
@@ -56,39 +49,25 @@ public class SQLHandler {
         }
 
         if (statement.equals(Global.LOG_COMMIT)) {
+            ArrayList<QueryResult> queryResults = new ArrayList<QueryResult>();
+            try{
+                if (!commit(session)) {
+                    queryResults.add(new QueryResult(QueryResultType.ABORT,
+                            "transaction aborted, rows it read were changed by others, please retry."));
+                    return queryResults;
+                }
+            }catch (Exception e){
+                queryResults.add(new QueryResult(e.getMessage()));
+                return queryResults;
+            }
+            queryResults.add(new QueryResult("commit transaction."));
+            return queryResults;
+        }
+        if (statement.equals(Global.LOG_ROLLBACK)) {
             ArrayList<QueryResult> queryResults = new ArrayList<QueryResult>();
             try{
                 if (manager.currentSessions.contains(session)){
-                    Database currentDB = manager.getCurrentDatabase();
-                    if(currentDB == null) {
-                        throw new DatabaseNotExistException();
-                    }
-                    String databaseName = currentDB.getDatabaseName();
-                    manager.currentSessions.remove(session);
-                    ArrayList<String> table_list = manager.x_lockDict.get(session);
-                    for (String table_name : table_list) {
-                        Table currentTable = currentDB.get(table_name);
-                        currentTable.releaseXLock(session);
-                    }
-                    table_list.clear();
-                    manager.x_lockDict.put(session,table_list);
-
-                    String databaseLogFilename = Database.getDatabaseLogFilePath(databaseName);
-                    File file = new File(databaseLogFilename);
-                    if(file.exists() && file.isFile() && file.length() > 50000)
-                    {
-                        System.out.println("Clear database log");
-                        try
-                        {
-                            FileWriter writer = new FileWriter(databaseLogFilename);
-                            writer.write( "");
-                            writer.close();
-                        } catch (IOException e)
-                        {
-                            e.printStackTrace();
-                        }
-                        manager.persistDatabase(databaseName);
-                    }
+                    rollback(session);
                 } else {
                     System.out.println("session not in a transaction.");
                 }
@@ -96,9 +75,51 @@ public class SQLHandler {
                 queryResults.add(new QueryResult(e.getMessage()));
                 return queryResults;
             }
-            queryResults.add(new QueryResult("commit transaction."));
+            queryResults.add(new QueryResult("rollback transaction."));
             return queryResults;
         }
+        ArrayList<QueryResult> results;
+        try {
+            ImpVisitor visitor = new ImpVisitor(manager, session);
+            results = (ArrayList<QueryResult>) visitor.visitParse(parse(statement));
+        } catch (Exception e) {
+            String message = "Exception: illegal SQL statement! Error message: " + e.getMessage();
+            QueryResult result = new QueryResult(message);
+            results = new ArrayList<>();
+            results.add(result);
+        }
+        // 语句因死锁或锁等待超时被选为牺牲者，或与其他事务写冲突，结束整个事务
+        Transaction transaction = manager.getTransaction(session);
+        if (LockManager.getInstance().isAborted(session) || (transaction != null && transaction.isRollbackOnly())) {
+            rollback(session);
+            results = new ArrayList<>();
+            results.add(new QueryResult(QueryResultType.ABORT, "transaction aborted by deadlock, lock wait timeout or write conflict, please retry."));
+        }
+        return results;
+    }
+
+    /**
+     * Replays a statement of a legacy log at recovery. Unlike evaluate(), a statement that fails throws, so the
+     * caller keeps the log instead of losing the change.
+     */
+    public void replay(String statement, long session) {
+        if (statement.equals(Global.LOG_BEGIN_TRANSACTION)) {
+            begin(session);
+        } else if (statement.equals(Global.LOG_COMMIT)) {
+            if (!commit(session))
+                throw new IllegalStateException("session " + session + " failed to commit");
+        } else if (statement.equals(Global.LOG_ROLLBACK)) {
+            if (manager.currentSessions.contains(session))
+                rollback(session);
+        } else {
+            ImpVisitor visitor = new ImpVisitor(manager, session);
+            visitor.visitParse(parse(statement));
+            if (visitor.getError() != null)
+                throw new IllegalStateException(statement + ": " + visitor.getError(), visitor.getError());
+        }
+    }
+
+    private SQLParser.ParseContext parse(String statement) {
         SQLLexer lexer = new SQLLexer(CharStreams.fromString(statement));
         lexer.removeErrorListeners();
         lexer.addErrorListener(SQLErrorListener.instance);
@@ -107,17 +128,44 @@ public class SQLHandler {
         SQLParser parser = new SQLParser(tokenStream);
         parser.removeErrorListeners();
         parser.addErrorListener(SQLErrorListener.instance);
+        return parser.parse();
+    }
 
-        try {
-            ImpVisitor visitor = new ImpVisitor(manager, session);
-            return (ArrayList<QueryResult>) visitor.visitParse(parser.parse());
-        } catch (Exception e) {
-            String message = "Exception: illegal SQL statement! Error message: " + e.getMessage();
-            QueryResult result = new QueryResult(message);
-            ArrayList<QueryResult> results = new ArrayList<>();
-            results.add(result);
-            return results;
+    private void begin(long session) {
+        if (!manager.currentSessions.contains(session)){
+            manager.currentSessions.add(session);
+            manager.beginTransaction(session);
+        } else{
+            System.out.println("session already in a transaction.");
         }
     }
 
+    // false if the transaction failed validation, it is rolled back then
+    private boolean commit(long session) {
+        if (!manager.currentSessions.contains(session)) {
+            System.out.println("session not in a transaction.");
+            return true;
+        }
+        Transaction transaction = manager.getTransaction(session);
+        if (!manager.commitTransaction(session)) {
+            rollback(session);
+            return false;
+        }
+        manager.currentSessions.remove(session);
+        LockManager.getInstance().releaseAll(session);
+
+        if (session >= 0 && transaction != null)
+            for (String databaseName : transaction.getDatabases())
+                if (manager.getLogSize(databaseName) > Global.checkpointLogSize)
+                    manager.checkpoint(databaseName);
+        return true;
+    }
+
+    // 先用undo log恢复修改并记录ABORT，再释放锁
+    private void rollback(long session) {
+        manager.rollbackTransaction(session);
+        manager.currentSessions.remove(session);
+        LockManager.getInstance().releaseAll(session);
+    }
+
 }
@@ -1,4 +1,4 @@
-// Generated from C:/Users/75987/Desktop/Database/ThssDB/src/main/java/cn/edu/thssdb/parser\SQL.g4 by ANTLR 4.9.1
+// Generated from SQL.g4 by ANTLR 4.9.1
 package cn.edu.thssdb.parser;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 
@@ -87,6 +87,36 @@ public interface SQLListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitCreate_table_stmt(SQLParser.Create_table_stmtContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SQLParser#table_option}.
+	 * @param ctx the parse tree
+	 */
+	void enterTable_option(SQLParser.Table_optionContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SQLParser#table_option}.
+	 * @param ctx the parse tree
+	 */
+	void exitTable_option(SQLParser.Table_optionContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SQLParser#create_index_stmt}.
+	 * @param ctx the parse tree
+	 */
+	void enterCreate_index_stmt(SQLParser.Create_index_stmtContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SQLParser#create_index_stmt}.
+	 * @param ctx the parse tree
+	 */
+	void exitCreate_index_stmt(SQLParser.Create_index_stmtContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SQLParser#drop_index_stmt}.
+	 * @param ctx the parse tree
+	 */
+	void enterDrop_index_stmt(SQLParser.Drop_index_stmtContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SQLParser#drop_index_stmt}.
+	 * @param ctx the parse tree
+	 */
+	void exitDrop_index_stmt(SQLParser.Drop_index_stmtContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link SQLParser#show_meta_stmt}.
 	 * @param ctx the parse tree
@@ -427,6 +457,26 @@ public interface SQLListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitView_name(SQLParser.View_nameContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SQLParser#index_name}.
+	 * @param ctx the parse tree
+	 */
+	void enterIndex_name(SQLParser.Index_nameContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SQLParser#index_name}.
+	 * @param ctx the parse tree
+	 */
+	void exitIndex_name(SQLParser.Index_nameContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SQLParser#index_type}.
+	 * @param ctx the parse tree
+	 */
+	void enterIndex_type(SQLParser.Index_typeContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SQLParser#index_type}.
+	 * @param ctx the parse tree
+	 */
+	void exitIndex_type(SQLParser.Index_typeContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link SQLParser#password}.
 	 * @param ctx the parse tree
@@ -1,4 +1,4 @@
-// Generated from C:/Users/75987/Desktop/Database/ThssDB/src/main/java/cn/edu/thssdb/parser\SQL.g4 by ANTLR 4.9.1
+// Generated from SQL.g4 by ANTLR 4.9.1
 package cn.edu.thssdb.parser;
 import org.antlr.v4.runtime.atn.*;
 import org.antlr.v4.runtime.dfa.DFA;
@@ -15,67 +15,69 @@ public class SQLParser extends Parser {
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
-			new PredictionContextCache();
+		new PredictionContextCache();
 	public static final int
-			T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, EQ=6, NE=7, LT=8, GT=9, LE=10,
-			GE=11, ADD=12, SUB=13, MUL=14, DIV=15, AND=16, OR=17, T_INT=18, T_LONG=19,
-			T_FLOAT=20, T_DOUBLE=21, T_STRING=22, K_ADD=23, K_ALL=24, K_AS=25, K_BY=26,
-			K_COLUMN=27, K_CREATE=28, K_DATABASE=29, K_DATABASES=30, K_DELETE=31,
-			K_DISTINCT=32, K_DROP=33, K_EXISTS=34, K_FROM=35, K_GRANT=36, K_IF=37,
-			K_IDENTIFIED=38, K_INSERT=39, K_INTO=40, K_JOIN=41, K_KEY=42, K_NOT=43,
-			K_NULL=44, K_ON=45, K_PRIMARY=46, K_QUIT=47, K_REVOKE=48, K_SELECT=49,
-			K_SET=50, K_SHOW=51, K_TABLE=52, K_TO=53, K_UPDATE=54, K_USE=55, K_USER=56,
-			K_VALUES=57, K_VIEW=58, K_WHERE=59, IDENTIFIER=60, NUMERIC_LITERAL=61,
-			EXPONENT=62, STRING_LITERAL=63, SINGLE_LINE_COMMENT=64, MULTILINE_COMMENT=65,
-			SPACES=66;
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, EQ=6, NE=7, LT=8, GT=9, LE=10, 
+		GE=11, ADD=12, SUB=13, MUL=14, DIV=15, AND=16, OR=17, T_INT=18, T_LONG=19, 
+		T_FLOAT=20, T_DOUBLE=21, T_STRING=22, K_ADD=23, K_ALL=24, K_AS=25, K_BY=26, 
+		K_COLUMN=27, K_CREATE=28, K_DATABASE=29, K_DATABASES=30, K_DELETE=31, 
+		K_DISTINCT=32, K_DROP=33, K_EXISTS=34, K_FROM=35, K_GRANT=36, K_IF=37, 
+		K_IDENTIFIED=38, K_INDEX=39, K_INSERT=40, K_INTO=41, K_JOIN=42, K_KEY=43, 
+		K_NOT=44, K_NULL=45, K_ON=46, K_PRIMARY=47, K_QUIT=48, K_REVOKE=49, K_SELECT=50, 
+		K_SET=51, K_SHOW=52, K_TABLE=53, K_TO=54, K_UPDATE=55, K_USE=56, K_USER=57, 
+		K_USING=58, K_VALUES=59, K_VIEW=60, K_WHERE=61, K_WITH=62, IDENTIFIER=63, 
+		NUMERIC_LITERAL=64, EXPONENT=65, STRING_LITERAL=66, SINGLE_LINE_COMMENT=67, 
+		MULTILINE_COMMENT=68, SPACES=69;
 	public static final int
-			RULE_parse = 0, RULE_sql_stmt_list = 1, RULE_sql_stmt = 2, RULE_create_db_stmt = 3,
-			RULE_drop_db_stmt = 4, RULE_create_user_stmt = 5, RULE_drop_user_stmt = 6,
-			RULE_create_table_stmt = 7, RULE_show_meta_stmt = 8, RULE_grant_stmt = 9,
-			RULE_revoke_stmt = 10, RULE_use_db_stmt = 11, RULE_delete_stmt = 12, RULE_drop_table_stmt = 13,
-			RULE_show_db_stmt = 14, RULE_quit_stmt = 15, RULE_show_table_stmt = 16,
-			RULE_insert_stmt = 17, RULE_value_entry = 18, RULE_select_stmt = 19, RULE_create_view_stmt = 20,
-			RULE_drop_view_stmt = 21, RULE_update_stmt = 22, RULE_column_def = 23,
-			RULE_type_name = 24, RULE_column_constraint = 25, RULE_multiple_condition = 26,
-			RULE_condition = 27, RULE_comparer = 28, RULE_comparator = 29, RULE_expression = 30,
-			RULE_table_constraint = 31, RULE_result_column = 32, RULE_table_query = 33,
-			RULE_auth_level = 34, RULE_literal_value = 35, RULE_column_full_name = 36,
-			RULE_database_name = 37, RULE_table_name = 38, RULE_user_name = 39, RULE_column_name = 40,
-			RULE_view_name = 41, RULE_password = 42;
+		RULE_parse = 0, RULE_sql_stmt_list = 1, RULE_sql_stmt = 2, RULE_create_db_stmt = 3, 
+		RULE_drop_db_stmt = 4, RULE_create_user_stmt = 5, RULE_drop_user_stmt = 6, 
+		RULE_create_table_stmt = 7, RULE_table_option = 8, RULE_create_index_stmt = 9, 
+		RULE_drop_index_stmt = 10, RULE_show_meta_stmt = 11, RULE_grant_stmt = 12, 
+		RULE_revoke_stmt = 13, RULE_use_db_stmt = 14, RULE_delete_stmt = 15, RULE_drop_table_stmt = 16, 
+		RULE_show_db_stmt = 17, RULE_quit_stmt = 18, RULE_show_table_stmt = 19, 
+		RULE_insert_stmt = 20, RULE_value_entry = 21, RULE_select_stmt = 22, RULE_create_view_stmt = 23, 
+		RULE_drop_view_stmt = 24, RULE_update_stmt = 25, RULE_column_def = 26, 
+		RULE_type_name = 27, RULE_column_constraint = 28, RULE_multiple_condition = 29, 
+		RULE_condition = 30, RULE_comparer = 31, RULE_comparator = 32, RULE_expression = 33, 
+		RULE_table_constraint = 34, RULE_result_column = 35, RULE_table_query = 36, 
+		RULE_auth_level = 37, RULE_literal_value = 38, RULE_column_full_name = 39, 
+		RULE_database_name = 40, RULE_table_name = 41, RULE_user_name = 42, RULE_column_name = 43, 
+		RULE_view_name = 44, RULE_index_name = 45, RULE_index_type = 46, RULE_password = 47;
 	private static String[] makeRuleNames() {
 		return new String[] {
-				"parse", "sql_stmt_list", "sql_stmt", "create_db_stmt", "drop_db_stmt",
-				"create_user_stmt", "drop_user_stmt", "create_table_stmt", "show_meta_stmt",
-				"grant_stmt", "revoke_stmt", "use_db_stmt", "delete_stmt", "drop_table_stmt",
-				"show_db_stmt", "quit_stmt", "show_table_stmt", "insert_stmt", "value_entry",
-				"select_stmt", "create_view_stmt", "drop_view_stmt", "update_stmt", "column_def",
-				"type_name", "column_constraint", "multiple_condition", "condition",
-				"comparer", "comparator", "expression", "table_constraint", "result_column",
-				"table_query", "auth_level", "literal_value", "column_full_name", "database_name",
-				"table_name", "user_name", "column_name", "view_name", "password"
+			"parse", "sql_stmt_list", "sql_stmt", "create_db_stmt", "drop_db_stmt", 
+			"create_user_stmt", "drop_user_stmt", "create_table_stmt", "table_option", 
+			"create_index_stmt", "drop_index_stmt", "show_meta_stmt", "grant_stmt", 
+			"revoke_stmt", "use_db_stmt", "delete_stmt", "drop_table_stmt", "show_db_stmt", 
+			"quit_stmt", "show_table_stmt", "insert_stmt", "value_entry", "select_stmt", 
+			"create_view_stmt", "drop_view_stmt", "update_stmt", "column_def", "type_name", 
+			"column_constraint", "multiple_condition", "condition", "comparer", "comparator", 
+			"expression", "table_constraint", "result_column", "table_query", "auth_level", 
+			"literal_value", "column_full_name", "database_name", "table_name", "user_name", 
+			"column_name", "view_name", "index_name", "index_type", "password"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-				null, "';'", "'('", "','", "')'", "'.'", "'='", "'<>'", "'<'", "'>'",
-				"'<='", "'>='", "'+'", "'-'", "'*'", "'/'", "'and'", "'or'"
+			null, "';'", "'('", "','", "')'", "'.'", "'='", "'<>'", "'<'", "'>'", 
+			"'<='", "'>='", "'+'", "'-'", "'*'", "'/'", "'and'", "'or'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
-				null, null, null, null, null, null, "EQ", "NE", "LT", "GT", "LE", "GE",
-				"ADD", "SUB", "MUL", "DIV", "AND", "OR", "T_INT", "T_LONG", "T_FLOAT",
-				"T_DOUBLE", "T_STRING", "K_ADD", "K_ALL", "K_AS", "K_BY", "K_COLUMN",
-				"K_CREATE", "K_DATABASE", "K_DATABASES", "K_DELETE", "K_DISTINCT", "K_DROP",
-				"K_EXISTS", "K_FROM", "K_GRANT", "K_IF", "K_IDENTIFIED", "K_INSERT",
-				"K_INTO", "K_JOIN", "K_KEY", "K_NOT", "K_NULL", "K_ON", "K_PRIMARY",
-				"K_QUIT", "K_REVOKE", "K_SELECT", "K_SET", "K_SHOW", "K_TABLE", "K_TO",
-				"K_UPDATE", "K_USE", "K_USER", "K_VALUES", "K_VIEW", "K_WHERE", "IDENTIFIER",
-				"NUMERIC_LITERAL", "EXPONENT", "STRING_LITERAL", "SINGLE_LINE_COMMENT",
-				"MULTILINE_COMMENT", "SPACES"
+			null, null, null, null, null, null, "EQ", "NE", "LT", "GT", "LE", "GE", 
+			"ADD", "SUB", "MUL", "DIV", "AND", "OR", "T_INT", "T_LONG", "T_FLOAT", 
+			"T_DOUBLE", "T_STRING", "K_ADD", "K_ALL", "K_AS", "K_BY", "K_COLUMN", 
+			"K_CREATE", "K_DATABASE", "K_DATABASES", "K_DELETE", "K_DISTINCT", "K_DROP", 
+			"K_EXISTS", "K_FROM", "K_GRANT", "K_IF", "K_IDENTIFIED", "K_INDEX", "K_INSERT", 
+			"K_INTO", "K_JOIN", "K_KEY", "K_NOT", "K_NULL", "K_ON", "K_PRIMARY", 
+			"K_QUIT", "K_REVOKE", "K_SELECT", "K_SET", "K_SHOW", "K_TABLE", "K_TO", 
+			"K_UPDATE", "K_USE", "K_USER", "K_USING", "K_VALUES", "K_VIEW", "K_WHERE", 
+			"K_WITH", "IDENTIFIER", "NUMERIC_LITERAL", "EXPONENT", "STRING_LITERAL", 
+			"SINGLE_LINE_COMMENT", "MULTILINE_COMMENT", "SPACES"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -158,8 +160,8 @@ public class SQLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(86);
-				sql_stmt_list();
+			setState(96);
+			sql_stmt_list();
 			}
 		}
 		catch (RecognitionException re) {
@@ -207,66 +209,66 @@ public class SQLParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(91);
+			setState(101);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__0) {
+				{
+				{
+				setState(98);
+				match(T__0);
+				}
+				}
+				setState(103);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__0) {
+			}
+			setState(104);
+			sql_stmt();
+			setState(113);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					{
 					{
+					setState(106); 
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					do {
+						{
 						{
-							setState(88);
-							match(T__0);
+						setState(105);
+						match(T__0);
 						}
+						}
+						setState(108); 
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					} while ( _la==T__0 );
+					setState(110);
+					sql_stmt();
 					}
-					setState(93);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
+					} 
 				}
-				setState(94);
-				sql_stmt();
-				setState(103);
+				setState(115);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
-				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
-					if ( _alt==1 ) {
-						{
-							{
-								setState(96);
-								_errHandler.sync(this);
-								_la = _input.LA(1);
-								do {
-									{
-										{
-											setState(95);
-											match(T__0);
-										}
-									}
-									setState(98);
-									_errHandler.sync(this);
-									_la = _input.LA(1);
-								} while ( _la==T__0 );
-								setState(100);
-								sql_stmt();
-							}
-						}
-					}
-					setState(105);
-					_errHandler.sync(this);
-					_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+			}
+			setState(119);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__0) {
+				{
+				{
+				setState(116);
+				match(T__0);
 				}
-				setState(109);
+				}
+				setState(121);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__0) {
-					{
-						{
-							setState(106);
-							match(T__0);
-						}
-					}
-					setState(111);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
-				}
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -302,6 +304,12 @@ public class SQLParser extends Parser {
 		public Drop_table_stmtContext drop_table_stmt() {
 			return getRuleContext(Drop_table_stmtContext.class,0);
 		}
+		public Create_index_stmtContext create_index_stmt() {
+			return getRuleContext(Create_index_stmtContext.class,0);
+		}
+		public Drop_index_stmtContext drop_index_stmt() {
+			return getRuleContext(Drop_index_stmtContext.class,0);
+		}
 		public Insert_stmtContext insert_stmt() {
 			return getRuleContext(Insert_stmtContext.class,0);
 		}
@@ -361,140 +369,154 @@ public class SQLParser extends Parser {
 		Sql_stmtContext _localctx = new Sql_stmtContext(_ctx, getState());
 		enterRule(_localctx, 4, RULE_sql_stmt);
 		try {
-			setState(131);
+			setState(143);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,4,_ctx) ) {
-				case 1:
-					enterOuterAlt(_localctx, 1);
+			case 1:
+				enterOuterAlt(_localctx, 1);
 				{
-					setState(112);
-					create_table_stmt();
+				setState(122);
+				create_table_stmt();
 				}
 				break;
-				case 2:
-					enterOuterAlt(_localctx, 2);
+			case 2:
+				enterOuterAlt(_localctx, 2);
 				{
-					setState(113);
-					create_db_stmt();
+				setState(123);
+				create_db_stmt();
 				}
 				break;
-				case 3:
-					enterOuterAlt(_localctx, 3);
+			case 3:
+				enterOuterAlt(_localctx, 3);
 				{
-					setState(114);
-					create_user_stmt();
+				setState(124);
+				create_user_stmt();
 				}
 				break;
-				case 4:
-					enterOuterAlt(_localctx, 4);
+			case 4:
+				enterOuterAlt(_localctx, 4);
 				{
-					setState(115);
-					drop_db_stmt();
+				setState(125);
+				drop_db_stmt();
 				}
 				break;
-				case 5:
-					enterOuterAlt(_localctx, 5);
+			case 5:
+				enterOuterAlt(_localctx, 5);
 				{
-					setState(116);
-					drop_user_stmt();
+				setState(126);
+				drop_user_stmt();
 				}
 				break;
-				case 6:
-					enterOuterAlt(_localctx, 6);
+			case 6:
+				enterOuterAlt(_localctx, 6);
 				{
-					setState(117);
-					delete_stmt();
+				setState(127);
+				delete_stmt();
 				}
 				break;
-				case 7:
-					enterOuterAlt(_localctx, 7);
+			case 7:
+				enterOuterAlt(_localctx, 7);
 				{
-					setState(118);
-					drop_table_stmt();
+				setState(128);
+				drop_table_stmt();
 				}
 				break;
-				case 8:
-					enterOuterAlt(_localctx, 8);
+			case 8:
+				enterOuterAlt(_localctx, 8);
 				{
-					setState(119);
-					insert_stmt();
+				setState(129);
+				create_index_stmt();
 				}
 				break;
-				case 9:
-					enterOuterAlt(_localctx, 9);
+			case 9:
+				enterOuterAlt(_localctx, 9);
 				{
-					setState(120);
-					select_stmt();
+				setState(130);
+				drop_index_stmt();
 				}
 				break;
-				case 10:
-					enterOuterAlt(_localctx, 10);
+			case 10:
+				enterOuterAlt(_localctx, 10);
 				{
-					setState(121);
-					create_view_stmt();
+				setState(131);
+				insert_stmt();
 				}
 				break;
-				case 11:
-					enterOuterAlt(_localctx, 11);
+			case 11:
+				enterOuterAlt(_localctx, 11);
 				{
-					setState(122);
-					drop_view_stmt();
+				setState(132);
+				select_stmt();
 				}
 				break;
-				case 12:
-					enterOuterAlt(_localctx, 12);
+			case 12:
+				enterOuterAlt(_localctx, 12);
 				{
-					setState(123);
-					grant_stmt();
+				setState(133);
+				create_view_stmt();
 				}
 				break;
-				case 13:
-					enterOuterAlt(_localctx, 13);
+			case 13:
+				enterOuterAlt(_localctx, 13);
 				{
-					setState(124);
-					revoke_stmt();
+				setState(134);
+				drop_view_stmt();
 				}
 				break;
-				case 14:
-					enterOuterAlt(_localctx, 14);
+			case 14:
+				enterOuterAlt(_localctx, 14);
 				{
-					setState(125);
-					use_db_stmt();
+				setState(135);
+				grant_stmt();
 				}
 				break;
-				case 15:
-					enterOuterAlt(_localctx, 15);
+			case 15:
+				enterOuterAlt(_localctx, 15);
 				{
-					setState(126);
-					show_db_stmt();
+				setState(136);
+				revoke_stmt();
 				}
 				break;
-				case 16:
-					enterOuterAlt(_localctx, 16);
+			case 16:
+				enterOuterAlt(_localctx, 16);
 				{
-					setState(127);
-					show_table_stmt();
+				setState(137);
+				use_db_stmt();
 				}
 				break;
-				case 17:
-					enterOuterAlt(_localctx, 17);
+			case 17:
+				enterOuterAlt(_localctx, 17);
 				{
-					setState(128);
-					show_meta_stmt();
+				setState(138);
+				show_db_stmt();
 				}
 				break;
-				case 18:
-					enterOuterAlt(_localctx, 18);
+			case 18:
+				enterOuterAlt(_localctx, 18);
 				{
-					setState(129);
-					quit_stmt();
+				setState(139);
+				show_table_stmt();
 				}
 				break;
-				case 19:
-					enterOuterAlt(_localctx, 19);
+			case 19:
+				enterOuterAlt(_localctx, 19);
 				{
-					setState(130);
-					update_stmt();
+				setState(140);
+				show_meta_stmt();
+				}
+				break;
+			case 20:
+				enterOuterAlt(_localctx, 20);
+				{
+				setState(141);
+				quit_stmt();
+				}
+				break;
+			case 21:
+				enterOuterAlt(_localctx, 21);
+				{
+				setState(142);
+				update_stmt();
 				}
 				break;
 			}
@@ -541,12 +563,12 @@ public class SQLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(133);
-				match(K_CREATE);
-				setState(134);
-				match(K_DATABASE);
-				setState(135);
-				database_name();
+			setState(145);
+			match(K_CREATE);
+			setState(146);
+			match(K_DATABASE);
+			setState(147);
+			database_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -594,24 +616,24 @@ public class SQLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(137);
-				match(K_DROP);
-				setState(138);
-				match(K_DATABASE);
-				setState(141);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-				if (_la==K_IF) {
-					{
-						setState(139);
-						match(K_IF);
-						setState(140);
-						match(K_EXISTS);
-					}
+			setState(149);
+			match(K_DROP);
+			setState(150);
+			match(K_DATABASE);
+			setState(153);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_IF) {
+				{
+				setState(151);
+				match(K_IF);
+				setState(152);
+				match(K_EXISTS);
 				}
+			}
 
-				setState(143);
-				database_name();
+			setState(155);
+			database_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -661,18 +683,18 @@ public class SQLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(145);
-				match(K_CREATE);
-				setState(146);
-				match(K_USER);
-				setState(147);
-				user_name();
-				setState(148);
-				match(K_IDENTIFIED);
-				setState(149);
-				match(K_BY);
-				setState(150);
-				password();
+			setState(157);
+			match(K_CREATE);
+			setState(158);
+			match(K_USER);
+			setState(159);
+			user_name();
+			setState(160);
+			match(K_IDENTIFIED);
+			setState(161);
+			match(K_BY);
+			setState(162);
+			password();
 			}
 		}
 		catch (RecognitionException re) {
@@ -720,24 +742,24 @@ public class SQLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(152);
-				match(K_DROP);
-				setState(153);
-				match(K_USER);
-				setState(156);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-				if (_la==K_IF) {
-					{
-						setState(154);
-						match(K_IF);
-						setState(155);
-						match(K_EXISTS);
-					}
+			setState(164);
+			match(K_DROP);
+			setState(165);
+			match(K_USER);
+			setState(168);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_IF) {
+				{
+				setState(166);
+				match(K_IF);
+				setState(167);
+				match(K_EXISTS);
 				}
+			}
 
-				setState(158);
-				user_name();
+			setState(170);
+			user_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -766,6 +788,13 @@ public class SQLParser extends Parser {
 		public Table_constraintContext table_constraint() {
 			return getRuleContext(Table_constraintContext.class,0);
 		}
+		public TerminalNode K_WITH() { return getToken(SQLParser.K_WITH, 0); }
+		public List<Table_optionContext> table_option() {
+			return getRuleContexts(Table_optionContext.class);
+		}
+		public Table_optionContext table_option(int i) {
+			return getRuleContext(Table_optionContext.class,i);
+		}
 		public Create_table_stmtContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -793,48 +822,270 @@ public class SQLParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(160);
-				match(K_CREATE);
-				setState(161);
-				match(K_TABLE);
-				setState(162);
-				table_name();
-				setState(163);
-				match(T__1);
-				setState(164);
-				column_def();
-				setState(169);
+			setState(172);
+			match(K_CREATE);
+			setState(173);
+			match(K_TABLE);
+			setState(174);
+			table_name();
+			setState(175);
+			match(T__1);
+			setState(176);
+			column_def();
+			setState(181);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					{
+					{
+					setState(177);
+					match(T__2);
+					setState(178);
+					column_def();
+					}
+					} 
+				}
+				setState(183);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
-				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
-					if ( _alt==1 ) {
-						{
-							{
-								setState(165);
-								match(T__2);
-								setState(166);
-								column_def();
-							}
-						}
-					}
-					setState(171);
-					_errHandler.sync(this);
-					_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
+			}
+			setState(186);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==T__2) {
+				{
+				setState(184);
+				match(T__2);
+				setState(185);
+				table_constraint();
 				}
-				setState(174);
+			}
+
+			setState(188);
+			match(T__3);
+			setState(201);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_WITH) {
+				{
+				setState(189);
+				match(K_WITH);
+				setState(190);
+				match(T__1);
+				setState(191);
+				table_option();
+				setState(196);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if (_la==T__2) {
+				while (_la==T__2) {
 					{
-						setState(172);
-						match(T__2);
-						setState(173);
-						table_constraint();
+					{
+					setState(192);
+					match(T__2);
+					setState(193);
+					table_option();
+					}
 					}
+					setState(198);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
 				}
-
-				setState(176);
+				setState(199);
 				match(T__3);
+				}
+			}
+
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Table_optionContext extends ParserRuleContext {
+		public TerminalNode IDENTIFIER() { return getToken(SQLParser.IDENTIFIER, 0); }
+		public TerminalNode EQ() { return getToken(SQLParser.EQ, 0); }
+		public TerminalNode NUMERIC_LITERAL() { return getToken(SQLParser.NUMERIC_LITERAL, 0); }
+		public Table_optionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_table_option; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).enterTable_option(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).exitTable_option(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLVisitor ) return ((SQLVisitor<? extends T>)visitor).visitTable_option(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Table_optionContext table_option() throws RecognitionException {
+		Table_optionContext _localctx = new Table_optionContext(_ctx, getState());
+		enterRule(_localctx, 16, RULE_table_option);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(203);
+			match(IDENTIFIER);
+			setState(204);
+			match(EQ);
+			setState(205);
+			match(NUMERIC_LITERAL);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Create_index_stmtContext extends ParserRuleContext {
+		public TerminalNode K_CREATE() { return getToken(SQLParser.K_CREATE, 0); }
+		public TerminalNode K_INDEX() { return getToken(SQLParser.K_INDEX, 0); }
+		public Index_nameContext index_name() {
+			return getRuleContext(Index_nameContext.class,0);
+		}
+		public TerminalNode K_ON() { return getToken(SQLParser.K_ON, 0); }
+		public Table_nameContext table_name() {
+			return getRuleContext(Table_nameContext.class,0);
+		}
+		public Column_nameContext column_name() {
+			return getRuleContext(Column_nameContext.class,0);
+		}
+		public TerminalNode K_USING() { return getToken(SQLParser.K_USING, 0); }
+		public Index_typeContext index_type() {
+			return getRuleContext(Index_typeContext.class,0);
+		}
+		public Create_index_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_create_index_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).enterCreate_index_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).exitCreate_index_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLVisitor ) return ((SQLVisitor<? extends T>)visitor).visitCreate_index_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Create_index_stmtContext create_index_stmt() throws RecognitionException {
+		Create_index_stmtContext _localctx = new Create_index_stmtContext(_ctx, getState());
+		enterRule(_localctx, 18, RULE_create_index_stmt);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(207);
+			match(K_CREATE);
+			setState(208);
+			match(K_INDEX);
+			setState(209);
+			index_name();
+			setState(210);
+			match(K_ON);
+			setState(211);
+			table_name();
+			setState(212);
+			match(T__1);
+			setState(213);
+			column_name();
+			setState(214);
+			match(T__3);
+			setState(217);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_USING) {
+				{
+				setState(215);
+				match(K_USING);
+				setState(216);
+				index_type();
+				}
+			}
+
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Drop_index_stmtContext extends ParserRuleContext {
+		public TerminalNode K_DROP() { return getToken(SQLParser.K_DROP, 0); }
+		public TerminalNode K_INDEX() { return getToken(SQLParser.K_INDEX, 0); }
+		public Index_nameContext index_name() {
+			return getRuleContext(Index_nameContext.class,0);
+		}
+		public TerminalNode K_ON() { return getToken(SQLParser.K_ON, 0); }
+		public Table_nameContext table_name() {
+			return getRuleContext(Table_nameContext.class,0);
+		}
+		public Drop_index_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_drop_index_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).enterDrop_index_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).exitDrop_index_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLVisitor ) return ((SQLVisitor<? extends T>)visitor).visitDrop_index_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Drop_index_stmtContext drop_index_stmt() throws RecognitionException {
+		Drop_index_stmtContext _localctx = new Drop_index_stmtContext(_ctx, getState());
+		enterRule(_localctx, 20, RULE_drop_index_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(219);
+			match(K_DROP);
+			setState(220);
+			match(K_INDEX);
+			setState(221);
+			index_name();
+			setState(222);
+			match(K_ON);
+			setState(223);
+			table_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -875,16 +1126,16 @@ public class SQLParser extends Parser {
 
 	public final Show_meta_stmtContext show_meta_stmt() throws RecognitionException {
 		Show_meta_stmtContext _localctx = new Show_meta_stmtContext(_ctx, getState());
-		enterRule(_localctx, 16, RULE_show_meta_stmt);
+		enterRule(_localctx, 22, RULE_show_meta_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(178);
-				match(K_SHOW);
-				setState(179);
-				match(K_TABLE);
-				setState(180);
-				table_name();
+			setState(225);
+			match(K_SHOW);
+			setState(226);
+			match(K_TABLE);
+			setState(227);
+			table_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -935,39 +1186,39 @@ public class SQLParser extends Parser {
 
 	public final Grant_stmtContext grant_stmt() throws RecognitionException {
 		Grant_stmtContext _localctx = new Grant_stmtContext(_ctx, getState());
-		enterRule(_localctx, 18, RULE_grant_stmt);
+		enterRule(_localctx, 24, RULE_grant_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(182);
-				match(K_GRANT);
-				setState(183);
+			setState(229);
+			match(K_GRANT);
+			setState(230);
+			auth_level();
+			setState(235);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(231);
+				match(T__2);
+				setState(232);
 				auth_level();
-				setState(188);
+				}
+				}
+				setState(237);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__2) {
-					{
-						{
-							setState(184);
-							match(T__2);
-							setState(185);
-							auth_level();
-						}
-					}
-					setState(190);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
-				}
-				setState(191);
-				match(K_ON);
-				setState(192);
-				table_name();
-				setState(193);
-				match(K_TO);
-				setState(194);
-				user_name();
+			}
+			setState(238);
+			match(K_ON);
+			setState(239);
+			table_name();
+			setState(240);
+			match(K_TO);
+			setState(241);
+			user_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -1018,39 +1269,39 @@ public class SQLParser extends Parser {
 
 	public final Revoke_stmtContext revoke_stmt() throws RecognitionException {
 		Revoke_stmtContext _localctx = new Revoke_stmtContext(_ctx, getState());
-		enterRule(_localctx, 20, RULE_revoke_stmt);
+		enterRule(_localctx, 26, RULE_revoke_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(196);
-				match(K_REVOKE);
-				setState(197);
+			setState(243);
+			match(K_REVOKE);
+			setState(244);
+			auth_level();
+			setState(249);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(245);
+				match(T__2);
+				setState(246);
 				auth_level();
-				setState(202);
+				}
+				}
+				setState(251);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__2) {
-					{
-						{
-							setState(198);
-							match(T__2);
-							setState(199);
-							auth_level();
-						}
-					}
-					setState(204);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
-				}
-				setState(205);
-				match(K_ON);
-				setState(206);
-				table_name();
-				setState(207);
-				match(K_FROM);
-				setState(208);
-				user_name();
+			}
+			setState(252);
+			match(K_ON);
+			setState(253);
+			table_name();
+			setState(254);
+			match(K_FROM);
+			setState(255);
+			user_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -1090,14 +1341,14 @@ public class SQLParser extends Parser {
 
 	public final Use_db_stmtContext use_db_stmt() throws RecognitionException {
 		Use_db_stmtContext _localctx = new Use_db_stmtContext(_ctx, getState());
-		enterRule(_localctx, 22, RULE_use_db_stmt);
+		enterRule(_localctx, 28, RULE_use_db_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(210);
-				match(K_USE);
-				setState(211);
-				database_name();
+			setState(257);
+			match(K_USE);
+			setState(258);
+			database_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -1142,28 +1393,28 @@ public class SQLParser extends Parser {
 
 	public final Delete_stmtContext delete_stmt() throws RecognitionException {
 		Delete_stmtContext _localctx = new Delete_stmtContext(_ctx, getState());
-		enterRule(_localctx, 24, RULE_delete_stmt);
+		enterRule(_localctx, 30, RULE_delete_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(213);
-				match(K_DELETE);
-				setState(214);
-				match(K_FROM);
-				setState(215);
-				table_name();
-				setState(218);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-				if (_la==K_WHERE) {
-					{
-						setState(216);
-						match(K_WHERE);
-						setState(217);
-						multiple_condition(0);
-					}
+			setState(260);
+			match(K_DELETE);
+			setState(261);
+			match(K_FROM);
+			setState(262);
+			table_name();
+			setState(265);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_WHERE) {
+				{
+				setState(263);
+				match(K_WHERE);
+				setState(264);
+				multiple_condition(0);
 				}
+			}
 
 			}
 		}
@@ -1207,29 +1458,29 @@ public class SQLParser extends Parser {
 
 	public final Drop_table_stmtContext drop_table_stmt() throws RecognitionException {
 		Drop_table_stmtContext _localctx = new Drop_table_stmtContext(_ctx, getState());
-		enterRule(_localctx, 26, RULE_drop_table_stmt);
+		enterRule(_localctx, 32, RULE_drop_table_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(220);
-				match(K_DROP);
-				setState(221);
-				match(K_TABLE);
-				setState(224);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-				if (_la==K_IF) {
-					{
-						setState(222);
-						match(K_IF);
-						setState(223);
-						match(K_EXISTS);
-					}
+			setState(267);
+			match(K_DROP);
+			setState(268);
+			match(K_TABLE);
+			setState(271);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_IF) {
+				{
+				setState(269);
+				match(K_IF);
+				setState(270);
+				match(K_EXISTS);
 				}
+			}
 
-				setState(226);
-				table_name();
+			setState(273);
+			table_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -1267,14 +1518,14 @@ public class SQLParser extends Parser {
 
 	public final Show_db_stmtContext show_db_stmt() throws RecognitionException {
 		Show_db_stmtContext _localctx = new Show_db_stmtContext(_ctx, getState());
-		enterRule(_localctx, 28, RULE_show_db_stmt);
+		enterRule(_localctx, 34, RULE_show_db_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(228);
-				match(K_SHOW);
-				setState(229);
-				match(K_DATABASES);
+			setState(275);
+			match(K_SHOW);
+			setState(276);
+			match(K_DATABASES);
 			}
 		}
 		catch (RecognitionException re) {
@@ -1311,12 +1562,12 @@ public class SQLParser extends Parser {
 
 	public final Quit_stmtContext quit_stmt() throws RecognitionException {
 		Quit_stmtContext _localctx = new Quit_stmtContext(_ctx, getState());
-		enterRule(_localctx, 30, RULE_quit_stmt);
+		enterRule(_localctx, 36, RULE_quit_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(231);
-				match(K_QUIT);
+			setState(278);
+			match(K_QUIT);
 			}
 		}
 		catch (RecognitionException re) {
@@ -1357,16 +1608,16 @@ public class SQLParser extends Parser {
 
 	public final Show_table_stmtContext show_table_stmt() throws RecognitionException {
 		Show_table_stmtContext _localctx = new Show_table_stmtContext(_ctx, getState());
-		enterRule(_localctx, 32, RULE_show_table_stmt);
+		enterRule(_localctx, 38, RULE_show_table_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(233);
-				match(K_SHOW);
-				setState(234);
-				match(K_DATABASE);
-				setState(235);
-				database_name();
+			setState(280);
+			match(K_SHOW);
+			setState(281);
+			match(K_DATABASE);
+			setState(282);
+			database_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -1420,67 +1671,67 @@ public class SQLParser extends Parser {
 
 	public final Insert_stmtContext insert_stmt() throws RecognitionException {
 		Insert_stmtContext _localctx = new Insert_stmtContext(_ctx, getState());
-		enterRule(_localctx, 34, RULE_insert_stmt);
+		enterRule(_localctx, 40, RULE_insert_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(237);
-				match(K_INSERT);
-				setState(238);
-				match(K_INTO);
-				setState(239);
-				table_name();
-				setState(251);
+			setState(284);
+			match(K_INSERT);
+			setState(285);
+			match(K_INTO);
+			setState(286);
+			table_name();
+			setState(298);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==T__1) {
+				{
+				setState(287);
+				match(T__1);
+				setState(288);
+				column_name();
+				setState(293);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if (_la==T__1) {
+				while (_la==T__2) {
 					{
-						setState(240);
-						match(T__1);
-						setState(241);
-						column_name();
-						setState(246);
-						_errHandler.sync(this);
-						_la = _input.LA(1);
-						while (_la==T__2) {
-							{
-								{
-									setState(242);
-									match(T__2);
-									setState(243);
-									column_name();
-								}
-							}
-							setState(248);
-							_errHandler.sync(this);
-							_la = _input.LA(1);
-						}
-						setState(249);
-						match(T__3);
+					{
+					setState(289);
+					match(T__2);
+					setState(290);
+					column_name();
 					}
+					}
+					setState(295);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
 				}
+				setState(296);
+				match(T__3);
+				}
+			}
 
-				setState(253);
-				match(K_VALUES);
-				setState(254);
+			setState(300);
+			match(K_VALUES);
+			setState(301);
+			value_entry();
+			setState(306);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(302);
+				match(T__2);
+				setState(303);
 				value_entry();
-				setState(259);
+				}
+				}
+				setState(308);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__2) {
-					{
-						{
-							setState(255);
-							match(T__2);
-							setState(256);
-							value_entry();
-						}
-					}
-					setState(261);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
-				}
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -1522,33 +1773,33 @@ public class SQLParser extends Parser {
 
 	public final Value_entryContext value_entry() throws RecognitionException {
 		Value_entryContext _localctx = new Value_entryContext(_ctx, getState());
-		enterRule(_localctx, 36, RULE_value_entry);
+		enterRule(_localctx, 42, RULE_value_entry);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(262);
-				match(T__1);
-				setState(263);
+			setState(309);
+			match(T__1);
+			setState(310);
+			literal_value();
+			setState(315);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(311);
+				match(T__2);
+				setState(312);
 				literal_value();
-				setState(268);
+				}
+				}
+				setState(317);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__2) {
-					{
-						{
-							setState(264);
-							match(T__2);
-							setState(265);
-							literal_value();
-						}
-					}
-					setState(270);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
-				}
-				setState(271);
-				match(T__3);
+			}
+			setState(318);
+			match(T__3);
 			}
 		}
 		catch (RecognitionException re) {
@@ -1604,80 +1855,80 @@ public class SQLParser extends Parser {
 
 	public final Select_stmtContext select_stmt() throws RecognitionException {
 		Select_stmtContext _localctx = new Select_stmtContext(_ctx, getState());
-		enterRule(_localctx, 38, RULE_select_stmt);
+		enterRule(_localctx, 44, RULE_select_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(273);
-				match(K_SELECT);
-				setState(275);
-				_errHandler.sync(this);
+			setState(320);
+			match(K_SELECT);
+			setState(322);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_ALL || _la==K_DISTINCT) {
+				{
+				setState(321);
 				_la = _input.LA(1);
-				if (_la==K_ALL || _la==K_DISTINCT) {
-					{
-						setState(274);
-						_la = _input.LA(1);
-						if ( !(_la==K_ALL || _la==K_DISTINCT) ) {
-							_errHandler.recoverInline(this);
-						}
-						else {
-							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-							_errHandler.reportMatch(this);
-							consume();
-						}
-					}
+				if ( !(_la==K_ALL || _la==K_DISTINCT) ) {
+				_errHandler.recoverInline(this);
 				}
+				else {
+					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+					_errHandler.reportMatch(this);
+					consume();
+				}
+				}
+			}
 
-				setState(277);
+			setState(324);
+			result_column();
+			setState(329);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(325);
+				match(T__2);
+				setState(326);
 				result_column();
-				setState(282);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-				while (_la==T__2) {
-					{
-						{
-							setState(278);
-							match(T__2);
-							setState(279);
-							result_column();
-						}
-					}
-					setState(284);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
 				}
-				setState(285);
-				match(K_FROM);
-				setState(286);
-				table_query();
-				setState(291);
+				}
+				setState(331);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__2) {
-					{
-						{
-							setState(287);
-							match(T__2);
-							setState(288);
-							table_query();
-						}
-					}
-					setState(293);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
+			}
+			setState(332);
+			match(K_FROM);
+			setState(333);
+			table_query();
+			setState(338);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(334);
+				match(T__2);
+				setState(335);
+				table_query();
 				}
-				setState(296);
+				}
+				setState(340);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if (_la==K_WHERE) {
-					{
-						setState(294);
-						match(K_WHERE);
-						setState(295);
-						multiple_condition(0);
-					}
+			}
+			setState(343);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_WHERE) {
+				{
+				setState(341);
+				match(K_WHERE);
+				setState(342);
+				multiple_condition(0);
 				}
+			}
 
 			}
 		}
@@ -1723,20 +1974,20 @@ public class SQLParser extends Parser {
 
 	public final Create_view_stmtContext create_view_stmt() throws RecognitionException {
 		Create_view_stmtContext _localctx = new Create_view_stmtContext(_ctx, getState());
-		enterRule(_localctx, 40, RULE_create_view_stmt);
+		enterRule(_localctx, 46, RULE_create_view_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(298);
-				match(K_CREATE);
-				setState(299);
-				match(K_VIEW);
-				setState(300);
-				view_name();
-				setState(301);
-				match(K_AS);
-				setState(302);
-				select_stmt();
+			setState(345);
+			match(K_CREATE);
+			setState(346);
+			match(K_VIEW);
+			setState(347);
+			view_name();
+			setState(348);
+			match(K_AS);
+			setState(349);
+			select_stmt();
 			}
 		}
 		catch (RecognitionException re) {
@@ -1779,29 +2030,29 @@ public class SQLParser extends Parser {
 
 	public final Drop_view_stmtContext drop_view_stmt() throws RecognitionException {
 		Drop_view_stmtContext _localctx = new Drop_view_stmtContext(_ctx, getState());
-		enterRule(_localctx, 42, RULE_drop_view_stmt);
+		enterRule(_localctx, 48, RULE_drop_view_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(304);
-				match(K_DROP);
-				setState(305);
-				match(K_VIEW);
-				setState(308);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-				if (_la==K_IF) {
-					{
-						setState(306);
-						match(K_IF);
-						setState(307);
-						match(K_EXISTS);
-					}
+			setState(351);
+			match(K_DROP);
+			setState(352);
+			match(K_VIEW);
+			setState(355);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_IF) {
+				{
+				setState(353);
+				match(K_IF);
+				setState(354);
+				match(K_EXISTS);
 				}
+			}
 
-				setState(310);
-				view_name();
+			setState(357);
+			view_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -1853,34 +2104,34 @@ public class SQLParser extends Parser {
 
 	public final Update_stmtContext update_stmt() throws RecognitionException {
 		Update_stmtContext _localctx = new Update_stmtContext(_ctx, getState());
-		enterRule(_localctx, 44, RULE_update_stmt);
+		enterRule(_localctx, 50, RULE_update_stmt);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(312);
-				match(K_UPDATE);
-				setState(313);
-				table_name();
-				setState(314);
-				match(K_SET);
-				setState(315);
-				column_name();
-				setState(316);
-				match(EQ);
-				setState(317);
-				expression(0);
-				setState(320);
-				_errHandler.sync(this);
-				_la = _input.LA(1);
-				if (_la==K_WHERE) {
-					{
-						setState(318);
-						match(K_WHERE);
-						setState(319);
-						multiple_condition(0);
-					}
+			setState(359);
+			match(K_UPDATE);
+			setState(360);
+			table_name();
+			setState(361);
+			match(K_SET);
+			setState(362);
+			column_name();
+			setState(363);
+			match(EQ);
+			setState(364);
+			expression(0);
+			setState(367);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_WHERE) {
+				{
+				setState(365);
+				match(K_WHERE);
+				setState(366);
+				multiple_condition(0);
 				}
+			}
 
 			}
 		}
@@ -1929,29 +2180,29 @@ public class SQLParser extends Parser {
 
 	public final Column_defContext column_def() throws RecognitionException {
 		Column_defContext _localctx = new Column_defContext(_ctx, getState());
-		enterRule(_localctx, 46, RULE_column_def);
+		enterRule(_localctx, 52, RULE_column_def);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(322);
-				column_name();
-				setState(323);
-				type_name();
-				setState(327);
+			setState(369);
+			column_name();
+			setState(370);
+			type_name();
+			setState(374);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==K_NOT || _la==K_PRIMARY) {
+				{
+				{
+				setState(371);
+				column_constraint();
+				}
+				}
+				setState(376);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==K_NOT || _la==K_PRIMARY) {
-					{
-						{
-							setState(324);
-							column_constraint();
-						}
-					}
-					setState(329);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
-				}
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -1993,54 +2244,54 @@ public class SQLParser extends Parser {
 
 	public final Type_nameContext type_name() throws RecognitionException {
 		Type_nameContext _localctx = new Type_nameContext(_ctx, getState());
-		enterRule(_localctx, 48, RULE_type_name);
+		enterRule(_localctx, 54, RULE_type_name);
 		try {
-			setState(338);
+			setState(385);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-				case T_INT:
-					enterOuterAlt(_localctx, 1);
+			case T_INT:
+				enterOuterAlt(_localctx, 1);
 				{
-					setState(330);
-					match(T_INT);
+				setState(377);
+				match(T_INT);
 				}
 				break;
-				case T_LONG:
-					enterOuterAlt(_localctx, 2);
+			case T_LONG:
+				enterOuterAlt(_localctx, 2);
 				{
-					setState(331);
-					match(T_LONG);
+				setState(378);
+				match(T_LONG);
 				}
 				break;
-				case T_FLOAT:
-					enterOuterAlt(_localctx, 3);
+			case T_FLOAT:
+				enterOuterAlt(_localctx, 3);
 				{
-					setState(332);
-					match(T_FLOAT);
+				setState(379);
+				match(T_FLOAT);
 				}
 				break;
-				case T_DOUBLE:
-					enterOuterAlt(_localctx, 4);
+			case T_DOUBLE:
+				enterOuterAlt(_localctx, 4);
 				{
-					setState(333);
-					match(T_DOUBLE);
+				setState(380);
+				match(T_DOUBLE);
 				}
 				break;
-				case T_STRING:
-					enterOuterAlt(_localctx, 5);
-				{
-					setState(334);
-					match(T_STRING);
-					setState(335);
-					match(T__1);
-					setState(336);
-					match(NUMERIC_LITERAL);
-					setState(337);
-					match(T__3);
+			case T_STRING:
+				enterOuterAlt(_localctx, 5);
+				{
+				setState(381);
+				match(T_STRING);
+				setState(382);
+				match(T__1);
+				setState(383);
+				match(NUMERIC_LITERAL);
+				setState(384);
+				match(T__3);
 				}
 				break;
-				default:
-					throw new NoViableAltException(this);
+			default:
+				throw new NoViableAltException(this);
 			}
 		}
 		catch (RecognitionException re) {
@@ -2080,31 +2331,31 @@ public class SQLParser extends Parser {
 
 	public final Column_constraintContext column_constraint() throws RecognitionException {
 		Column_constraintContext _localctx = new Column_constraintContext(_ctx, getState());
-		enterRule(_localctx, 50, RULE_column_constraint);
+		enterRule(_localctx, 56, RULE_column_constraint);
 		try {
-			setState(344);
+			setState(391);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-				case K_PRIMARY:
-					enterOuterAlt(_localctx, 1);
+			case K_PRIMARY:
+				enterOuterAlt(_localctx, 1);
 				{
-					setState(340);
-					match(K_PRIMARY);
-					setState(341);
-					match(K_KEY);
+				setState(387);
+				match(K_PRIMARY);
+				setState(388);
+				match(K_KEY);
 				}
 				break;
-				case K_NOT:
-					enterOuterAlt(_localctx, 2);
+			case K_NOT:
+				enterOuterAlt(_localctx, 2);
 				{
-					setState(342);
-					match(K_NOT);
-					setState(343);
-					match(K_NULL);
+				setState(389);
+				match(K_NOT);
+				setState(390);
+				match(K_NULL);
 				}
 				break;
-				default:
-					throw new NoViableAltException(this);
+			default:
+				throw new NoViableAltException(this);
 			}
 		}
 		catch (RecognitionException re) {
@@ -2158,59 +2409,59 @@ public class SQLParser extends Parser {
 		int _parentState = getState();
 		Multiple_conditionContext _localctx = new Multiple_conditionContext(_ctx, _parentState);
 		Multiple_conditionContext _prevctx = _localctx;
-		int _startState = 52;
-		enterRecursionRule(_localctx, 52, RULE_multiple_condition, _p);
+		int _startState = 58;
+		enterRecursionRule(_localctx, 58, RULE_multiple_condition, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-				{
-					setState(347);
-					condition();
-				}
-				_ctx.stop = _input.LT(-1);
-				setState(357);
-				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,27,_ctx);
-				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
-					if ( _alt==1 ) {
-						if ( _parseListeners!=null ) triggerExitRuleEvent();
-						_prevctx = _localctx;
+			{
+			setState(394);
+			condition();
+			}
+			_ctx.stop = _input.LT(-1);
+			setState(404);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,30,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					if ( _parseListeners!=null ) triggerExitRuleEvent();
+					_prevctx = _localctx;
+					{
+					setState(402);
+					_errHandler.sync(this);
+					switch ( getInterpreter().adaptivePredict(_input,29,_ctx) ) {
+					case 1:
+						{
+						_localctx = new Multiple_conditionContext(_parentctx, _parentState);
+						pushNewRecursionContext(_localctx, _startState, RULE_multiple_condition);
+						setState(396);
+						if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
+						setState(397);
+						match(AND);
+						setState(398);
+						multiple_condition(3);
+						}
+						break;
+					case 2:
 						{
-							setState(355);
-							_errHandler.sync(this);
-							switch ( getInterpreter().adaptivePredict(_input,26,_ctx) ) {
-								case 1:
-								{
-									_localctx = new Multiple_conditionContext(_parentctx, _parentState);
-									pushNewRecursionContext(_localctx, _startState, RULE_multiple_condition);
-									setState(349);
-									if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
-									setState(350);
-									match(AND);
-									setState(351);
-									multiple_condition(3);
-								}
-								break;
-								case 2:
-								{
-									_localctx = new Multiple_conditionContext(_parentctx, _parentState);
-									pushNewRecursionContext(_localctx, _startState, RULE_multiple_condition);
-									setState(352);
-									if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-									setState(353);
-									match(OR);
-									setState(354);
-									multiple_condition(2);
-								}
-								break;
-							}
+						_localctx = new Multiple_conditionContext(_parentctx, _parentState);
+						pushNewRecursionContext(_localctx, _startState, RULE_multiple_condition);
+						setState(399);
+						if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
+						setState(400);
+						match(OR);
+						setState(401);
+						multiple_condition(2);
 						}
+						break;
 					}
-					setState(359);
-					_errHandler.sync(this);
-					_alt = getInterpreter().adaptivePredict(_input,27,_ctx);
+					} 
 				}
+				setState(406);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,30,_ctx);
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -2255,16 +2506,16 @@ public class SQLParser extends Parser {
 
 	public final ConditionContext condition() throws RecognitionException {
 		ConditionContext _localctx = new ConditionContext(_ctx, getState());
-		enterRule(_localctx, 54, RULE_condition);
+		enterRule(_localctx, 60, RULE_condition);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(360);
-				expression(0);
-				setState(361);
-				comparator();
-				setState(362);
-				expression(0);
+			setState(407);
+			expression(0);
+			setState(408);
+			comparator();
+			setState(409);
+			expression(0);
 			}
 		}
 		catch (RecognitionException re) {
@@ -2306,29 +2557,29 @@ public class SQLParser extends Parser {
 
 	public final ComparerContext comparer() throws RecognitionException {
 		ComparerContext _localctx = new ComparerContext(_ctx, getState());
-		enterRule(_localctx, 56, RULE_comparer);
+		enterRule(_localctx, 62, RULE_comparer);
 		try {
-			setState(366);
+			setState(413);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-				case IDENTIFIER:
-					enterOuterAlt(_localctx, 1);
+			case IDENTIFIER:
+				enterOuterAlt(_localctx, 1);
 				{
-					setState(364);
-					column_full_name();
+				setState(411);
+				column_full_name();
 				}
 				break;
-				case K_NULL:
-				case NUMERIC_LITERAL:
-				case STRING_LITERAL:
-					enterOuterAlt(_localctx, 2);
+			case K_NULL:
+			case NUMERIC_LITERAL:
+			case STRING_LITERAL:
+				enterOuterAlt(_localctx, 2);
 				{
-					setState(365);
-					literal_value();
+				setState(412);
+				literal_value();
 				}
 				break;
-				default:
-					throw new NoViableAltException(this);
+			default:
+				throw new NoViableAltException(this);
 			}
 		}
 		catch (RecognitionException re) {
@@ -2370,21 +2621,21 @@ public class SQLParser extends Parser {
 
 	public final ComparatorContext comparator() throws RecognitionException {
 		ComparatorContext _localctx = new ComparatorContext(_ctx, getState());
-		enterRule(_localctx, 58, RULE_comparator);
+		enterRule(_localctx, 64, RULE_comparator);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(368);
-				_la = _input.LA(1);
-				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << EQ) | (1L << NE) | (1L << LT) | (1L << GT) | (1L << LE) | (1L << GE))) != 0)) ) {
-					_errHandler.recoverInline(this);
-				}
-				else {
-					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-					_errHandler.reportMatch(this);
-					consume();
-				}
+			setState(415);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << EQ) | (1L << NE) | (1L << LT) | (1L << GT) | (1L << LE) | (1L << GE))) != 0)) ) {
+			_errHandler.recoverInline(this);
+			}
+			else {
+				if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+				_errHandler.reportMatch(this);
+				consume();
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -2440,97 +2691,97 @@ public class SQLParser extends Parser {
 		int _parentState = getState();
 		ExpressionContext _localctx = new ExpressionContext(_ctx, _parentState);
 		ExpressionContext _prevctx = _localctx;
-		int _startState = 60;
-		enterRecursionRule(_localctx, 60, RULE_expression, _p);
+		int _startState = 66;
+		enterRecursionRule(_localctx, 66, RULE_expression, _p);
 		int _la;
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(376);
-				_errHandler.sync(this);
-				switch (_input.LA(1)) {
-					case K_NULL:
-					case IDENTIFIER:
-					case NUMERIC_LITERAL:
-					case STRING_LITERAL:
-					{
-						setState(371);
-						comparer();
-					}
-					break;
-					case T__1:
-					{
-						setState(372);
-						match(T__1);
-						setState(373);
-						expression(0);
-						setState(374);
-						match(T__3);
-					}
-					break;
-					default:
-						throw new NoViableAltException(this);
+			setState(423);
+			_errHandler.sync(this);
+			switch (_input.LA(1)) {
+			case K_NULL:
+			case IDENTIFIER:
+			case NUMERIC_LITERAL:
+			case STRING_LITERAL:
+				{
+				setState(418);
+				comparer();
 				}
-				_ctx.stop = _input.LT(-1);
-				setState(386);
-				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,31,_ctx);
-				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
-					if ( _alt==1 ) {
-						if ( _parseListeners!=null ) triggerExitRuleEvent();
-						_prevctx = _localctx;
+				break;
+			case T__1:
+				{
+				setState(419);
+				match(T__1);
+				setState(420);
+				expression(0);
+				setState(421);
+				match(T__3);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+			_ctx.stop = _input.LT(-1);
+			setState(433);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,34,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					if ( _parseListeners!=null ) triggerExitRuleEvent();
+					_prevctx = _localctx;
+					{
+					setState(431);
+					_errHandler.sync(this);
+					switch ( getInterpreter().adaptivePredict(_input,33,_ctx) ) {
+					case 1:
+						{
+						_localctx = new ExpressionContext(_parentctx, _parentState);
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(425);
+						if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
+						setState(426);
+						_la = _input.LA(1);
+						if ( !(_la==MUL || _la==DIV) ) {
+						_errHandler.recoverInline(this);
+						}
+						else {
+							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+							_errHandler.reportMatch(this);
+							consume();
+						}
+						setState(427);
+						expression(4);
+						}
+						break;
+					case 2:
 						{
-							setState(384);
-							_errHandler.sync(this);
-							switch ( getInterpreter().adaptivePredict(_input,30,_ctx) ) {
-								case 1:
-								{
-									_localctx = new ExpressionContext(_parentctx, _parentState);
-									pushNewRecursionContext(_localctx, _startState, RULE_expression);
-									setState(378);
-									if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
-									setState(379);
-									_la = _input.LA(1);
-									if ( !(_la==MUL || _la==DIV) ) {
-										_errHandler.recoverInline(this);
-									}
-									else {
-										if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-										_errHandler.reportMatch(this);
-										consume();
-									}
-									setState(380);
-									expression(4);
-								}
-								break;
-								case 2:
-								{
-									_localctx = new ExpressionContext(_parentctx, _parentState);
-									pushNewRecursionContext(_localctx, _startState, RULE_expression);
-									setState(381);
-									if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
-									setState(382);
-									_la = _input.LA(1);
-									if ( !(_la==ADD || _la==SUB) ) {
-										_errHandler.recoverInline(this);
-									}
-									else {
-										if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-										_errHandler.reportMatch(this);
-										consume();
-									}
-									setState(383);
-									expression(3);
-								}
-								break;
-							}
+						_localctx = new ExpressionContext(_parentctx, _parentState);
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(428);
+						if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
+						setState(429);
+						_la = _input.LA(1);
+						if ( !(_la==ADD || _la==SUB) ) {
+						_errHandler.recoverInline(this);
+						}
+						else {
+							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+							_errHandler.reportMatch(this);
+							consume();
 						}
+						setState(430);
+						expression(3);
+						}
+						break;
 					}
-					setState(388);
-					_errHandler.sync(this);
-					_alt = getInterpreter().adaptivePredict(_input,31,_ctx);
+					} 
 				}
+				setState(435);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,34,_ctx);
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -2574,37 +2825,37 @@ public class SQLParser extends Parser {
 
 	public final Table_constraintContext table_constraint() throws RecognitionException {
 		Table_constraintContext _localctx = new Table_constraintContext(_ctx, getState());
-		enterRule(_localctx, 62, RULE_table_constraint);
+		enterRule(_localctx, 68, RULE_table_constraint);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(389);
-				match(K_PRIMARY);
-				setState(390);
-				match(K_KEY);
-				setState(391);
-				match(T__1);
-				setState(392);
+			setState(436);
+			match(K_PRIMARY);
+			setState(437);
+			match(K_KEY);
+			setState(438);
+			match(T__1);
+			setState(439);
+			column_name();
+			setState(444);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__2) {
+				{
+				{
+				setState(440);
+				match(T__2);
+				setState(441);
 				column_name();
-				setState(397);
+				}
+				}
+				setState(446);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while (_la==T__2) {
-					{
-						{
-							setState(393);
-							match(T__2);
-							setState(394);
-							column_name();
-						}
-					}
-					setState(399);
-					_errHandler.sync(this);
-					_la = _input.LA(1);
-				}
-				setState(400);
-				match(T__3);
+			}
+			setState(447);
+			match(T__3);
 			}
 		}
 		catch (RecognitionException re) {
@@ -2647,34 +2898,34 @@ public class SQLParser extends Parser {
 
 	public final Result_columnContext result_column() throws RecognitionException {
 		Result_columnContext _localctx = new Result_columnContext(_ctx, getState());
-		enterRule(_localctx, 64, RULE_result_column);
+		enterRule(_localctx, 70, RULE_result_column);
 		try {
-			setState(408);
+			setState(455);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,33,_ctx) ) {
-				case 1:
-					enterOuterAlt(_localctx, 1);
+			switch ( getInterpreter().adaptivePredict(_input,36,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
 				{
-					setState(402);
-					match(MUL);
+				setState(449);
+				match(MUL);
 				}
 				break;
-				case 2:
-					enterOuterAlt(_localctx, 2);
+			case 2:
+				enterOuterAlt(_localctx, 2);
 				{
-					setState(403);
-					table_name();
-					setState(404);
-					match(T__4);
-					setState(405);
-					match(MUL);
+				setState(450);
+				table_name();
+				setState(451);
+				match(T__4);
+				setState(452);
+				match(MUL);
 				}
 				break;
-				case 3:
-					enterOuterAlt(_localctx, 3);
+			case 3:
+				enterOuterAlt(_localctx, 3);
 				{
-					setState(407);
-					column_full_name();
+				setState(454);
+				column_full_name();
 				}
 				break;
 			}
@@ -2726,44 +2977,44 @@ public class SQLParser extends Parser {
 
 	public final Table_queryContext table_query() throws RecognitionException {
 		Table_queryContext _localctx = new Table_queryContext(_ctx, getState());
-		enterRule(_localctx, 66, RULE_table_query);
+		enterRule(_localctx, 72, RULE_table_query);
 		int _la;
 		try {
-			setState(421);
+			setState(468);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,35,_ctx) ) {
-				case 1:
-					enterOuterAlt(_localctx, 1);
+			switch ( getInterpreter().adaptivePredict(_input,38,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
 				{
-					setState(410);
-					table_name();
+				setState(457);
+				table_name();
 				}
 				break;
-				case 2:
-					enterOuterAlt(_localctx, 2);
+			case 2:
+				enterOuterAlt(_localctx, 2);
 				{
-					setState(411);
+				setState(458);
+				table_name();
+				setState(461); 
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				do {
+					{
+					{
+					setState(459);
+					match(K_JOIN);
+					setState(460);
 					table_name();
-					setState(414);
+					}
+					}
+					setState(463); 
 					_errHandler.sync(this);
 					_la = _input.LA(1);
-					do {
-						{
-							{
-								setState(412);
-								match(K_JOIN);
-								setState(413);
-								table_name();
-							}
-						}
-						setState(416);
-						_errHandler.sync(this);
-						_la = _input.LA(1);
-					} while ( _la==K_JOIN );
-					setState(418);
-					match(K_ON);
-					setState(419);
-					multiple_condition(0);
+				} while ( _la==K_JOIN );
+				setState(465);
+				match(K_ON);
+				setState(466);
+				multiple_condition(0);
 				}
 				break;
 			}
@@ -2806,21 +3057,21 @@ public class SQLParser extends Parser {
 
 	public final Auth_levelContext auth_level() throws RecognitionException {
 		Auth_levelContext _localctx = new Auth_levelContext(_ctx, getState());
-		enterRule(_localctx, 68, RULE_auth_level);
+		enterRule(_localctx, 74, RULE_auth_level);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(423);
-				_la = _input.LA(1);
-				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << K_DELETE) | (1L << K_DROP) | (1L << K_INSERT) | (1L << K_SELECT) | (1L << K_UPDATE))) != 0)) ) {
-					_errHandler.recoverInline(this);
-				}
-				else {
-					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-					_errHandler.reportMatch(this);
-					consume();
-				}
+			setState(470);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << K_DELETE) | (1L << K_DROP) | (1L << K_INSERT) | (1L << K_SELECT) | (1L << K_UPDATE))) != 0)) ) {
+			_errHandler.recoverInline(this);
+			}
+			else {
+				if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+				_errHandler.reportMatch(this);
+				consume();
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -2859,21 +3110,21 @@ public class SQLParser extends Parser {
 
 	public final Literal_valueContext literal_value() throws RecognitionException {
 		Literal_valueContext _localctx = new Literal_valueContext(_ctx, getState());
-		enterRule(_localctx, 70, RULE_literal_value);
+		enterRule(_localctx, 76, RULE_literal_value);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(425);
-				_la = _input.LA(1);
-				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << K_NULL) | (1L << NUMERIC_LITERAL) | (1L << STRING_LITERAL))) != 0)) ) {
-					_errHandler.recoverInline(this);
-				}
-				else {
-					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
-					_errHandler.reportMatch(this);
-					consume();
-				}
+			setState(472);
+			_la = _input.LA(1);
+			if ( !(((((_la - 45)) & ~0x3f) == 0 && ((1L << (_la - 45)) & ((1L << (K_NULL - 45)) | (1L << (NUMERIC_LITERAL - 45)) | (1L << (STRING_LITERAL - 45)))) != 0)) ) {
+			_errHandler.recoverInline(this);
+			}
+			else {
+				if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+				_errHandler.reportMatch(this);
+				consume();
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -2915,24 +3166,24 @@ public class SQLParser extends Parser {
 
 	public final Column_full_nameContext column_full_name() throws RecognitionException {
 		Column_full_nameContext _localctx = new Column_full_nameContext(_ctx, getState());
-		enterRule(_localctx, 72, RULE_column_full_name);
+		enterRule(_localctx, 78, RULE_column_full_name);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(430);
-				_errHandler.sync(this);
-				switch ( getInterpreter().adaptivePredict(_input,36,_ctx) ) {
-					case 1:
-					{
-						setState(427);
-						table_name();
-						setState(428);
-						match(T__4);
-					}
-					break;
+			setState(477);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,39,_ctx) ) {
+			case 1:
+				{
+				setState(474);
+				table_name();
+				setState(475);
+				match(T__4);
 				}
-				setState(432);
-				column_name();
+				break;
+			}
+			setState(479);
+			column_name();
 			}
 		}
 		catch (RecognitionException re) {
@@ -2969,12 +3220,12 @@ public class SQLParser extends Parser {
 
 	public final Database_nameContext database_name() throws RecognitionException {
 		Database_nameContext _localctx = new Database_nameContext(_ctx, getState());
-		enterRule(_localctx, 74, RULE_database_name);
+		enterRule(_localctx, 80, RULE_database_name);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(434);
-				match(IDENTIFIER);
+			setState(481);
+			match(IDENTIFIER);
 			}
 		}
 		catch (RecognitionException re) {
@@ -3011,12 +3262,12 @@ public class SQLParser extends Parser {
 
 	public final Table_nameContext table_name() throws RecognitionException {
 		Table_nameContext _localctx = new Table_nameContext(_ctx, getState());
-		enterRule(_localctx, 76, RULE_table_name);
+		enterRule(_localctx, 82, RULE_table_name);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(436);
-				match(IDENTIFIER);
+			setState(483);
+			match(IDENTIFIER);
 			}
 		}
 		catch (RecognitionException re) {
@@ -3053,12 +3304,12 @@ public class SQLParser extends Parser {
 
 	public final User_nameContext user_name() throws RecognitionException {
 		User_nameContext _localctx = new User_nameContext(_ctx, getState());
-		enterRule(_localctx, 78, RULE_user_name);
+		enterRule(_localctx, 84, RULE_user_name);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(438);
-				match(IDENTIFIER);
+			setState(485);
+			match(IDENTIFIER);
 			}
 		}
 		catch (RecognitionException re) {
@@ -3095,12 +3346,12 @@ public class SQLParser extends Parser {
 
 	public final Column_nameContext column_name() throws RecognitionException {
 		Column_nameContext _localctx = new Column_nameContext(_ctx, getState());
-		enterRule(_localctx, 80, RULE_column_name);
+		enterRule(_localctx, 86, RULE_column_name);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(440);
-				match(IDENTIFIER);
+			setState(487);
+			match(IDENTIFIER);
 			}
 		}
 		catch (RecognitionException re) {
@@ -3137,12 +3388,96 @@ public class SQLParser extends Parser {
 
 	public final View_nameContext view_name() throws RecognitionException {
 		View_nameContext _localctx = new View_nameContext(_ctx, getState());
-		enterRule(_localctx, 82, RULE_view_name);
+		enterRule(_localctx, 88, RULE_view_name);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(489);
+			match(IDENTIFIER);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Index_nameContext extends ParserRuleContext {
+		public TerminalNode IDENTIFIER() { return getToken(SQLParser.IDENTIFIER, 0); }
+		public Index_nameContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_index_name; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).enterIndex_name(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).exitIndex_name(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLVisitor ) return ((SQLVisitor<? extends T>)visitor).visitIndex_name(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Index_nameContext index_name() throws RecognitionException {
+		Index_nameContext _localctx = new Index_nameContext(_ctx, getState());
+		enterRule(_localctx, 90, RULE_index_name);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(491);
+			match(IDENTIFIER);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Index_typeContext extends ParserRuleContext {
+		public TerminalNode IDENTIFIER() { return getToken(SQLParser.IDENTIFIER, 0); }
+		public Index_typeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_index_type; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).enterIndex_type(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof SQLListener ) ((SQLListener)listener).exitIndex_type(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLVisitor ) return ((SQLVisitor<? extends T>)visitor).visitIndex_type(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Index_typeContext index_type() throws RecognitionException {
+		Index_typeContext _localctx = new Index_typeContext(_ctx, getState());
+		enterRule(_localctx, 92, RULE_index_type);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(442);
-				match(IDENTIFIER);
+			setState(493);
+			match(IDENTIFIER);
 			}
 		}
 		catch (RecognitionException re) {
@@ -3179,12 +3514,12 @@ public class SQLParser extends Parser {
 
 	public final PasswordContext password() throws RecognitionException {
 		PasswordContext _localctx = new PasswordContext(_ctx, getState());
-		enterRule(_localctx, 84, RULE_password);
+		enterRule(_localctx, 94, RULE_password);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-				setState(444);
-				match(STRING_LITERAL);
+			setState(495);
+			match(STRING_LITERAL);
 			}
 		}
 		catch (RecognitionException re) {
@@ -3200,191 +3535,209 @@ public class SQLParser extends Parser {
 
 	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
 		switch (ruleIndex) {
-			case 26:
-				return multiple_condition_sempred((Multiple_conditionContext)_localctx, predIndex);
-			case 30:
-				return expression_sempred((ExpressionContext)_localctx, predIndex);
+		case 29:
+			return multiple_condition_sempred((Multiple_conditionContext)_localctx, predIndex);
+		case 33:
+			return expression_sempred((ExpressionContext)_localctx, predIndex);
 		}
 		return true;
 	}
 	private boolean multiple_condition_sempred(Multiple_conditionContext _localctx, int predIndex) {
 		switch (predIndex) {
-			case 0:
-				return precpred(_ctx, 2);
-			case 1:
-				return precpred(_ctx, 1);
+		case 0:
+			return precpred(_ctx, 2);
+		case 1:
+			return precpred(_ctx, 1);
 		}
 		return true;
 	}
 	private boolean expression_sempred(ExpressionContext _localctx, int predIndex) {
 		switch (predIndex) {
-			case 2:
-				return precpred(_ctx, 3);
-			case 3:
-				return precpred(_ctx, 2);
+		case 2:
+			return precpred(_ctx, 3);
+		case 3:
+			return precpred(_ctx, 2);
 		}
 		return true;
 	}
 
 	public static final String _serializedATN =
-			"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3D\u01c1\4\2\t\2\4"+
-					"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
-					"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
-					"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
-					"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
-					"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\4+\t+\4"+
-					",\t,\3\2\3\2\3\3\7\3\\\n\3\f\3\16\3_\13\3\3\3\3\3\6\3c\n\3\r\3\16\3d\3"+
-					"\3\7\3h\n\3\f\3\16\3k\13\3\3\3\7\3n\n\3\f\3\16\3q\13\3\3\4\3\4\3\4\3\4"+
-					"\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\5\4\u0086"+
-					"\n\4\3\5\3\5\3\5\3\5\3\6\3\6\3\6\3\6\5\6\u0090\n\6\3\6\3\6\3\7\3\7\3\7"+
-					"\3\7\3\7\3\7\3\7\3\b\3\b\3\b\3\b\5\b\u009f\n\b\3\b\3\b\3\t\3\t\3\t\3\t"+
-					"\3\t\3\t\3\t\7\t\u00aa\n\t\f\t\16\t\u00ad\13\t\3\t\3\t\5\t\u00b1\n\t\3"+
-					"\t\3\t\3\n\3\n\3\n\3\n\3\13\3\13\3\13\3\13\7\13\u00bd\n\13\f\13\16\13"+
-					"\u00c0\13\13\3\13\3\13\3\13\3\13\3\13\3\f\3\f\3\f\3\f\7\f\u00cb\n\f\f"+
-					"\f\16\f\u00ce\13\f\3\f\3\f\3\f\3\f\3\f\3\r\3\r\3\r\3\16\3\16\3\16\3\16"+
-					"\3\16\5\16\u00dd\n\16\3\17\3\17\3\17\3\17\5\17\u00e3\n\17\3\17\3\17\3"+
-					"\20\3\20\3\20\3\21\3\21\3\22\3\22\3\22\3\22\3\23\3\23\3\23\3\23\3\23\3"+
-					"\23\3\23\7\23\u00f7\n\23\f\23\16\23\u00fa\13\23\3\23\3\23\5\23\u00fe\n"+
-					"\23\3\23\3\23\3\23\3\23\7\23\u0104\n\23\f\23\16\23\u0107\13\23\3\24\3"+
-					"\24\3\24\3\24\7\24\u010d\n\24\f\24\16\24\u0110\13\24\3\24\3\24\3\25\3"+
-					"\25\5\25\u0116\n\25\3\25\3\25\3\25\7\25\u011b\n\25\f\25\16\25\u011e\13"+
-					"\25\3\25\3\25\3\25\3\25\7\25\u0124\n\25\f\25\16\25\u0127\13\25\3\25\3"+
-					"\25\5\25\u012b\n\25\3\26\3\26\3\26\3\26\3\26\3\26\3\27\3\27\3\27\3\27"+
-					"\5\27\u0137\n\27\3\27\3\27\3\30\3\30\3\30\3\30\3\30\3\30\3\30\3\30\5\30"+
-					"\u0143\n\30\3\31\3\31\3\31\7\31\u0148\n\31\f\31\16\31\u014b\13\31\3\32"+
-					"\3\32\3\32\3\32\3\32\3\32\3\32\3\32\5\32\u0155\n\32\3\33\3\33\3\33\3\33"+
-					"\5\33\u015b\n\33\3\34\3\34\3\34\3\34\3\34\3\34\3\34\3\34\3\34\7\34\u0166"+
-					"\n\34\f\34\16\34\u0169\13\34\3\35\3\35\3\35\3\35\3\36\3\36\5\36\u0171"+
-					"\n\36\3\37\3\37\3 \3 \3 \3 \3 \3 \5 \u017b\n \3 \3 \3 \3 \3 \3 \7 \u0183"+
-					"\n \f \16 \u0186\13 \3!\3!\3!\3!\3!\3!\7!\u018e\n!\f!\16!\u0191\13!\3"+
-					"!\3!\3\"\3\"\3\"\3\"\3\"\3\"\5\"\u019b\n\"\3#\3#\3#\3#\6#\u01a1\n#\r#"+
-					"\16#\u01a2\3#\3#\3#\5#\u01a8\n#\3$\3$\3%\3%\3&\3&\3&\5&\u01b1\n&\3&\3"+
-					"&\3\'\3\'\3(\3(\3)\3)\3*\3*\3+\3+\3,\3,\3,\2\4\66>-\2\4\6\b\n\f\16\20"+
-					"\22\24\26\30\32\34\36 \"$&(*,.\60\62\64\668:<>@BDFHJLNPRTV\2\b\4\2\32"+
-					"\32\"\"\3\2\b\r\3\2\20\21\3\2\16\17\7\2!!##))\63\6388\5\2..??AA\2\u01cf"+
-					"\2X\3\2\2\2\4]\3\2\2\2\6\u0085\3\2\2\2\b\u0087\3\2\2\2\n\u008b\3\2\2\2"+
-					"\f\u0093\3\2\2\2\16\u009a\3\2\2\2\20\u00a2\3\2\2\2\22\u00b4\3\2\2\2\24"+
-					"\u00b8\3\2\2\2\26\u00c6\3\2\2\2\30\u00d4\3\2\2\2\32\u00d7\3\2\2\2\34\u00de"+
-					"\3\2\2\2\36\u00e6\3\2\2\2 \u00e9\3\2\2\2\"\u00eb\3\2\2\2$\u00ef\3\2\2"+
-					"\2&\u0108\3\2\2\2(\u0113\3\2\2\2*\u012c\3\2\2\2,\u0132\3\2\2\2.\u013a"+
-					"\3\2\2\2\60\u0144\3\2\2\2\62\u0154\3\2\2\2\64\u015a\3\2\2\2\66\u015c\3"+
-					"\2\2\28\u016a\3\2\2\2:\u0170\3\2\2\2<\u0172\3\2\2\2>\u017a\3\2\2\2@\u0187"+
-					"\3\2\2\2B\u019a\3\2\2\2D\u01a7\3\2\2\2F\u01a9\3\2\2\2H\u01ab\3\2\2\2J"+
-					"\u01b0\3\2\2\2L\u01b4\3\2\2\2N\u01b6\3\2\2\2P\u01b8\3\2\2\2R\u01ba\3\2"+
-					"\2\2T\u01bc\3\2\2\2V\u01be\3\2\2\2XY\5\4\3\2Y\3\3\2\2\2Z\\\7\3\2\2[Z\3"+
-					"\2\2\2\\_\3\2\2\2][\3\2\2\2]^\3\2\2\2^`\3\2\2\2_]\3\2\2\2`i\5\6\4\2ac"+
-					"\7\3\2\2ba\3\2\2\2cd\3\2\2\2db\3\2\2\2de\3\2\2\2ef\3\2\2\2fh\5\6\4\2g"+
-					"b\3\2\2\2hk\3\2\2\2ig\3\2\2\2ij\3\2\2\2jo\3\2\2\2ki\3\2\2\2ln\7\3\2\2"+
-					"ml\3\2\2\2nq\3\2\2\2om\3\2\2\2op\3\2\2\2p\5\3\2\2\2qo\3\2\2\2r\u0086\5"+
-					"\20\t\2s\u0086\5\b\5\2t\u0086\5\f\7\2u\u0086\5\n\6\2v\u0086\5\16\b\2w"+
-					"\u0086\5\32\16\2x\u0086\5\34\17\2y\u0086\5$\23\2z\u0086\5(\25\2{\u0086"+
-					"\5*\26\2|\u0086\5,\27\2}\u0086\5\24\13\2~\u0086\5\26\f\2\177\u0086\5\30"+
-					"\r\2\u0080\u0086\5\36\20\2\u0081\u0086\5\"\22\2\u0082\u0086\5\22\n\2\u0083"+
-					"\u0086\5 \21\2\u0084\u0086\5.\30\2\u0085r\3\2\2\2\u0085s\3\2\2\2\u0085"+
-					"t\3\2\2\2\u0085u\3\2\2\2\u0085v\3\2\2\2\u0085w\3\2\2\2\u0085x\3\2\2\2"+
-					"\u0085y\3\2\2\2\u0085z\3\2\2\2\u0085{\3\2\2\2\u0085|\3\2\2\2\u0085}\3"+
-					"\2\2\2\u0085~\3\2\2\2\u0085\177\3\2\2\2\u0085\u0080\3\2\2\2\u0085\u0081"+
-					"\3\2\2\2\u0085\u0082\3\2\2\2\u0085\u0083\3\2\2\2\u0085\u0084\3\2\2\2\u0086"+
-					"\7\3\2\2\2\u0087\u0088\7\36\2\2\u0088\u0089\7\37\2\2\u0089\u008a\5L\'"+
-					"\2\u008a\t\3\2\2\2\u008b\u008c\7#\2\2\u008c\u008f\7\37\2\2\u008d\u008e"+
-					"\7\'\2\2\u008e\u0090\7$\2\2\u008f\u008d\3\2\2\2\u008f\u0090\3\2\2\2\u0090"+
-					"\u0091\3\2\2\2\u0091\u0092\5L\'\2\u0092\13\3\2\2\2\u0093\u0094\7\36\2"+
-					"\2\u0094\u0095\7:\2\2\u0095\u0096\5P)\2\u0096\u0097\7(\2\2\u0097\u0098"+
-					"\7\34\2\2\u0098\u0099\5V,\2\u0099\r\3\2\2\2\u009a\u009b\7#\2\2\u009b\u009e"+
-					"\7:\2\2\u009c\u009d\7\'\2\2\u009d\u009f\7$\2\2\u009e\u009c\3\2\2\2\u009e"+
-					"\u009f\3\2\2\2\u009f\u00a0\3\2\2\2\u00a0\u00a1\5P)\2\u00a1\17\3\2\2\2"+
-					"\u00a2\u00a3\7\36\2\2\u00a3\u00a4\7\66\2\2\u00a4\u00a5\5N(\2\u00a5\u00a6"+
-					"\7\4\2\2\u00a6\u00ab\5\60\31\2\u00a7\u00a8\7\5\2\2\u00a8\u00aa\5\60\31"+
-					"\2\u00a9\u00a7\3\2\2\2\u00aa\u00ad\3\2\2\2\u00ab\u00a9\3\2\2\2\u00ab\u00ac"+
-					"\3\2\2\2\u00ac\u00b0\3\2\2\2\u00ad\u00ab\3\2\2\2\u00ae\u00af\7\5\2\2\u00af"+
-					"\u00b1\5@!\2\u00b0\u00ae\3\2\2\2\u00b0\u00b1\3\2\2\2\u00b1\u00b2\3\2\2"+
-					"\2\u00b2\u00b3\7\6\2\2\u00b3\21\3\2\2\2\u00b4\u00b5\7\65\2\2\u00b5\u00b6"+
-					"\7\66\2\2\u00b6\u00b7\5N(\2\u00b7\23\3\2\2\2\u00b8\u00b9\7&\2\2\u00b9"+
-					"\u00be\5F$\2\u00ba\u00bb\7\5\2\2\u00bb\u00bd\5F$\2\u00bc\u00ba\3\2\2\2"+
-					"\u00bd\u00c0\3\2\2\2\u00be\u00bc\3\2\2\2\u00be\u00bf\3\2\2\2\u00bf\u00c1"+
-					"\3\2\2\2\u00c0\u00be\3\2\2\2\u00c1\u00c2\7/\2\2\u00c2\u00c3\5N(\2\u00c3"+
-					"\u00c4\7\67\2\2\u00c4\u00c5\5P)\2\u00c5\25\3\2\2\2\u00c6\u00c7\7\62\2"+
-					"\2\u00c7\u00cc\5F$\2\u00c8\u00c9\7\5\2\2\u00c9\u00cb\5F$\2\u00ca\u00c8"+
-					"\3\2\2\2\u00cb\u00ce\3\2\2\2\u00cc\u00ca\3\2\2\2\u00cc\u00cd\3\2\2\2\u00cd"+
-					"\u00cf\3\2\2\2\u00ce\u00cc\3\2\2\2\u00cf\u00d0\7/\2\2\u00d0\u00d1\5N("+
-					"\2\u00d1\u00d2\7%\2\2\u00d2\u00d3\5P)\2\u00d3\27\3\2\2\2\u00d4\u00d5\7"+
-					"9\2\2\u00d5\u00d6\5L\'\2\u00d6\31\3\2\2\2\u00d7\u00d8\7!\2\2\u00d8\u00d9"+
-					"\7%\2\2\u00d9\u00dc\5N(\2\u00da\u00db\7=\2\2\u00db\u00dd\5\66\34\2\u00dc"+
-					"\u00da\3\2\2\2\u00dc\u00dd\3\2\2\2\u00dd\33\3\2\2\2\u00de\u00df\7#\2\2"+
-					"\u00df\u00e2\7\66\2\2\u00e0\u00e1\7\'\2\2\u00e1\u00e3\7$\2\2\u00e2\u00e0"+
-					"\3\2\2\2\u00e2\u00e3\3\2\2\2\u00e3\u00e4\3\2\2\2\u00e4\u00e5\5N(\2\u00e5"+
-					"\35\3\2\2\2\u00e6\u00e7\7\65\2\2\u00e7\u00e8\7 \2\2\u00e8\37\3\2\2\2\u00e9"+
-					"\u00ea\7\61\2\2\u00ea!\3\2\2\2\u00eb\u00ec\7\65\2\2\u00ec\u00ed\7\37\2"+
-					"\2\u00ed\u00ee\5L\'\2\u00ee#\3\2\2\2\u00ef\u00f0\7)\2\2\u00f0\u00f1\7"+
-					"*\2\2\u00f1\u00fd\5N(\2\u00f2\u00f3\7\4\2\2\u00f3\u00f8\5R*\2\u00f4\u00f5"+
-					"\7\5\2\2\u00f5\u00f7\5R*\2\u00f6\u00f4\3\2\2\2\u00f7\u00fa\3\2\2\2\u00f8"+
-					"\u00f6\3\2\2\2\u00f8\u00f9\3\2\2\2\u00f9\u00fb\3\2\2\2\u00fa\u00f8\3\2"+
-					"\2\2\u00fb\u00fc\7\6\2\2\u00fc\u00fe\3\2\2\2\u00fd\u00f2\3\2\2\2\u00fd"+
-					"\u00fe\3\2\2\2\u00fe\u00ff\3\2\2\2\u00ff\u0100\7;\2\2\u0100\u0105\5&\24"+
-					"\2\u0101\u0102\7\5\2\2\u0102\u0104\5&\24\2\u0103\u0101\3\2\2\2\u0104\u0107"+
-					"\3\2\2\2\u0105\u0103\3\2\2\2\u0105\u0106\3\2\2\2\u0106%\3\2\2\2\u0107"+
-					"\u0105\3\2\2\2\u0108\u0109\7\4\2\2\u0109\u010e\5H%\2\u010a\u010b\7\5\2"+
-					"\2\u010b\u010d\5H%\2\u010c\u010a\3\2\2\2\u010d\u0110\3\2\2\2\u010e\u010c"+
-					"\3\2\2\2\u010e\u010f\3\2\2\2\u010f\u0111\3\2\2\2\u0110\u010e\3\2\2\2\u0111"+
-					"\u0112\7\6\2\2\u0112\'\3\2\2\2\u0113\u0115\7\63\2\2\u0114\u0116\t\2\2"+
-					"\2\u0115\u0114\3\2\2\2\u0115\u0116\3\2\2\2\u0116\u0117\3\2\2\2\u0117\u011c"+
-					"\5B\"\2\u0118\u0119\7\5\2\2\u0119\u011b\5B\"\2\u011a\u0118\3\2\2\2\u011b"+
-					"\u011e\3\2\2\2\u011c\u011a\3\2\2\2\u011c\u011d\3\2\2\2\u011d\u011f\3\2"+
-					"\2\2\u011e\u011c\3\2\2\2\u011f\u0120\7%\2\2\u0120\u0125\5D#\2\u0121\u0122"+
-					"\7\5\2\2\u0122\u0124\5D#\2\u0123\u0121\3\2\2\2\u0124\u0127\3\2\2\2\u0125"+
-					"\u0123\3\2\2\2\u0125\u0126\3\2\2\2\u0126\u012a\3\2\2\2\u0127\u0125\3\2"+
-					"\2\2\u0128\u0129\7=\2\2\u0129\u012b\5\66\34\2\u012a\u0128\3\2\2\2\u012a"+
-					"\u012b\3\2\2\2\u012b)\3\2\2\2\u012c\u012d\7\36\2\2\u012d\u012e\7<\2\2"+
-					"\u012e\u012f\5T+\2\u012f\u0130\7\33\2\2\u0130\u0131\5(\25\2\u0131+\3\2"+
-					"\2\2\u0132\u0133\7#\2\2\u0133\u0136\7<\2\2\u0134\u0135\7\'\2\2\u0135\u0137"+
-					"\7$\2\2\u0136\u0134\3\2\2\2\u0136\u0137\3\2\2\2\u0137\u0138\3\2\2\2\u0138"+
-					"\u0139\5T+\2\u0139-\3\2\2\2\u013a\u013b\78\2\2\u013b\u013c\5N(\2\u013c"+
-					"\u013d\7\64\2\2\u013d\u013e\5R*\2\u013e\u013f\7\b\2\2\u013f\u0142\5> "+
-					"\2\u0140\u0141\7=\2\2\u0141\u0143\5\66\34\2\u0142\u0140\3\2\2\2\u0142"+
-					"\u0143\3\2\2\2\u0143/\3\2\2\2\u0144\u0145\5R*\2\u0145\u0149\5\62\32\2"+
-					"\u0146\u0148\5\64\33\2\u0147\u0146\3\2\2\2\u0148\u014b\3\2\2\2\u0149\u0147"+
-					"\3\2\2\2\u0149\u014a\3\2\2\2\u014a\61\3\2\2\2\u014b\u0149\3\2\2\2\u014c"+
-					"\u0155\7\24\2\2\u014d\u0155\7\25\2\2\u014e\u0155\7\26\2\2\u014f\u0155"+
-					"\7\27\2\2\u0150\u0151\7\30\2\2\u0151\u0152\7\4\2\2\u0152\u0153\7?\2\2"+
-					"\u0153\u0155\7\6\2\2\u0154\u014c\3\2\2\2\u0154\u014d\3\2\2\2\u0154\u014e"+
-					"\3\2\2\2\u0154\u014f\3\2\2\2\u0154\u0150\3\2\2\2\u0155\63\3\2\2\2\u0156"+
-					"\u0157\7\60\2\2\u0157\u015b\7,\2\2\u0158\u0159\7-\2\2\u0159\u015b\7.\2"+
-					"\2\u015a\u0156\3\2\2\2\u015a\u0158\3\2\2\2\u015b\65\3\2\2\2\u015c\u015d"+
-					"\b\34\1\2\u015d\u015e\58\35\2\u015e\u0167\3\2\2\2\u015f\u0160\f\4\2\2"+
-					"\u0160\u0161\7\22\2\2\u0161\u0166\5\66\34\5\u0162\u0163\f\3\2\2\u0163"+
-					"\u0164\7\23\2\2\u0164\u0166\5\66\34\4\u0165\u015f\3\2\2\2\u0165\u0162"+
-					"\3\2\2\2\u0166\u0169\3\2\2\2\u0167\u0165\3\2\2\2\u0167\u0168\3\2\2\2\u0168"+
-					"\67\3\2\2\2\u0169\u0167\3\2\2\2\u016a\u016b\5> \2\u016b\u016c\5<\37\2"+
-					"\u016c\u016d\5> \2\u016d9\3\2\2\2\u016e\u0171\5J&\2\u016f\u0171\5H%\2"+
-					"\u0170\u016e\3\2\2\2\u0170\u016f\3\2\2\2\u0171;\3\2\2\2\u0172\u0173\t"+
-					"\3\2\2\u0173=\3\2\2\2\u0174\u0175\b \1\2\u0175\u017b\5:\36\2\u0176\u0177"+
-					"\7\4\2\2\u0177\u0178\5> \2\u0178\u0179\7\6\2\2\u0179\u017b\3\2\2\2\u017a"+
-					"\u0174\3\2\2\2\u017a\u0176\3\2\2\2\u017b\u0184\3\2\2\2\u017c\u017d\f\5"+
-					"\2\2\u017d\u017e\t\4\2\2\u017e\u0183\5> \6\u017f\u0180\f\4\2\2\u0180\u0181"+
-					"\t\5\2\2\u0181\u0183\5> \5\u0182\u017c\3\2\2\2\u0182\u017f\3\2\2\2\u0183"+
-					"\u0186\3\2\2\2\u0184\u0182\3\2\2\2\u0184\u0185\3\2\2\2\u0185?\3\2\2\2"+
-					"\u0186\u0184\3\2\2\2\u0187\u0188\7\60\2\2\u0188\u0189\7,\2\2\u0189\u018a"+
-					"\7\4\2\2\u018a\u018f\5R*\2\u018b\u018c\7\5\2\2\u018c\u018e\5R*\2\u018d"+
-					"\u018b\3\2\2\2\u018e\u0191\3\2\2\2\u018f\u018d\3\2\2\2\u018f\u0190\3\2"+
-					"\2\2\u0190\u0192\3\2\2\2\u0191\u018f\3\2\2\2\u0192\u0193\7\6\2\2\u0193"+
-					"A\3\2\2\2\u0194\u019b\7\20\2\2\u0195\u0196\5N(\2\u0196\u0197\7\7\2\2\u0197"+
-					"\u0198\7\20\2\2\u0198\u019b\3\2\2\2\u0199\u019b\5J&\2\u019a\u0194\3\2"+
-					"\2\2\u019a\u0195\3\2\2\2\u019a\u0199\3\2\2\2\u019bC\3\2\2\2\u019c\u01a8"+
-					"\5N(\2\u019d\u01a0\5N(\2\u019e\u019f\7+\2\2\u019f\u01a1\5N(\2\u01a0\u019e"+
-					"\3\2\2\2\u01a1\u01a2\3\2\2\2\u01a2\u01a0\3\2\2\2\u01a2\u01a3\3\2\2\2\u01a3"+
-					"\u01a4\3\2\2\2\u01a4\u01a5\7/\2\2\u01a5\u01a6\5\66\34\2\u01a6\u01a8\3"+
-					"\2\2\2\u01a7\u019c\3\2\2\2\u01a7\u019d\3\2\2\2\u01a8E\3\2\2\2\u01a9\u01aa"+
-					"\t\6\2\2\u01aaG\3\2\2\2\u01ab\u01ac\t\7\2\2\u01acI\3\2\2\2\u01ad\u01ae"+
-					"\5N(\2\u01ae\u01af\7\7\2\2\u01af\u01b1\3\2\2\2\u01b0\u01ad\3\2\2\2\u01b0"+
-					"\u01b1\3\2\2\2\u01b1\u01b2\3\2\2\2\u01b2\u01b3\5R*\2\u01b3K\3\2\2\2\u01b4"+
-					"\u01b5\7>\2\2\u01b5M\3\2\2\2\u01b6\u01b7\7>\2\2\u01b7O\3\2\2\2\u01b8\u01b9"+
-					"\7>\2\2\u01b9Q\3\2\2\2\u01ba\u01bb\7>\2\2\u01bbS\3\2\2\2\u01bc\u01bd\7"+
-					">\2\2\u01bdU\3\2\2\2\u01be\u01bf\7A\2\2\u01bfW\3\2\2\2\']dio\u0085\u008f"+
-					"\u009e\u00ab\u00b0\u00be\u00cc\u00dc\u00e2\u00f8\u00fd\u0105\u010e\u0115"+
-					"\u011c\u0125\u012a\u0136\u0142\u0149\u0154\u015a\u0165\u0167\u0170\u017a"+
-					"\u0182\u0184\u018f\u019a\u01a2\u01a7\u01b0";
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3G\u01f4\4\2\t\2\4"+
+		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
+		"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
+		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
+		"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
+		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\4+\t+\4"+
+		",\t,\4-\t-\4.\t.\4/\t/\4\60\t\60\4\61\t\61\3\2\3\2\3\3\7\3f\n\3\f\3\16"+
+		"\3i\13\3\3\3\3\3\6\3m\n\3\r\3\16\3n\3\3\7\3r\n\3\f\3\16\3u\13\3\3\3\7"+
+		"\3x\n\3\f\3\16\3{\13\3\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4"+
+		"\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\5\4\u0092\n\4\3\5\3\5\3\5\3\5\3\6"+
+		"\3\6\3\6\3\6\5\6\u009c\n\6\3\6\3\6\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\b\3\b"+
+		"\3\b\3\b\5\b\u00ab\n\b\3\b\3\b\3\t\3\t\3\t\3\t\3\t\3\t\3\t\7\t\u00b6\n"+
+		"\t\f\t\16\t\u00b9\13\t\3\t\3\t\5\t\u00bd\n\t\3\t\3\t\3\t\3\t\3\t\3\t\7"+
+		"\t\u00c5\n\t\f\t\16\t\u00c8\13\t\3\t\3\t\5\t\u00cc\n\t\3\n\3\n\3\n\3\n"+
+		"\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\3\13\5\13\u00dc\n\13\3\f"+
+		"\3\f\3\f\3\f\3\f\3\f\3\r\3\r\3\r\3\r\3\16\3\16\3\16\3\16\7\16\u00ec\n"+
+		"\16\f\16\16\16\u00ef\13\16\3\16\3\16\3\16\3\16\3\16\3\17\3\17\3\17\3\17"+
+		"\7\17\u00fa\n\17\f\17\16\17\u00fd\13\17\3\17\3\17\3\17\3\17\3\17\3\20"+
+		"\3\20\3\20\3\21\3\21\3\21\3\21\3\21\5\21\u010c\n\21\3\22\3\22\3\22\3\22"+
+		"\5\22\u0112\n\22\3\22\3\22\3\23\3\23\3\23\3\24\3\24\3\25\3\25\3\25\3\25"+
+		"\3\26\3\26\3\26\3\26\3\26\3\26\3\26\7\26\u0126\n\26\f\26\16\26\u0129\13"+
+		"\26\3\26\3\26\5\26\u012d\n\26\3\26\3\26\3\26\3\26\7\26\u0133\n\26\f\26"+
+		"\16\26\u0136\13\26\3\27\3\27\3\27\3\27\7\27\u013c\n\27\f\27\16\27\u013f"+
+		"\13\27\3\27\3\27\3\30\3\30\5\30\u0145\n\30\3\30\3\30\3\30\7\30\u014a\n"+
+		"\30\f\30\16\30\u014d\13\30\3\30\3\30\3\30\3\30\7\30\u0153\n\30\f\30\16"+
+		"\30\u0156\13\30\3\30\3\30\5\30\u015a\n\30\3\31\3\31\3\31\3\31\3\31\3\31"+
+		"\3\32\3\32\3\32\3\32\5\32\u0166\n\32\3\32\3\32\3\33\3\33\3\33\3\33\3\33"+
+		"\3\33\3\33\3\33\5\33\u0172\n\33\3\34\3\34\3\34\7\34\u0177\n\34\f\34\16"+
+		"\34\u017a\13\34\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\5\35\u0184\n\35"+
+		"\3\36\3\36\3\36\3\36\5\36\u018a\n\36\3\37\3\37\3\37\3\37\3\37\3\37\3\37"+
+		"\3\37\3\37\7\37\u0195\n\37\f\37\16\37\u0198\13\37\3 \3 \3 \3 \3!\3!\5"+
+		"!\u01a0\n!\3\"\3\"\3#\3#\3#\3#\3#\3#\5#\u01aa\n#\3#\3#\3#\3#\3#\3#\7#"+
+		"\u01b2\n#\f#\16#\u01b5\13#\3$\3$\3$\3$\3$\3$\7$\u01bd\n$\f$\16$\u01c0"+
+		"\13$\3$\3$\3%\3%\3%\3%\3%\3%\5%\u01ca\n%\3&\3&\3&\3&\6&\u01d0\n&\r&\16"+
+		"&\u01d1\3&\3&\3&\5&\u01d7\n&\3\'\3\'\3(\3(\3)\3)\3)\5)\u01e0\n)\3)\3)"+
+		"\3*\3*\3+\3+\3,\3,\3-\3-\3.\3.\3/\3/\3\60\3\60\3\61\3\61\3\61\2\4<D\62"+
+		"\2\4\6\b\n\f\16\20\22\24\26\30\32\34\36 \"$&(*,.\60\62\64\668:<>@BDFH"+
+		"JLNPRTVXZ\\^`\2\b\4\2\32\32\"\"\3\2\b\r\3\2\20\21\3\2\16\17\7\2!!##**"+
+		"\64\6499\5\2//BBDD\2\u0202\2b\3\2\2\2\4g\3\2\2\2\6\u0091\3\2\2\2\b\u0093"+
+		"\3\2\2\2\n\u0097\3\2\2\2\f\u009f\3\2\2\2\16\u00a6\3\2\2\2\20\u00ae\3\2"+
+		"\2\2\22\u00cd\3\2\2\2\24\u00d1\3\2\2\2\26\u00dd\3\2\2\2\30\u00e3\3\2\2"+
+		"\2\32\u00e7\3\2\2\2\34\u00f5\3\2\2\2\36\u0103\3\2\2\2 \u0106\3\2\2\2\""+
+		"\u010d\3\2\2\2$\u0115\3\2\2\2&\u0118\3\2\2\2(\u011a\3\2\2\2*\u011e\3\2"+
+		"\2\2,\u0137\3\2\2\2.\u0142\3\2\2\2\60\u015b\3\2\2\2\62\u0161\3\2\2\2\64"+
+		"\u0169\3\2\2\2\66\u0173\3\2\2\28\u0183\3\2\2\2:\u0189\3\2\2\2<\u018b\3"+
+		"\2\2\2>\u0199\3\2\2\2@\u019f\3\2\2\2B\u01a1\3\2\2\2D\u01a9\3\2\2\2F\u01b6"+
+		"\3\2\2\2H\u01c9\3\2\2\2J\u01d6\3\2\2\2L\u01d8\3\2\2\2N\u01da\3\2\2\2P"+
+		"\u01df\3\2\2\2R\u01e3\3\2\2\2T\u01e5\3\2\2\2V\u01e7\3\2\2\2X\u01e9\3\2"+
+		"\2\2Z\u01eb\3\2\2\2\\\u01ed\3\2\2\2^\u01ef\3\2\2\2`\u01f1\3\2\2\2bc\5"+
+		"\4\3\2c\3\3\2\2\2df\7\3\2\2ed\3\2\2\2fi\3\2\2\2ge\3\2\2\2gh\3\2\2\2hj"+
+		"\3\2\2\2ig\3\2\2\2js\5\6\4\2km\7\3\2\2lk\3\2\2\2mn\3\2\2\2nl\3\2\2\2n"+
+		"o\3\2\2\2op\3\2\2\2pr\5\6\4\2ql\3\2\2\2ru\3\2\2\2sq\3\2\2\2st\3\2\2\2"+
+		"ty\3\2\2\2us\3\2\2\2vx\7\3\2\2wv\3\2\2\2x{\3\2\2\2yw\3\2\2\2yz\3\2\2\2"+
+		"z\5\3\2\2\2{y\3\2\2\2|\u0092\5\20\t\2}\u0092\5\b\5\2~\u0092\5\f\7\2\177"+
+		"\u0092\5\n\6\2\u0080\u0092\5\16\b\2\u0081\u0092\5 \21\2\u0082\u0092\5"+
+		"\"\22\2\u0083\u0092\5\24\13\2\u0084\u0092\5\26\f\2\u0085\u0092\5*\26\2"+
+		"\u0086\u0092\5.\30\2\u0087\u0092\5\60\31\2\u0088\u0092\5\62\32\2\u0089"+
+		"\u0092\5\32\16\2\u008a\u0092\5\34\17\2\u008b\u0092\5\36\20\2\u008c\u0092"+
+		"\5$\23\2\u008d\u0092\5(\25\2\u008e\u0092\5\30\r\2\u008f\u0092\5&\24\2"+
+		"\u0090\u0092\5\64\33\2\u0091|\3\2\2\2\u0091}\3\2\2\2\u0091~\3\2\2\2\u0091"+
+		"\177\3\2\2\2\u0091\u0080\3\2\2\2\u0091\u0081\3\2\2\2\u0091\u0082\3\2\2"+
+		"\2\u0091\u0083\3\2\2\2\u0091\u0084\3\2\2\2\u0091\u0085\3\2\2\2\u0091\u0086"+
+		"\3\2\2\2\u0091\u0087\3\2\2\2\u0091\u0088\3\2\2\2\u0091\u0089\3\2\2\2\u0091"+
+		"\u008a\3\2\2\2\u0091\u008b\3\2\2\2\u0091\u008c\3\2\2\2\u0091\u008d\3\2"+
+		"\2\2\u0091\u008e\3\2\2\2\u0091\u008f\3\2\2\2\u0091\u0090\3\2\2\2\u0092"+
+		"\7\3\2\2\2\u0093\u0094\7\36\2\2\u0094\u0095\7\37\2\2\u0095\u0096\5R*\2"+
+		"\u0096\t\3\2\2\2\u0097\u0098\7#\2\2\u0098\u009b\7\37\2\2\u0099\u009a\7"+
+		"\'\2\2\u009a\u009c\7$\2\2\u009b\u0099\3\2\2\2\u009b\u009c\3\2\2\2\u009c"+
+		"\u009d\3\2\2\2\u009d\u009e\5R*\2\u009e\13\3\2\2\2\u009f\u00a0\7\36\2\2"+
+		"\u00a0\u00a1\7;\2\2\u00a1\u00a2\5V,\2\u00a2\u00a3\7(\2\2\u00a3\u00a4\7"+
+		"\34\2\2\u00a4\u00a5\5`\61\2\u00a5\r\3\2\2\2\u00a6\u00a7\7#\2\2\u00a7\u00aa"+
+		"\7;\2\2\u00a8\u00a9\7\'\2\2\u00a9\u00ab\7$\2\2\u00aa\u00a8\3\2\2\2\u00aa"+
+		"\u00ab\3\2\2\2\u00ab\u00ac\3\2\2\2\u00ac\u00ad\5V,\2\u00ad\17\3\2\2\2"+
+		"\u00ae\u00af\7\36\2\2\u00af\u00b0\7\67\2\2\u00b0\u00b1\5T+\2\u00b1\u00b2"+
+		"\7\4\2\2\u00b2\u00b7\5\66\34\2\u00b3\u00b4\7\5\2\2\u00b4\u00b6\5\66\34"+
+		"\2\u00b5\u00b3\3\2\2\2\u00b6\u00b9\3\2\2\2\u00b7\u00b5\3\2\2\2\u00b7\u00b8"+
+		"\3\2\2\2\u00b8\u00bc\3\2\2\2\u00b9\u00b7\3\2\2\2\u00ba\u00bb\7\5\2\2\u00bb"+
+		"\u00bd\5F$\2\u00bc\u00ba\3\2\2\2\u00bc\u00bd\3\2\2\2\u00bd\u00be\3\2\2"+
+		"\2\u00be\u00cb\7\6\2\2\u00bf\u00c0\7@\2\2\u00c0\u00c1\7\4\2\2\u00c1\u00c6"+
+		"\5\22\n\2\u00c2\u00c3\7\5\2\2\u00c3\u00c5\5\22\n\2\u00c4\u00c2\3\2\2\2"+
+		"\u00c5\u00c8\3\2\2\2\u00c6\u00c4\3\2\2\2\u00c6\u00c7\3\2\2\2\u00c7\u00c9"+
+		"\3\2\2\2\u00c8\u00c6\3\2\2\2\u00c9\u00ca\7\6\2\2\u00ca\u00cc\3\2\2\2\u00cb"+
+		"\u00bf\3\2\2\2\u00cb\u00cc\3\2\2\2\u00cc\21\3\2\2\2\u00cd\u00ce\7A\2\2"+
+		"\u00ce\u00cf\7\b\2\2\u00cf\u00d0\7B\2\2\u00d0\23\3\2\2\2\u00d1\u00d2\7"+
+		"\36\2\2\u00d2\u00d3\7)\2\2\u00d3\u00d4\5\\/\2\u00d4\u00d5\7\60\2\2\u00d5"+
+		"\u00d6\5T+\2\u00d6\u00d7\7\4\2\2\u00d7\u00d8\5X-\2\u00d8\u00db\7\6\2\2"+
+		"\u00d9\u00da\7<\2\2\u00da\u00dc\5^\60\2\u00db\u00d9\3\2\2\2\u00db\u00dc"+
+		"\3\2\2\2\u00dc\25\3\2\2\2\u00dd\u00de\7#\2\2\u00de\u00df\7)\2\2\u00df"+
+		"\u00e0\5\\/\2\u00e0\u00e1\7\60\2\2\u00e1\u00e2\5T+\2\u00e2\27\3\2\2\2"+
+		"\u00e3\u00e4\7\66\2\2\u00e4\u00e5\7\67\2\2\u00e5\u00e6\5T+\2\u00e6\31"+
+		"\3\2\2\2\u00e7\u00e8\7&\2\2\u00e8\u00ed\5L\'\2\u00e9\u00ea\7\5\2\2\u00ea"+
+		"\u00ec\5L\'\2\u00eb\u00e9\3\2\2\2\u00ec\u00ef\3\2\2\2\u00ed\u00eb\3\2"+
+		"\2\2\u00ed\u00ee\3\2\2\2\u00ee\u00f0\3\2\2\2\u00ef\u00ed\3\2\2\2\u00f0"+
+		"\u00f1\7\60\2\2\u00f1\u00f2\5T+\2\u00f2\u00f3\78\2\2\u00f3\u00f4\5V,\2"+
+		"\u00f4\33\3\2\2\2\u00f5\u00f6\7\63\2\2\u00f6\u00fb\5L\'\2\u00f7\u00f8"+
+		"\7\5\2\2\u00f8\u00fa\5L\'\2\u00f9\u00f7\3\2\2\2\u00fa\u00fd\3\2\2\2\u00fb"+
+		"\u00f9\3\2\2\2\u00fb\u00fc\3\2\2\2\u00fc\u00fe\3\2\2\2\u00fd\u00fb\3\2"+
+		"\2\2\u00fe\u00ff\7\60\2\2\u00ff\u0100\5T+\2\u0100\u0101\7%\2\2\u0101\u0102"+
+		"\5V,\2\u0102\35\3\2\2\2\u0103\u0104\7:\2\2\u0104\u0105\5R*\2\u0105\37"+
+		"\3\2\2\2\u0106\u0107\7!\2\2\u0107\u0108\7%\2\2\u0108\u010b\5T+\2\u0109"+
+		"\u010a\7?\2\2\u010a\u010c\5<\37\2\u010b\u0109\3\2\2\2\u010b\u010c\3\2"+
+		"\2\2\u010c!\3\2\2\2\u010d\u010e\7#\2\2\u010e\u0111\7\67\2\2\u010f\u0110"+
+		"\7\'\2\2\u0110\u0112\7$\2\2\u0111\u010f\3\2\2\2\u0111\u0112\3\2\2\2\u0112"+
+		"\u0113\3\2\2\2\u0113\u0114\5T+\2\u0114#\3\2\2\2\u0115\u0116\7\66\2\2\u0116"+
+		"\u0117\7 \2\2\u0117%\3\2\2\2\u0118\u0119\7\62\2\2\u0119\'\3\2\2\2\u011a"+
+		"\u011b\7\66\2\2\u011b\u011c\7\37\2\2\u011c\u011d\5R*\2\u011d)\3\2\2\2"+
+		"\u011e\u011f\7*\2\2\u011f\u0120\7+\2\2\u0120\u012c\5T+\2\u0121\u0122\7"+
+		"\4\2\2\u0122\u0127\5X-\2\u0123\u0124\7\5\2\2\u0124\u0126\5X-\2\u0125\u0123"+
+		"\3\2\2\2\u0126\u0129\3\2\2\2\u0127\u0125\3\2\2\2\u0127\u0128\3\2\2\2\u0128"+
+		"\u012a\3\2\2\2\u0129\u0127\3\2\2\2\u012a\u012b\7\6\2\2\u012b\u012d\3\2"+
+		"\2\2\u012c\u0121\3\2\2\2\u012c\u012d\3\2\2\2\u012d\u012e\3\2\2\2\u012e"+
+		"\u012f\7=\2\2\u012f\u0134\5,\27\2\u0130\u0131\7\5\2\2\u0131\u0133\5,\27"+
+		"\2\u0132\u0130\3\2\2\2\u0133\u0136\3\2\2\2\u0134\u0132\3\2\2\2\u0134\u0135"+
+		"\3\2\2\2\u0135+\3\2\2\2\u0136\u0134\3\2\2\2\u0137\u0138\7\4\2\2\u0138"+
+		"\u013d\5N(\2\u0139\u013a\7\5\2\2\u013a\u013c\5N(\2\u013b\u0139\3\2\2\2"+
+		"\u013c\u013f\3\2\2\2\u013d\u013b\3\2\2\2\u013d\u013e\3\2\2\2\u013e\u0140"+
+		"\3\2\2\2\u013f\u013d\3\2\2\2\u0140\u0141\7\6\2\2\u0141-\3\2\2\2\u0142"+
+		"\u0144\7\64\2\2\u0143\u0145\t\2\2\2\u0144\u0143\3\2\2\2\u0144\u0145\3"+
+		"\2\2\2\u0145\u0146\3\2\2\2\u0146\u014b\5H%\2\u0147\u0148\7\5\2\2\u0148"+
+		"\u014a\5H%\2\u0149\u0147\3\2\2\2\u014a\u014d\3\2\2\2\u014b\u0149\3\2\2"+
+		"\2\u014b\u014c\3\2\2\2\u014c\u014e\3\2\2\2\u014d\u014b\3\2\2\2\u014e\u014f"+
+		"\7%\2\2\u014f\u0154\5J&\2\u0150\u0151\7\5\2\2\u0151\u0153\5J&\2\u0152"+
+		"\u0150\3\2\2\2\u0153\u0156\3\2\2\2\u0154\u0152\3\2\2\2\u0154\u0155\3\2"+
+		"\2\2\u0155\u0159\3\2\2\2\u0156\u0154\3\2\2\2\u0157\u0158\7?\2\2\u0158"+
+		"\u015a\5<\37\2\u0159\u0157\3\2\2\2\u0159\u015a\3\2\2\2\u015a/\3\2\2\2"+
+		"\u015b\u015c\7\36\2\2\u015c\u015d\7>\2\2\u015d\u015e\5Z.\2\u015e\u015f"+
+		"\7\33\2\2\u015f\u0160\5.\30\2\u0160\61\3\2\2\2\u0161\u0162\7#\2\2\u0162"+
+		"\u0165\7>\2\2\u0163\u0164\7\'\2\2\u0164\u0166\7$\2\2\u0165\u0163\3\2\2"+
+		"\2\u0165\u0166\3\2\2\2\u0166\u0167\3\2\2\2\u0167\u0168\5Z.\2\u0168\63"+
+		"\3\2\2\2\u0169\u016a\79\2\2\u016a\u016b\5T+\2\u016b\u016c\7\65\2\2\u016c"+
+		"\u016d\5X-\2\u016d\u016e\7\b\2\2\u016e\u0171\5D#\2\u016f\u0170\7?\2\2"+
+		"\u0170\u0172\5<\37\2\u0171\u016f\3\2\2\2\u0171\u0172\3\2\2\2\u0172\65"+
+		"\3\2\2\2\u0173\u0174\5X-\2\u0174\u0178\58\35\2\u0175\u0177\5:\36\2\u0176"+
+		"\u0175\3\2\2\2\u0177\u017a\3\2\2\2\u0178\u0176\3\2\2\2\u0178\u0179\3\2"+
+		"\2\2\u0179\67\3\2\2\2\u017a\u0178\3\2\2\2\u017b\u0184\7\24\2\2\u017c\u0184"+
+		"\7\25\2\2\u017d\u0184\7\26\2\2\u017e\u0184\7\27\2\2\u017f\u0180\7\30\2"+
+		"\2\u0180\u0181\7\4\2\2\u0181\u0182\7B\2\2\u0182\u0184\7\6\2\2\u0183\u017b"+
+		"\3\2\2\2\u0183\u017c\3\2\2\2\u0183\u017d\3\2\2\2\u0183\u017e\3\2\2\2\u0183"+
+		"\u017f\3\2\2\2\u01849\3\2\2\2\u0185\u0186\7\61\2\2\u0186\u018a\7-\2\2"+
+		"\u0187\u0188\7.\2\2\u0188\u018a\7/\2\2\u0189\u0185\3\2\2\2\u0189\u0187"+
+		"\3\2\2\2\u018a;\3\2\2\2\u018b\u018c\b\37\1\2\u018c\u018d\5> \2\u018d\u0196"+
+		"\3\2\2\2\u018e\u018f\f\4\2\2\u018f\u0190\7\22\2\2\u0190\u0195\5<\37\5"+
+		"\u0191\u0192\f\3\2\2\u0192\u0193\7\23\2\2\u0193\u0195\5<\37\4\u0194\u018e"+
+		"\3\2\2\2\u0194\u0191\3\2\2\2\u0195\u0198\3\2\2\2\u0196\u0194\3\2\2\2\u0196"+
+		"\u0197\3\2\2\2\u0197=\3\2\2\2\u0198\u0196\3\2\2\2\u0199\u019a\5D#\2\u019a"+
+		"\u019b\5B\"\2\u019b\u019c\5D#\2\u019c?\3\2\2\2\u019d\u01a0\5P)\2\u019e"+
+		"\u01a0\5N(\2\u019f\u019d\3\2\2\2\u019f\u019e\3\2\2\2\u01a0A\3\2\2\2\u01a1"+
+		"\u01a2\t\3\2\2\u01a2C\3\2\2\2\u01a3\u01a4\b#\1\2\u01a4\u01aa\5@!\2\u01a5"+
+		"\u01a6\7\4\2\2\u01a6\u01a7\5D#\2\u01a7\u01a8\7\6\2\2\u01a8\u01aa\3\2\2"+
+		"\2\u01a9\u01a3\3\2\2\2\u01a9\u01a5\3\2\2\2\u01aa\u01b3\3\2\2\2\u01ab\u01ac"+
+		"\f\5\2\2\u01ac\u01ad\t\4\2\2\u01ad\u01b2\5D#\6\u01ae\u01af\f\4\2\2\u01af"+
+		"\u01b0\t\5\2\2\u01b0\u01b2\5D#\5\u01b1\u01ab\3\2\2\2\u01b1\u01ae\3\2\2"+
+		"\2\u01b2\u01b5\3\2\2\2\u01b3\u01b1\3\2\2\2\u01b3\u01b4\3\2\2\2\u01b4E"+
+		"\3\2\2\2\u01b5\u01b3\3\2\2\2\u01b6\u01b7\7\61\2\2\u01b7\u01b8\7-\2\2\u01b8"+
+		"\u01b9\7\4\2\2\u01b9\u01be\5X-\2\u01ba\u01bb\7\5\2\2\u01bb\u01bd\5X-\2"+
+		"\u01bc\u01ba\3\2\2\2\u01bd\u01c0\3\2\2\2\u01be\u01bc\3\2\2\2\u01be\u01bf"+
+		"\3\2\2\2\u01bf\u01c1\3\2\2\2\u01c0\u01be\3\2\2\2\u01c1\u01c2\7\6\2\2\u01c2"+
+		"G\3\2\2\2\u01c3\u01ca\7\20\2\2\u01c4\u01c5\5T+\2\u01c5\u01c6\7\7\2\2\u01c6"+
+		"\u01c7\7\20\2\2\u01c7\u01ca\3\2\2\2\u01c8\u01ca\5P)\2\u01c9\u01c3\3\2"+
+		"\2\2\u01c9\u01c4\3\2\2\2\u01c9\u01c8\3\2\2\2\u01caI\3\2\2\2\u01cb\u01d7"+
+		"\5T+\2\u01cc\u01cf\5T+\2\u01cd\u01ce\7,\2\2\u01ce\u01d0\5T+\2\u01cf\u01cd"+
+		"\3\2\2\2\u01d0\u01d1\3\2\2\2\u01d1\u01cf\3\2\2\2\u01d1\u01d2\3\2\2\2\u01d2"+
+		"\u01d3\3\2\2\2\u01d3\u01d4\7\60\2\2\u01d4\u01d5\5<\37\2\u01d5\u01d7\3"+
+		"\2\2\2\u01d6\u01cb\3\2\2\2\u01d6\u01cc\3\2\2\2\u01d7K\3\2\2\2\u01d8\u01d9"+
+		"\t\6\2\2\u01d9M\3\2\2\2\u01da\u01db\t\7\2\2\u01dbO\3\2\2\2\u01dc\u01dd"+
+		"\5T+\2\u01dd\u01de\7\7\2\2\u01de\u01e0\3\2\2\2\u01df\u01dc\3\2\2\2\u01df"+
+		"\u01e0\3\2\2\2\u01e0\u01e1\3\2\2\2\u01e1\u01e2\5X-\2\u01e2Q\3\2\2\2\u01e3"+
+		"\u01e4\7A\2\2\u01e4S\3\2\2\2\u01e5\u01e6\7A\2\2\u01e6U\3\2\2\2\u01e7\u01e8"+
+		"\7A\2\2\u01e8W\3\2\2\2\u01e9\u01ea\7A\2\2\u01eaY\3\2\2\2\u01eb\u01ec\7"+
+		"A\2\2\u01ec[\3\2\2\2\u01ed\u01ee\7A\2\2\u01ee]\3\2\2\2\u01ef\u01f0\7A"+
+		"\2\2\u01f0_\3\2\2\2\u01f1\u01f2\7D\2\2\u01f2a\3\2\2\2*gnsy\u0091\u009b"+
+		"\u00aa\u00b7\u00bc\u00c6\u00cb\u00db\u00ed\u00fb\u010b\u0111\u0127\u012c"+
+		"\u0134\u013d\u0144\u014b\u0154\u0159\u0165\u0171\u0178\u0183\u0189\u0194"+
+		"\u0196\u019f\u01a9\u01b1\u01b3\u01be\u01c9\u01d1\u01d6\u01df";
 	public static final ATN _ATN =
-			new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
 		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
 		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
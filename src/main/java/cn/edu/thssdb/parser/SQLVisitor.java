@@ -1,4 +1,4 @@
-// Generated from C:/Users/75987/Desktop/Database/ThssDB/src/main/java/cn/edu/thssdb/parser\SQL.g4 by ANTLR 4.9.1
+// Generated from SQL.g4 by ANTLR 4.9.1
 package cn.edu.thssdb.parser;
 import org.antlr.v4.runtime.tree.ParseTreeVisitor;
 
@@ -58,6 +58,24 @@ public interface SQLVisitor<T> extends ParseTreeVisitor<T> {
 	 * @return the visitor result
 	 */
 	T visitCreate_table_stmt(SQLParser.Create_table_stmtContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLParser#table_option}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitTable_option(SQLParser.Table_optionContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLParser#create_index_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitCreate_index_stmt(SQLParser.Create_index_stmtContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLParser#drop_index_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitDrop_index_stmt(SQLParser.Drop_index_stmtContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link SQLParser#show_meta_stmt}.
 	 * @param ctx the parse tree
@@ -262,6 +280,18 @@ public interface SQLVisitor<T> extends ParseTreeVisitor<T> {
 	 * @return the visitor result
 	 */
 	T visitView_name(SQLParser.View_nameContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLParser#index_name}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitIndex_name(SQLParser.Index_nameContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLParser#index_type}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitIndex_type(SQLParser.Index_typeContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link SQLParser#password}.
 	 * @param ctx the parse tree
@@ -0,0 +1,130 @@
+package cn.edu.thssdb.query;
+
+import cn.edu.thssdb.schema.Cell;
+import cn.edu.thssdb.schema.CompositeKey;
+import cn.edu.thssdb.schema.HashIndex;
+import cn.edu.thssdb.schema.Row;
+import cn.edu.thssdb.schema.SecondaryIndex;
+import cn.edu.thssdb.schema.Table;
+import cn.edu.thssdb.transaction.Transaction;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * The keys selected by a condition `column op value`, so that the rows are found through an index instead of
+ * a scan of the whole table: the primary index for the primary key, otherwise a secondary index on the column.
+ * '=' on the primary key becomes a lookup, '<', '<=', '>' and '>=' a range scan. A condition on the leading
+ * column of a composite primary key scans the keys with that prefix. '=' on another column prefers a hash index.
+ */
+public class KeyRange {
+  public final SecondaryIndex index;   // null for the primary index
+  public final HashIndex hashIndex;    // set for '=' answered by a hash index
+  public final Cell from;
+  public final boolean fromInclusive;
+  public final Cell to;
+  public final boolean toInclusive;
+
+  private KeyRange(SecondaryIndex index, Cell from, boolean fromInclusive, Cell to, boolean toInclusive) {
+    this.index = index;
+    this.hashIndex = null;
+    this.from = from;
+    this.fromInclusive = fromInclusive;
+    this.to = to;
+    this.toInclusive = toInclusive;
+  }
+
+  private KeyRange(HashIndex hashIndex, Cell value) {
+    this.index = null;
+    this.hashIndex = hashIndex;
+    this.from = value;
+    this.fromInclusive = true;
+    this.to = value;
+    this.toInclusive = true;
+  }
+
+  /**
+   * Null if no index helps, i.e. for '<>', a comparison with null or a column without index.
+   */
+  public static KeyRange of(Table table, int column, String op, Cell value) {
+    if (value.value == null)
+      return null;
+    boolean primaryKey = column == table.getPrimaryIndex() && !table.isCompositeKey();
+    if (!primaryKey && op.equals("=")) {
+      HashIndex hashIndex = table.getHashIndexOn(column);
+      if (hashIndex != null)
+        return new KeyRange(hashIndex, value);
+    }
+    SecondaryIndex index = null;
+    if (column != table.getPrimaryIndex() && (index = table.getIndexOn(column)) == null)
+      return null;
+    if (index == null && table.isCompositeKey())
+      return prefix(op, value);
+    switch (op) {
+      case "=":
+        return new KeyRange(index, value, true, value, true);
+      case "<":
+        return new KeyRange(index, null, false, value, false);
+      case "<=":
+        return new KeyRange(index, null, false, value, true);
+      case ">":
+        return new KeyRange(index, value, false, null, false);
+      case ">=":
+        return new KeyRange(index, value, true, null, false);
+      default:
+        return null;
+    }
+  }
+
+  // the bounds sort before or after every key with the prefix, they never equal a key
+  private static KeyRange prefix(String op, Cell value) {
+    Cell low = new Cell(CompositeKey.bound(CompositeKey.LOW, value.value));
+    Cell high = new Cell(CompositeKey.bound(CompositeKey.HIGH, value.value));
+    switch (op) {
+      case "=":
+        return new KeyRange(null, low, false, high, false);
+      case "<":
+        return new KeyRange(null, null, false, low, false);
+      case "<=":
+        return new KeyRange(null, null, false, high, false);
+      case ">":
+        return new KeyRange(null, high, false, null, false);
+      case ">=":
+        return new KeyRange(null, low, false, null, false);
+      default:
+        return null;
+    }
+  }
+
+  public boolean isPoint() {
+    return index == null && hashIndex == null && from != null && from == to;
+  }
+
+  /**
+   * The current rows of the table in the range.
+   */
+  public Iterator<Row> scan(Table table) {
+    if (hashIndex != null)
+      return table.iterator(hashIndex, from);
+    if (index != null)
+      return table.iterator(index, from, fromInclusive, to, toInclusive);
+    return table.iterator(from, fromInclusive, to, toInclusive);
+  }
+
+  /**
+   * The rows of the table in the range as seen by the snapshot.
+   */
+  public ArrayList<Row> scan(Table table, Transaction snapshot) {
+    if (hashIndex != null)
+      return table.snapshot(snapshot, hashIndex, from);
+    if (index != null)
+      return table.snapshot(snapshot, index, from, fromInclusive, to, toInclusive);
+    if (!isPoint())
+      return table.snapshot(snapshot, from, fromInclusive, to, toInclusive);
+    ArrayList<Row> rows = new ArrayList<>();
+    Row row = table.read(snapshot, from);
+    if (row != null)
+      rows.add(row);
+    return rows;
+  }
+}
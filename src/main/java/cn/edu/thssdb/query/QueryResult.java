@@ -20,6 +20,7 @@ import static cn.edu.thssdb.schema.Column.parseEntry;
  * Designed to hold general query result:
  * In SQL result, the returned answer could be QueryTable OR an error message
  * For errors, resultType = QueryResultType.MESSAGE, see Construct method.
+ * If the statement aborted its transaction, resultType = QueryResultType.ABORT.
  * For results, it will hold QueryTable.
  */
 
@@ -71,7 +72,11 @@ public class QueryResult {
   }
 
   public QueryResult(String errorMessage) {
-    this.resultType = QueryResultType.MESSAGE;
+    this(QueryResultType.MESSAGE, errorMessage);
+  }
+
+  public QueryResult(QueryResultType resultType, String errorMessage) {
+    this.resultType = resultType;
     this.errorMessage = errorMessage;
   }
 
@@ -101,6 +106,9 @@ public class QueryResult {
         this.filterEntry = new Cell(valueStr.substring(1, valueStr.length() - 1));
         break;
     }
+
+    // 主键或有二级索引的列上的条件经索引查找或范围扫描，其余条件仍在query()中逐行过滤
+    queryTables.get(filterTb).setKeyRange(this.filterCol, op, this.filterEntry);
   }
 
   /** 条件连接 */
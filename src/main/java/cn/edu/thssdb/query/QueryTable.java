@@ -1,8 +1,10 @@
 package cn.edu.thssdb.query;
 
+import cn.edu.thssdb.schema.Cell;
 import cn.edu.thssdb.schema.MetaInfo;
 import cn.edu.thssdb.schema.Row;
 import cn.edu.thssdb.schema.Table;
+import cn.edu.thssdb.transaction.Transaction;
 
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -22,6 +24,10 @@ public class QueryTable implements Iterator<Row> {
 
   private Table table;
 
+  private Transaction snapshot;
+
+  private KeyRange keyRange;
+
   public String getName() {
     return tableName;
   }
@@ -30,23 +36,30 @@ public class QueryTable implements Iterator<Row> {
     return tableMeta;
   }
 
-  public QueryTable(Table table) {
-    // TODO
+  public QueryTable(Table table, Transaction snapshot) {
     this.tableName = table.tableName;
     this.tableMeta = new MetaInfo(table.tableName, table.columns);
+    this.table = table;
+    this.snapshot = snapshot;
+  }
 
-    this.iterator = table.iterator();
+  /**
+   * Only the rows selected by `column op value` are read if an index helps, call it before the first row.
+   */
+  public void setKeyRange(int column, String op, Cell value) {
+    this.keyRange = KeyRange.of(table, column, op, value);
   }
 
   @Override
   public boolean hasNext() {
-    // TODO
+    if (this.iterator == null)
+      this.iterator = (keyRange == null ? table.snapshot(snapshot) : keyRange.scan(table, snapshot)).iterator();
     return this.iterator.hasNext();
   }
 
   @Override
   public Row next() {
-    // TODO
+    hasNext();
     return this.iterator.next();
   }
 }
\ No newline at end of file
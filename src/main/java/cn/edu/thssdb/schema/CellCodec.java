@@ -0,0 +1,102 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.storage.Codec;
+import cn.edu.thssdb.type.ColumnType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the non-null cells of one column: INT/LONG/FLOAT/DOUBLE with their fixed width,
+ * STRING as UTF-8 bytes behind a length prefix just wide enough for the column's max length.
+ */
+public class CellCodec implements Codec<Cell> {
+  private final ColumnType type;
+  private final int lengthBytes;
+  private final int maxLength;
+
+  public CellCodec(Column column) {
+    this.type = column.getColumnType();
+    this.maxLength = Math.max(column.getMaxLength(), 0);
+    // a char takes at most 3 bytes in UTF-8 (a surrogate pair takes 4 for 2 chars)
+    long maxBytes = 3L * Math.max(column.getMaxLength(), 0);
+    if (maxBytes <= 0xFF)
+      this.lengthBytes = 1;
+    else if (maxBytes <= 0xFFFF)
+      this.lengthBytes = 2;
+    else
+      this.lengthBytes = 4;
+  }
+
+  @Override
+  public void write(DataOutput out, Cell cell) throws IOException {
+    switch (type) {
+      case INT:
+        out.writeInt((Integer) cell.value);
+        break;
+      case LONG:
+        out.writeLong((Long) cell.value);
+        break;
+      case FLOAT:
+        out.writeFloat((Float) cell.value);
+        break;
+      case DOUBLE:
+        out.writeDouble((Double) cell.value);
+        break;
+      case STRING:
+        byte[] bytes = ((String) cell.value).getBytes(StandardCharsets.UTF_8);
+        if (lengthBytes == 1)
+          out.writeByte(bytes.length);
+        else if (lengthBytes == 2)
+          out.writeShort(bytes.length);
+        else
+          out.writeInt(bytes.length);
+        out.write(bytes);
+        break;
+    }
+  }
+
+  // strings are counted at half their max length, with one byte per char
+  @Override
+  public int width() {
+    switch (type) {
+      case INT:
+      case FLOAT:
+        return 4;
+      case LONG:
+      case DOUBLE:
+        return 8;
+      default:
+        return lengthBytes + (maxLength + 1) / 2;
+    }
+  }
+
+  @Override
+  public Cell read(DataInput in) throws IOException {
+    switch (type) {
+      case INT:
+        return new Cell(in.readInt());
+      case LONG:
+        return new Cell(in.readLong());
+      case FLOAT:
+        return new Cell(in.readFloat());
+      case DOUBLE:
+        return new Cell(in.readDouble());
+      case STRING:
+        int length;
+        if (lengthBytes == 1)
+          length = in.readUnsignedByte();
+        else if (lengthBytes == 2)
+          length = in.readUnsignedShort();
+        else
+          length = in.readInt();
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new Cell(new String(bytes, StandardCharsets.UTF_8));
+      default:
+        return new Cell(null);
+    }
+  }
+}
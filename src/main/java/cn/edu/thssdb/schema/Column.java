@@ -32,7 +32,7 @@ public class Column implements Comparable<Column> {
   public String getColumnName(){return this.name;}
   public ColumnType getColumnType(){return this.type;}
   public int getPrimary(){return this.primary;}
-  public boolean isPrimary(){return this.primary == 1;}
+  public boolean isPrimary(){return this.primary > 0;}   // primary: position in the primary key from 1, 0 if none
   public boolean cantBeNull(){return this.notNull;}
   public boolean canBeNull(){return !(this.notNull);}
   public int getMaxLength(){return this.maxLength;}
@@ -0,0 +1,90 @@
+package cn.edu.thssdb.schema;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Primary key of a table keyed by several columns, the value of its primary key cell. Keys are ordered column
+ * by column, so the keys sharing leading values are adjacent in the primary index. A key holding only leading
+ * values is a bound that sorts before (LOW) or after (HIGH) every key starting with them, it starts or ends
+ * a scan of such a prefix. The hash is computed once, keys are hashed for every row lock.
+ */
+public final class CompositeKey implements Comparable<CompositeKey>, Serializable {
+  private static final long serialVersionUID = 4117436254196227395L;
+  public static final int LOW = -1;
+  public static final int HIGH = 1;
+
+  private final Comparable<?>[] values;
+  private final int bound;
+  private transient int hash;
+
+  public CompositeKey(Comparable<?>[] values) {
+    this(values, 0);
+  }
+
+  private CompositeKey(Comparable<?>[] values, int bound) {
+    this.values = values;
+    this.bound = bound;
+  }
+
+  public static CompositeKey bound(int bound, Comparable<?>... prefix) {
+    return new CompositeKey(prefix, bound);
+  }
+
+  public int size() {
+    return values.length;
+  }
+
+  public Comparable<?> get(int i) {
+    return values[i];
+  }
+
+  @Override
+  public int compareTo(CompositeKey e) {
+    int common = Math.min(values.length, e.values.length);
+    for (int i = 0; i < common; i++) {
+      int order = comparable(values[i]).compareTo(e.values[i]);
+      if (order != 0)
+        return order;
+    }
+    if (values.length == e.values.length)
+      return Integer.compare(bound, e.bound);
+    // one is a prefix of the other
+    if (values.length < e.values.length)
+      return bound != 0 ? bound : -1;
+    return e.bound != 0 ? -e.bound : 1;
+  }
+
+  // the values at one position are of the type of the same column, so they compare with each other
+  @SuppressWarnings("unchecked")
+  private static <T> Comparable<Object> comparable(Comparable<T> value) {
+    return (Comparable<Object>) (Comparable<?>) value;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof CompositeKey))
+      return false;
+    CompositeKey e = (CompositeKey) obj;
+    return bound == e.bound && Arrays.equals(values, e.values);
+  }
+
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      h = Arrays.hashCode(values) * 31 + bound;
+      hash = h;
+    }
+    return h;
+  }
+
+  public String toString() {
+    StringBuilder s = new StringBuilder("(");
+    for (int i = 0; i < values.length; i++)
+      s.append(i == 0 ? "" : ", ").append(values[i]);
+    if (bound != 0)
+      s.append(values.length == 0 ? "" : ", ").append(bound < 0 ? "-" : "+");
+    return s.append(')').toString();
+  }
+}
@@ -0,0 +1,44 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.storage.Codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes a composite primary key as the cells of its columns one after another, each with the codec of its column.
+ */
+public class CompositeKeyCodec implements Codec<Cell> {
+  private final CellCodec[] codecs;
+
+  public CompositeKeyCodec(List<Column> columns) {
+    this.codecs = new CellCodec[columns.size()];
+    for (int i = 0; i < codecs.length; i++)
+      codecs[i] = new CellCodec(columns.get(i));
+  }
+
+  @Override
+  public void write(DataOutput out, Cell cell) throws IOException {
+    CompositeKey key = (CompositeKey) cell.value;
+    for (int i = 0; i < codecs.length; i++)
+      codecs[i].write(out, new Cell(key.get(i)));
+  }
+
+  @Override
+  public int width() {
+    int width = 0;
+    for (CellCodec codec : codecs)
+      width += codec.width();
+    return width;
+  }
+
+  @Override
+  public Cell read(DataInput in) throws IOException {
+    Comparable<?>[] values = new Comparable<?>[codecs.length];
+    for (int i = 0; i < codecs.length; i++)
+      values[i] = codecs[i].read(in).value;
+    return new Cell(new CompositeKey(values));
+  }
+}
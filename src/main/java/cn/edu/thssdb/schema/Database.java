@@ -6,29 +6,39 @@ import cn.edu.thssdb.exception.TableNotExistException;
 import cn.edu.thssdb.query.QueryResult;
 import cn.edu.thssdb.query.QueryTable;
 import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.storage.WriteAheadLog;
+import cn.edu.thssdb.type.IndexType;
 
 import java.io.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
-// TODO: lock control
 // TODO Query: please also add other functions needed at Database level.
 
 public class Database {
 
   private String databaseName;
   private HashMap<String, Table> tableMap;
+  private WriteAheadLog log;
+  private final HashMap<Long, Long> activeTransactions;   // session -> LSN of its BEGIN record
+  private final Object checkpointLock = new Object();
   ReentrantReadWriteLock lock;
 
   public Database(String databaseName) {
     this.databaseName = databaseName;
     this.tableMap = new HashMap<>();
+    this.activeTransactions = new HashMap<>();
     this.lock = new ReentrantReadWriteLock();
     File tableFolder = new File(this.getDatabaseTableFolderPath());
     if(!tableFolder.exists())
       tableFolder.mkdirs();
+    this.log = new WriteAheadLog(this.getDatabaseWalFolderPath(), Global.walSegmentSize);
     recover();
   }
 
@@ -44,6 +54,10 @@ public class Database {
         OutputStreamWriter outputStreamWriter = new OutputStreamWriter(fileOutputStream);
         for (Column column : columns)
           outputStreamWriter.write(column.toString() + "\n");
+        for (String index : table.getIndexMeta())
+          outputStreamWriter.write(index + "\n");
+        outputStreamWriter.flush();
+        fileOutputStream.getFD().sync();   // the log of the table may be truncated by the next checkpoint
         outputStreamWriter.close();
         fileOutputStream.close();
       } catch (Exception e) {
@@ -53,32 +67,57 @@ public class Database {
   }
 
   public void create(String tableName, Column[] columns) {
+    create(tableName, columns, 0);
+  }
+
+  // fanout of the primary index, 0 lets it fit the nodes to the pages
+  public void create(String tableName, Column[] columns, int fanout) {
     try {
-      // TODO add lock control.
+      this.lock.writeLock().lock();
       if (this.tableMap.containsKey(tableName))
         throw new DuplicateTableException(tableName);
-      Table table = new Table(this.databaseName, tableName, columns);
+      Table table = new Table(this.databaseName, tableName, columns, this.log, fanout);
       this.tableMap.put(tableName, table);
       this.persist();
     } finally {
-      // TODO add lock control.
+      this.lock.writeLock().unlock();
     }
   }
 
   public Table get(String tableName) {
     try {
-      // TODO add lock control.
+      this.lock.readLock().lock();
       if (!this.tableMap.containsKey(tableName))
         throw new TableNotExistException(tableName);
       return this.tableMap.get(tableName);
     } finally {
-      // TODO add lock control.
+      this.lock.readLock().unlock();
+    }
+  }
+
+  public void createIndex(String tableName, String indexName, String columnName, IndexType type) {
+    try {
+      this.lock.writeLock().lock();
+      this.get(tableName).createIndex(indexName, columnName, type);
+      this.persist();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  public void dropIndex(String tableName, String indexName) {
+    try {
+      this.lock.writeLock().lock();
+      this.get(tableName).dropIndex(indexName);
+      this.persist();
+    } finally {
+      this.lock.writeLock().unlock();
     }
   }
 
   public void drop(String tableName) {
     try {
-      // TODO add lock control.
+      this.lock.writeLock().lock();
       if (!this.tableMap.containsKey(tableName))
         throw new TableNotExistException(tableName);
       Table table = this.tableMap.get(tableName);
@@ -90,13 +129,13 @@ public class Database {
       table.dropTable();
       this.tableMap.remove(tableName);
     } finally {
-      // TODO add lock control.
+      this.lock.writeLock().unlock();
     }
   }
 
   public void dropDatabase() {
     try {
-      // TODO add lock control.
+      this.lock.writeLock().lock();
       for (Table table : this.tableMap.values()) {
         File file = new File(table.getTableMetaPath());
         if (file.isFile()&&!file.delete())
@@ -105,50 +144,233 @@ public class Database {
       }
       this.tableMap.clear();
       this.tableMap = null;
+      this.log.delete();
     } finally {
-      // TODO add lock control.
+      this.lock.writeLock().unlock();
     }
   }
 
   private void recover() {
     System.out.println("! try to recover database " + this.databaseName);
+    long start = System.currentTimeMillis();
     File tableFolder = new File(this.getDatabaseTableFolderPath());
-    File[] files = tableFolder.listFiles();
-//        for(File f: files) System.out.println("...." + f.getName());
-    if (files == null) return;
+    File[] files = tableFolder.listFiles(file -> file.isFile() && file.getName().endsWith(Global.META_SUFFIX));
+    if (files == null || files.length == 0) return;
 
-    for (File file : files) {
-      if (!file.isFile() || !file.getName().endsWith(Global.META_SUFFIX)) continue;
+    // tables are independent, load them in parallel
+    ExecutorService pool = Executors.newFixedThreadPool(Math.min(files.length, Global.recoveryThreads));
+    ArrayList<Future<Table>> futures = new ArrayList<>();
+    for (File file : files)
+      futures.add(pool.submit(() -> recoverTable(file)));
+    pool.shutdown();
+    for (int i = 0; i < files.length; i++) {
       try {
-        String fileName = file.getName();
-        String tableName = fileName.substring(0,fileName.length()-Global.META_SUFFIX.length());
-        if (this.tableMap.containsKey(tableName))
-          throw new DuplicateTableException(tableName);
-
-        ArrayList<Column> columnList = new ArrayList<>();
-        InputStreamReader reader = new InputStreamReader(new FileInputStream(file));
-        BufferedReader bufferedReader = new BufferedReader(reader);
-        String readLine;
-        while ((readLine = bufferedReader.readLine()) != null)
+        Table table = futures.get(i).get();
+        this.tableMap.put(table.tableName, table);
+      } catch (ExecutionException e) {
+        System.out.println("! failed to recover table " + files[i].getName() + ": " + e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FileIOException(this.databaseName + " (interrupted when recover)");
+      }
+    }
+    System.out.println("! recovered " + this.tableMap.size() + " tables of database " + this.databaseName
+            + " in " + (System.currentTimeMillis() - start) + " ms");
+  }
+
+  private Table recoverTable(File metaFile) throws IOException {
+    String fileName = metaFile.getName();
+    String tableName = fileName.substring(0,fileName.length()-Global.META_SUFFIX.length());
+    ArrayList<Column> columnList = new ArrayList<>();
+    ArrayList<String[]> indexList = new ArrayList<>();
+    try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(metaFile)))) {
+      String readLine;
+      while ((readLine = bufferedReader.readLine()) != null) {
+        if (SecondaryIndex.isMeta(readLine))
+          indexList.add(readLine.split(","));   // INDEX,name,column[,HASH]
+        else
           columnList.add(Column.parseColumn(readLine));
-        bufferedReader.close();
-        reader.close();
-        Table table = new Table(this.databaseName, tableName, columnList.toArray(new Column[0]));
-        System.out.println(table.toString());
-        for(Row row: table)
-          System.out.println(row.toString());
-        this.tableMap.put(tableName, table);
-      } catch (Exception ignored) {
       }
     }
+    Table table = new Table(this.databaseName, tableName, columnList.toArray(new Column[0]), this.log);
+    for (String[] index : indexList)
+      table.openIndex(index[1], index[2], index.length > 3 ? IndexType.valueOf(index[3]) : IndexType.BTREE);
+    return table;
+  }
+
+  /**
+   * Starts a new log segment, checkpoints every table while the tables keep accepting writes, then drops the
+   * log segments before the new one. Table.persist() only returns once the new pages and the header of the
+   * table file are durable, a crash before leaves the file as of the last checkpoint, whose log is still
+   * kept. Segments from the BEGIN of transactions still running on are kept too, recovery needs their
+   * records to undo them. Table metas are written (and forced) when tables are created.
+   * Checkpoints of a database run one at a time, so a later one never truncates the log an earlier one
+   * still relies on.
+   */
+  public void checkpoint() {
+    synchronized (this.checkpointLock) {
+      long redoStart = this.log.roll();
+      synchronized (this.activeTransactions) {
+        for (long lsn : this.activeTransactions.values())
+          redoStart = Math.min(redoStart, lsn);
+      }
+      ArrayList<Table> tables;
+      try {
+        this.lock.readLock().lock();
+        tables = new ArrayList<>(this.tableMap.values());
+      } finally {
+        this.lock.readLock().unlock();
+      }
+      for (Table table : tables)
+        table.persist();
+      this.log.truncate(redoStart);
+    }
+  }
+
+  public int vacuum(long oldestSnapshot) {
+    ArrayList<Table> tables;
+    try {
+      this.lock.readLock().lock();
+      tables = new ArrayList<>(this.tableMap.values());
+    } finally {
+      this.lock.readLock().unlock();
+    }
+    int dropped = 0;
+    for (Table table : tables)
+      dropped += table.vacuum(oldestSnapshot);
+    return dropped;
+  }
+
+  public void logBegin(long session) {
+    synchronized (this.activeTransactions) {
+      this.activeTransactions.putIfAbsent(session, this.log.getEndLsn());
+      this.log.append(session, WriteAheadLog.BEGIN, new byte[0]);
+    }
+  }
+
+  // returns the LSN to pass to flushCommit()
+  public long appendCommit(long session) {
+    return this.log.append(session, WriteAheadLog.COMMIT, new byte[0]);
+  }
+
+  // group commit: returns once the COMMIT record is on disk
+  public void flushCommit(long session, long lsn) {
+    this.log.flush(lsn);
+    synchronized (this.activeTransactions) {
+      this.activeTransactions.remove(session);
+    }
+  }
+
+  // the changes made to undo the transaction are logged already, ABORT ends it like a COMMIT
+  public void logAbort(long session) {
+    this.log.flush(this.log.append(session, WriteAheadLog.ABORT, new byte[0]));
+    synchronized (this.activeTransactions) {
+      this.activeTransactions.remove(session);
+    }
+  }
+
+  /**
+   * Recovery: the table files are as of the last checkpoint, which may hold changes of transactions running
+   * at the time. Every logged change is replayed in log order (repeating history), then the changes of the
+   * transactions that neither committed nor aborted before the crash are undone in reverse order by their
+   * before-images. Changes logged outside a transaction were committed when they were made.
+   * A rolled back transaction ends with ABORT after the changes undoing it, replaying both is a no-op.
+   * Records of different tables are independent, each table replays its own records in parallel.
+   */
+  public void redo() {
+    long start = System.currentTimeMillis();
+    HashMap<Long, ArrayList<WriteAheadLog.Record>> running = new HashMap<>();
+    HashMap<String, ArrayList<WriteAheadLog.Record>> changes = new HashMap<>();
+    ArrayList<WriteAheadLog.Record> losers = new ArrayList<>();
+    int[] count = new int[1];
+    this.log.replay(record -> {
+      if (record.type == WriteAheadLog.BEGIN) {
+        // a session only begins again once its transaction ended, one without an end record was cut off
+        ArrayList<WriteAheadLog.Record> unfinished = running.put(record.session, new ArrayList<>());
+        if (unfinished != null)
+          losers.addAll(unfinished);
+      } else if (record.type == WriteAheadLog.COMMIT || record.type == WriteAheadLog.ABORT) {
+        running.remove(record.session);
+      } else {
+        changes.computeIfAbsent(tableNameOf(record), name -> new ArrayList<>()).add(record);
+        ArrayList<WriteAheadLog.Record> transaction = running.get(record.session);
+        if (transaction != null)
+          transaction.add(record);
+      }
+      count[0]++;
+    });
+    for (ArrayList<WriteAheadLog.Record> unfinished : running.values())
+      losers.addAll(unfinished);
+
+    if (!changes.isEmpty()) {
+      ExecutorService pool = Executors.newFixedThreadPool(Math.min(changes.size(), Global.recoveryThreads));
+      ArrayList<Future<?>> futures = new ArrayList<>();
+      for (ArrayList<WriteAheadLog.Record> records : changes.values())
+        futures.add(pool.submit(() -> {
+          for (WriteAheadLog.Record change : records)
+            redo(change);
+        }));
+      pool.shutdown();
+      try {
+        for (Future<?> future : futures)
+          future.get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException)
+          throw (RuntimeException) e.getCause();
+        throw new FileIOException(this.databaseName + " when redo: " + e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FileIOException(this.databaseName + " (interrupted when redo)");
+      }
+    }
+    losers.sort((a, b) -> Long.compare(b.lsn, a.lsn));
+    for (WriteAheadLog.Record change : losers)
+      undo(change);
+    checkpoint();
+    int redone = 0;
+    for (ArrayList<WriteAheadLog.Record> records : changes.values())
+      redone += records.size();
+    System.out.println("! scanned " + count[0] + " log records of database " + this.databaseName + ", redone "
+            + redone + " changes of " + changes.size() + " tables and undone " + losers.size()
+            + " changes of unfinished transactions in " + (System.currentTimeMillis() - start) + " ms");
+  }
+
+  private String tableNameOf(WriteAheadLog.Record record) {
+    try {
+      return new DataInputStream(new ByteArrayInputStream(record.payload)).readUTF();
+    } catch (IOException e) {
+      throw new FileIOException(this.databaseName + " when redo log record " + record.lsn);
+    }
+  }
+
+  private void redo(WriteAheadLog.Record record) {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.payload));
+    try {
+      Table table = this.tableMap.get(in.readUTF());
+      if (table != null)   // dropped since
+        table.redo(record.type, in);
+    } catch (IOException e) {
+      throw new FileIOException(this.databaseName + " when redo log record " + record.lsn);
+    }
+  }
+
+  private void undo(WriteAheadLog.Record record) {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.payload));
+    try {
+      Table table = this.tableMap.get(in.readUTF());
+      if (table != null && !table.undo(record.type, in))
+        System.out.println("! cannot undo log record " + record.lsn + " of database " + this.databaseName
+                + ", it has no before-image");
+    } catch (IOException e) {
+      throw new FileIOException(this.databaseName + " when undo log record " + record.lsn);
+    }
   }
 
   public void quit() {
     try {
       this.lock.writeLock().lock();
-      for (Table table : this.tableMap.values())
-        table.persist();
       this.persist();
+      this.checkpoint();
     } finally {
       this.lock.writeLock().unlock();
     }
@@ -175,12 +397,16 @@ public class Database {
   public String getDatabaseLogFilePath(){
     return this.getDatabasePath() + File.separator + "log";
   }
+  public String getDatabaseWalFolderPath(){
+    return this.getDatabasePath() + File.separator + "wal";
+  }
   public static String getDatabaseLogFilePath(String databaseName){
     return Global.DBMS_DIR + File.separator + "data" + File.separator + databaseName + File.separator + "log";
   }
 
   // Other utils.
   public String getDatabaseName() { return this.databaseName; }
+  public WriteAheadLog getLog() { return this.log; }
   public String getTableInfo(String tableName) { return get(tableName).toString(); }
   public String toString() {
     if (this.tableMap.isEmpty()) return "{\n[DatabaseName: " + databaseName + "]\n" + Global.DATABASE_EMPTY + "}\n";
@@ -0,0 +1,287 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.exception.FileIOException;
+import cn.edu.thssdb.storage.Codec;
+import cn.edu.thssdb.storage.PageFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A hash index on one column, only for '=' conditions, mapping values to the primary keys of their rows; the
+ * table reads the rows from its primary index. Open addressing with linear probing over parallel arrays: every
+ * row has its own slot holding the value and the primary key. Rows with the same value share a probe sequence.
+ * Removed slots are marked deleted until the table grows.
+ * The slots are kept in memory and stored as one record of a PageFile at every checkpoint of the table, taken
+ * together with the primary index like a SecondaryIndex, so opening the table reads them back instead of
+ * scanning the rows.
+ */
+public class HashIndex {
+  private static final Cell DELETED = new Cell(null);
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int META_RECORD = 0;
+  private static final int NO_RECORD = 0;   // page 0 is the header of the file, no record starts there
+
+  public final String name;
+  public final int column;
+  private final String path;
+  private final PageFile file;
+  private final Codec<Cell> valueCodec;
+  private final Codec<Cell> primaryCodec;
+  private final ReentrantReadWriteLock lock;
+  private Cell[] values;
+  private Cell[] primaryCells;
+  private int size;
+  private int used;             // slots taken by rows or deleted marks
+  private boolean dirty;        // changed since the last checkpoint was taken
+  private long taken;           // checkpoints taken so far
+  private long written;         // the last checkpoint written, an older one finishing later is dropped
+
+  HashIndex(String name, int column, String path, Column indexed, Codec<Cell> primaryCodec) {
+    this.name = name;
+    this.column = column;
+    this.path = path;
+    this.valueCodec = new CellCodec(indexed);
+    this.primaryCodec = primaryCodec;
+    this.lock = new ReentrantReadWriteLock();
+    this.file = new PageFile(path, Global.pageSize);
+    allocate(INITIAL_CAPACITY);
+    int record = (int) file.getMeta(META_RECORD);
+    if (record != NO_RECORD)
+      load(file.readRecord(record));
+  }
+
+  void insert(Row row, Cell primaryCell) {
+    Cell value = row.getEntries().get(column);
+    if (value.value == null)
+      return;
+    try {
+      lock.writeLock().lock();
+      put(value, primaryCell);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void put(Cell value, Cell primaryCell) {
+    if ((used + 1) * 4L > values.length * 3L)
+      resize(size + 1);
+    int mask = values.length - 1;
+    int free = -1;
+    for (int i = slot(value, mask); ; i = (i + 1) & mask) {
+      if (values[i] == null) {
+        if (free < 0) {
+          free = i;
+          used++;
+        }
+        break;
+      }
+      if (values[i] == DELETED) {
+        if (free < 0)
+          free = i;
+      } else if (values[i].equals(value) && primaryCells[i].equals(primaryCell)) {
+        return;   // already there, e.g. during redo
+      }
+    }
+    values[free] = value;
+    primaryCells[free] = primaryCell;
+    size++;
+    dirty = true;
+  }
+
+  void remove(Row row, Cell primaryCell) {
+    Cell value = row.getEntries().get(column);
+    if (value.value == null)
+      return;
+    try {
+      lock.writeLock().lock();
+      int mask = values.length - 1;
+      for (int i = slot(value, mask); values[i] != null; i = (i + 1) & mask) {
+        if (values[i] != DELETED && values[i].equals(value) && primaryCells[i].equals(primaryCell)) {
+          values[i] = DELETED;
+          primaryCells[i] = null;
+          size--;
+          dirty = true;
+          return;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * The primary keys of the current rows with the value.
+   */
+  ArrayList<Cell> get(Cell value) {
+    ArrayList<Cell> result = new ArrayList<>();
+    if (value.value == null)
+      return result;
+    try {
+      lock.readLock().lock();
+      int mask = values.length - 1;
+      for (int i = slot(value, mask); values[i] != null; i = (i + 1) & mask)
+        if (values[i] != DELETED && values[i].equals(value))
+          result.add(primaryCells[i]);
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean contains(Cell value) {
+    if (value.value == null)
+      return false;
+    try {
+      lock.readLock().lock();
+      int mask = values.length - 1;
+      for (int i = slot(value, mask); values[i] != null; i = (i + 1) & mask)
+        if (values[i] != DELETED && values[i].equals(value))
+          return true;
+      return false;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  int size() {
+    try {
+      lock.readLock().lock();
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  void flush() {
+    checkpoint().run();
+  }
+
+  /**
+   * Takes the slots as they are now, the returned task stores them. Called under the latch of the table so
+   * that they hold the same rows as the checkpoint of the primary index.
+   */
+  Runnable checkpoint() {
+    byte[] image;
+    long sequence;
+    try {
+      lock.writeLock().lock();
+      if (!dirty)
+        return () -> { };
+      image = encode();
+      dirty = false;
+      sequence = ++taken;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    return () -> {
+      synchronized (file) {
+        if (sequence < written)
+          return;
+        try {
+          int old = (int) file.getMeta(META_RECORD);
+          int record = file.write(image);
+          file.setMeta(META_RECORD, record);
+          file.sync(Collections.singletonList(record),
+                  old == NO_RECORD ? Collections.emptyList() : Collections.singletonList(old));
+          written = sequence;
+        } catch (RuntimeException e) {
+          try {
+            lock.writeLock().lock();
+            dirty = true;   // the next checkpoint writes the slots again
+          } finally {
+            lock.writeLock().unlock();
+          }
+          throw e;
+        }
+      }
+    };
+  }
+
+  void close() {
+    file.close();
+  }
+
+  void drop() {
+    close();
+    File f = new File(path);
+    if (f.exists() && !f.delete())
+      throw new FileIOException(path + " when dropping index " + name);
+  }
+
+  // line of the table meta file, see SecondaryIndex.isMeta()
+  String toMeta(String columnName) {
+    return SecondaryIndex.META_PREFIX + name + "," + columnName + ",HASH";
+  }
+
+  private byte[] encode() {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(buffer);
+    try {
+      out.writeInt(size);
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] == null || values[i] == DELETED)
+          continue;
+        valueCodec.write(out, values[i]);
+        primaryCodec.write(out, primaryCells[i]);
+      }
+      out.close();
+    } catch (IOException e) {
+      throw new FileIOException(path + " when encoding index " + name);
+    }
+    return buffer.toByteArray();
+  }
+
+  private void load(byte[] record) {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+    try {
+      int count = in.readInt();
+      resize(count);
+      for (int i = 0; i < count; i++)
+        put(valueCodec.read(in), primaryCodec.read(in));
+    } catch (IOException e) {
+      throw new FileIOException(path + " when loading index " + name);
+    }
+    dirty = false;
+  }
+
+  private static int slot(Cell value, int mask) {
+    int h = value.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    values = new Cell[capacity];
+    primaryCells = new Cell[capacity];
+    used = 0;
+  }
+
+  // at most half full afterwards, deleted marks are dropped
+  private void resize(int count) {
+    int capacity = INITIAL_CAPACITY;
+    while (capacity < count * 2)
+      capacity <<= 1;
+    Cell[] oldValues = values;
+    Cell[] oldPrimaryCells = primaryCells;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int j = 0; j < oldValues.length; j++) {
+      if (oldValues[j] == null || oldValues[j] == DELETED)
+        continue;
+      int i = slot(oldValues[j], mask);
+      while (values[i] != null)
+        i = (i + 1) & mask;
+      values[i] = oldValues[j];
+      primaryCells[i] = oldPrimaryCells[j];
+      used++;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package cn.edu.thssdb.schema;
+
+/**
+ * Key of a secondary index: the value of the indexed column followed by the primary key of the row, so that
+ * rows with the same value get distinct keys. A key without primary key is a bound that sorts before (LOW)
+ * or after (HIGH) every row with its value and is only used to start or end a scan.
+ */
+public final class IndexKey implements Comparable<IndexKey> {
+  static final int LOW = -1;
+  static final int HIGH = 1;
+
+  public final Cell value;
+  public final Cell primary;
+  private final int bound;
+
+  public IndexKey(Cell value, Cell primary) {
+    this(value, primary, 0);
+  }
+
+  private IndexKey(Cell value, Cell primary, int bound) {
+    this.value = value;
+    this.primary = primary;
+    this.bound = bound;
+  }
+
+  static IndexKey bound(Cell value, int bound) {
+    return new IndexKey(value, null, bound);
+  }
+
+  @Override
+  public int compareTo(IndexKey e) {
+    int order = value.compareTo(e.value);
+    if (order != 0)
+      return order;
+    if (bound != 0 || e.bound != 0)
+      return Integer.compare(bound, e.bound);
+    return primary.compareTo(e.primary);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof IndexKey))
+      return false;
+    IndexKey e = (IndexKey) obj;
+    return compareTo(e) == 0 && bound == e.bound;
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode() * 31 + (primary == null ? bound : primary.hashCode());
+  }
+
+  public String toString() {
+    return "(" + value + ", " + (primary == null ? (bound < 0 ? "-" : "+") : primary) + ")";
+  }
+}
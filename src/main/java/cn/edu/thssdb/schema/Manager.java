@@ -5,23 +5,32 @@ import cn.edu.thssdb.exception.FileIOException;
 import cn.edu.thssdb.parser.SQLHandler;
 import cn.edu.thssdb.query.QueryResult;
 import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.transaction.Transaction;
 
 import java.io.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-// TODO: add lock control
-// TODO: complete readLog() function according to writeLog() for recovering transaction
-
 public class Manager {
   private HashMap<String, Database> databases;
   private static ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
   public Database currentDatabase;
-  public ArrayList<Long> currentSessions; // 处于transaction状态的session列表
-  public ArrayList<Long> waitSessions; //// 由于锁阻塞的session队列
+  public Set<Long> currentSessions; // 处于transaction状态的session列表，锁由LockManager管理
   public static SQLHandler sqlHandler;
-  public HashMap<Long, ArrayList<String>> x_lockDict;
+  private final ConcurrentHashMap<Long, Transaction> transactions;  // session -> running transaction (MVCC snapshot)
+  private final Object commitLock = new Object();
+  private long timestamp;   // commit timestamp of the last committed transaction, guarded by commitLock
+  private final Set<Long> optimisticSessions;   // sessions running their transactions optimistically
+  private final AtomicLong optimisticCommits = new AtomicLong();
+  private final AtomicLong optimisticAborts = new AtomicLong();
 
   public static Manager getInstance() {
     return Manager.ManagerHolder.INSTANCE;
@@ -32,8 +41,10 @@ public class Manager {
     databases = new HashMap<>();
     currentDatabase = null;
     sqlHandler = new SQLHandler(this);
-    x_lockDict = new HashMap<>();
-    currentSessions = new ArrayList<>();
+    currentSessions = ConcurrentHashMap.newKeySet();
+    transactions = new ConcurrentHashMap<>();
+    optimisticSessions = ConcurrentHashMap.newKeySet();
+    timestamp = 0;
     File managerFolder = new File(Global.DBMS_DIR + File.separator + "data");
     if (!managerFolder.exists())
       managerFolder.mkdirs();
@@ -42,7 +53,7 @@ public class Manager {
 
   public void deleteDatabase(String databaseName) {
     try {
-      // TODO: add lock control
+      lock.writeLock().lock();
       if (!databases.containsKey(databaseName))
         throw new DatabaseNotExistException(databaseName);
       Database database = databases.get(databaseName);
@@ -50,24 +61,30 @@ public class Manager {
       databases.remove(databaseName);
 
     } finally {
-      // TODO: add lock control
+      lock.writeLock().unlock();
     }
   }
 
   public void switchDatabase(String databaseName) {
     try {
-      // TODO: add lock control
+      lock.readLock().lock();
       if (!databases.containsKey(databaseName))
         throw new DatabaseNotExistException(databaseName);
       currentDatabase = databases.get(databaseName);
     } finally {
-      // TODO: add lock control
+      lock.readLock().unlock();
     }
   }
 
   private static class ManagerHolder {
     private static final Manager INSTANCE = new Manager();
 
+    static {
+      Thread vacuum = new Thread(INSTANCE::runVacuum, "version-vacuum");
+      vacuum.setDaemon(true);
+      vacuum.start();
+    }
+
     private ManagerHolder() {
 
     }
@@ -94,37 +111,30 @@ public class Manager {
 
   public Database get(String databaseName) {
     try {
-      // TODO: add lock control
+      lock.readLock().lock();
       if (!databases.containsKey(databaseName))
         throw new DatabaseNotExistException(databaseName);
       return databases.get(databaseName);
     } finally {
-      // TODO: add lock control
+      lock.readLock().unlock();
     }
   }
 
   public void createDatabaseIfNotExists(String databaseName) {
     try {
-      // TODO: add lock control
+      lock.writeLock().lock();
       if (!databases.containsKey(databaseName))
         databases.put(databaseName, new Database(databaseName));
-      if (currentDatabase == null) {
-        try {
-          // TODO: add lock control
-          if (!databases.containsKey(databaseName))
-            throw new DatabaseNotExistException(databaseName);
-          currentDatabase = databases.get(databaseName);
-        } finally {
-          // TODO: add lock control
-        }
-      }
+      if (currentDatabase == null)
+        currentDatabase = databases.get(databaseName);
     } finally {
-      // TODO: add lock control
+      lock.writeLock().unlock();
     }
   }
 
   public void persist() {
     try {
+      lock.readLock().lock();
       FileOutputStream fos = new FileOutputStream(Manager.getManagerDataFilePath());
       OutputStreamWriter writer = new OutputStreamWriter(fos);
       for (String databaseName : databases.keySet())
@@ -133,74 +143,231 @@ public class Manager {
       fos.close();
     } catch (Exception e) {
       throw new FileIOException(Manager.getManagerDataFilePath());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Writes the pages of the database dirtied since the last checkpoint, then drops the log
+   * written before the checkpoint started. Statements logged meanwhile are kept.
+   */
+  public void checkpoint(String databaseName) {
+    get(databaseName).checkpoint();
+  }
+
+  // Transactions: a transaction reads the snapshot of the commits before its start, its writes become
+  // visible to the transactions started after it commits.
+  public Transaction beginTransaction(long session) {
+    synchronized (commitLock) {
+      Transaction transaction = new Transaction(session, timestamp, optimisticSessions.contains(session));
+      transactions.put(session, transaction);
+      return transaction;
+    }
+  }
+
+  /**
+   * Commits the transaction of the session. Returns false if it is optimistic and fails validation, the
+   * caller rolls it back then. Validation, the commit timestamp and the COMMIT records are done under one
+   * lock, so COMMIT records are logged in timestamp order: a transaction that saw these changes is never
+   * durable without them. A COMMIT record goes to the log of every database the transaction changed and is
+   * forced after the lock is released, sharing the fsync with others.
+   */
+  public boolean commitTransaction(long session) {
+    Transaction transaction = transactions.get(session);
+    if (transaction == null)
+      return true;
+    ArrayList<Database> databases = new ArrayList<>();
+    if (session >= 0)
+      for (String databaseName : transaction.getDatabases())
+        databases.add(get(databaseName));
+    long[] lsns = new long[databases.size()];
+    synchronized (commitLock) {
+      if (transaction.isOptimistic() && !transaction.validate()) {
+        optimisticAborts.incrementAndGet();
+        return false;
+      }
+      for (int i = 0; i < lsns.length; i++)
+        lsns[i] = databases.get(i).appendCommit(session);
+      transaction.commit(++timestamp);
+      transactions.remove(session);
+    }
+    for (int i = 0; i < lsns.length; i++)
+      databases.get(i).flushCommit(session, lsns[i]);
+    if (transaction.isOptimistic())
+      optimisticCommits.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Undoes every change of the transaction of the session and ends it. No one else has touched the keys
+   * restored: they are locked by the transaction, or, if it is optimistic, its versions make other writers fail.
+   * The changes undoing it are logged, then an ABORT record in every database it changed.
+   */
+  public void rollbackTransaction(long session) {
+    Transaction transaction = getTransaction(session);
+    if (transaction == null)
+      return;
+    transaction.rollback(0);
+    transaction.abort();
+    if (session >= 0)
+      for (String databaseName : transaction.getDatabases())
+        get(databaseName).logAbort(session);
+    endTransaction(session);
+    if (transaction.isOptimistic() && transaction.isRollbackOnly())
+      optimisticAborts.incrementAndGet();
+  }
+
+  // ends a read only transaction
+  public void endTransaction(long session) {
+    transactions.remove(session);
+  }
+
+  public Transaction getTransaction(long session) {
+    return transactions.get(session);
+  }
+
+  // transactions started by the session from now on are optimistic (true) or take locks (false)
+  public void setOptimistic(long session, boolean optimistic) {
+    if (optimistic)
+      optimisticSessions.add(session);
+    else
+      optimisticSessions.remove(session);
+  }
+
+  public long getOptimisticCommitCount() {
+    return optimisticCommits.get();
+  }
+
+  // failed validations and write conflicts of optimistic transactions
+  public long getOptimisticAbortCount() {
+    return optimisticAborts.get();
+  }
+
+  public long getOldestSnapshot() {
+    synchronized (commitLock) {
+      long oldest = timestamp;
+      for (Transaction transaction : transactions.values())
+        oldest = Math.min(oldest, transaction.getSnapshot());
+      return oldest;
     }
   }
 
-  public void persistDatabase(String databaseName) {
+  /**
+   * Drops the row versions no running transaction can see any more, returns how many were dropped.
+   */
+  public int vacuum() {
+    long oldest = getOldestSnapshot();
+    ArrayList<Database> targets;
     try {
-      // TODO: add lock control
-      Database database = databases.get(databaseName);
-      database.quit();
-      persist();
+      lock.readLock().lock();
+      targets = new ArrayList<>(databases.values());
     } finally {
-      // TODO: add lock control
+      lock.readLock().unlock();
     }
+    int dropped = 0;
+    for (Database database : targets)
+      dropped += database.vacuum(oldest);
+    return dropped;
   }
 
-  // Log control and recover from logs.
-  public void writeLog(long session, String statement) {
-    String logFilename = this.currentDatabase.getDatabaseLogFilePath();
-    try {
-      FileWriter writer = new FileWriter(logFilename, true);
-      writer.write(session + "#" + statement + "\n");
-      writer.close();
-    } catch (Exception e) {
-      throw new FileIOException(logFilename);
+  private void runVacuum() {
+    while (true) {
+      try {
+        Thread.sleep(Global.versionVacuumInterval);
+      } catch (InterruptedException e) {
+        return;
+      }
+      vacuum();
     }
   }
 
-  // TODO: read Log in transaction to recover.
-  public void readLog(String databaseName) {
+  public long getLogSize(String databaseName) {
+    return get(databaseName).getLog().size();
+  }
+
+  // text log of the older versions, replayed through the SQL handler once and removed after the next checkpoint.
+  // A statement that fails stops the recovery and keeps the log.
+  private void readLegacyLog(String databaseName) {
     File tableDataFile = new File(Manager.getTableDataFilePath(databaseName));
     if (!tableDataFile.isFile())
       return;
+    Database current = this.currentDatabase;
+    this.currentDatabase = get(databaseName);
+    int lineNumber = 0;
     try {
       InputStreamReader reader = new InputStreamReader(new FileInputStream(tableDataFile));
       BufferedReader bufferedReader = new BufferedReader(reader);
       String line;
       while ((line = bufferedReader.readLine()) != null) {
+        lineNumber++;
         System.out.println("??!!" + line);
         long session = Long.parseLong(line.split("#")[0]);
         session = -session - 1;
         String statement = line.split("#")[1];
-        sqlHandler.evaluate(statement, session);
+        sqlHandler.replay(statement, session);
       }
       bufferedReader.close();
       reader.close();
-    } catch (Exception e) {
-      throw new FileIOException(databaseName);
+    } catch (IOException e) {
+      throw new FileIOException(tableDataFile.getPath());
+    } catch (RuntimeException e) {
+      // nothing replayed is checkpointed yet, the tables on disk and the log stay as they were
+      throw new FileIOException(tableDataFile.getPath() + " at line " + lineNumber + " (" + e.getMessage() + ")");
+    } finally {
+      this.currentDatabase = current;
     }
+    get(databaseName).checkpoint();
+    if (!tableDataFile.delete())
+      throw new FileIOException(tableDataFile.getPath());
   }
 
   public void recover() {
     File managerDataFile = new File(Manager.getManagerDataFilePath());
     if (!managerDataFile.isFile())
       return;
-    try {
-      System.out.println("??!! try to recover manager");
-      InputStreamReader reader = new InputStreamReader(new FileInputStream(managerDataFile));
-      BufferedReader bufferedReader = new BufferedReader(reader);
+    System.out.println("! try to recover manager");
+    long start = System.currentTimeMillis();
+    ArrayList<String> databaseNames = new ArrayList<>();
+    try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(managerDataFile)))) {
       String line;
-      while ((line = bufferedReader.readLine()) != null) {
-        System.out.println("??!!" + line);
-        createDatabaseIfNotExists(line);
-        readLog(line);
-      }
-      bufferedReader.close();
-      reader.close();
+      while ((line = bufferedReader.readLine()) != null)
+        databaseNames.add(line);
     } catch (Exception e) {
       throw new FileIOException(managerDataFile.getName());
     }
+    if (databaseNames.isEmpty())
+      return;
+
+    // databases are independent: load their tables and redo their logs in parallel
+    ExecutorService pool = Executors.newFixedThreadPool(Math.min(databaseNames.size(), Global.recoveryThreads));
+    try {
+      ArrayList<Future<Database>> loads = new ArrayList<>();
+      for (String databaseName : databaseNames)
+        loads.add(pool.submit(() -> new Database(databaseName)));
+      for (int i = 0; i < databaseNames.size(); i++)
+        databases.put(databaseNames.get(i), loads.get(i).get());
+      if (currentDatabase == null)
+        currentDatabase = databases.get(databaseNames.get(0));
+      // statements of the old text logs share the SQL handler and the current database, replay them one by one
+      for (String databaseName : databaseNames)
+        readLegacyLog(databaseName);
+      ArrayList<Future<?>> redos = new ArrayList<>();
+      for (String databaseName : databaseNames)
+        redos.add(pool.submit(() -> get(databaseName).redo()));
+      for (Future<?> redo : redos)
+        redo.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      throw new FileIOException(managerDataFile.getName() + " when recover: " + e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FileIOException(managerDataFile.getName() + " (interrupted when recover)");
+    } finally {
+      pool.shutdown();
+    }
+    System.out.println("! recovered " + databaseNames.size() + " databases in " + (System.currentTimeMillis() - start) + " ms");
   }
 
   // Get positions
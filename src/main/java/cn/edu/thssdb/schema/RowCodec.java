@@ -0,0 +1,60 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.storage.Codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema-driven binary row format: a null bitmap with one bit per column,
+ * followed by the non-null cells in column order encoded by their CellCodec.
+ */
+public class RowCodec implements Codec<Row> {
+  private final CellCodec[] cellCodecs;
+  private final int bitmapBytes;
+
+  public RowCodec(List<Column> columns) {
+    this.cellCodecs = new CellCodec[columns.size()];
+    for (int i = 0; i < cellCodecs.length; i++)
+      cellCodecs[i] = new CellCodec(columns.get(i));
+    this.bitmapBytes = (cellCodecs.length + 7) / 8;
+  }
+
+  @Override
+  public void write(DataOutput out, Row row) throws IOException {
+    ArrayList<Cell> entries = row.getEntries();
+    byte[] nulls = new byte[bitmapBytes];
+    for (int i = 0; i < cellCodecs.length; i++)
+      if (entries.get(i).value == null)
+        nulls[i >> 3] |= 1 << (i & 7);
+    out.write(nulls);
+    for (int i = 0; i < cellCodecs.length; i++)
+      if (entries.get(i).value != null)
+        cellCodecs[i].write(out, entries.get(i));
+  }
+
+  @Override
+  public int width() {
+    int width = bitmapBytes;
+    for (CellCodec codec : cellCodecs)
+      width += codec.width();
+    return width;
+  }
+
+  @Override
+  public Row read(DataInput in) throws IOException {
+    byte[] nulls = new byte[bitmapBytes];
+    in.readFully(nulls);
+    Cell[] cells = new Cell[cellCodecs.length];
+    for (int i = 0; i < cellCodecs.length; i++) {
+      if ((nulls[i >> 3] & (1 << (i & 7))) != 0)
+        cells[i] = new Cell(null);
+      else
+        cells[i] = cellCodecs[i].read(in);
+    }
+    return new Row(cells);
+  }
+}
@@ -0,0 +1,133 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.common.Pair;
+import cn.edu.thssdb.exception.FileIOException;
+import cn.edu.thssdb.index.BPlusTree;
+import cn.edu.thssdb.index.BPlusTreeIterator;
+import cn.edu.thssdb.storage.Codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * A B+ tree on a non-primary column of a table, mapping (value, primary key) to the primary key.
+ * Null values are not indexed, no comparison selects them. The table keeps it up to date under its latch,
+ * including redo and undo at recovery, and checkpoints it together with the primary index so that both files
+ * hold the same rows.
+ */
+public class SecondaryIndex {
+  public final String name;
+  public final int column;
+  private final String path;
+  private final BPlusTree<IndexKey, Cell> tree;
+
+  SecondaryIndex(String name, int column, String path, Column indexed, Codec<Cell> primaryCodec) {
+    this.name = name;
+    this.column = column;
+    this.path = path;
+    this.tree = new BPlusTree<>(path, new KeyCodec(new CellCodec(indexed), primaryCodec), primaryCodec);
+  }
+
+  void insert(Row row, Cell primaryCell) {
+    Cell value = row.getEntries().get(column);
+    if (value.value == null)
+      return;
+    IndexKey key = new IndexKey(value, primaryCell);
+    if (!tree.contains(key))
+      tree.put(key, primaryCell);
+  }
+
+  void remove(Row row, Cell primaryCell) {
+    Cell value = row.getEntries().get(column);
+    if (value.value == null)
+      return;
+    IndexKey key = new IndexKey(value, primaryCell);
+    if (tree.contains(key))
+      tree.remove(key);
+  }
+
+  // fills the empty index from the rows of the table at once, see BPlusTree.bulkLoad()
+  void build(Iterable<Pair<Cell, Row>> rows) {
+    ArrayList<Pair<IndexKey, Cell>> entries = new ArrayList<>();
+    for (Pair<Cell, Row> entry : rows) {
+      Cell value = entry.right.getEntries().get(column);
+      if (value.value != null)
+        entries.add(new Pair<>(new IndexKey(value, entry.left), entry.left));
+    }
+    tree.bulkLoad(entries);
+  }
+
+  /**
+   * The primary keys of the rows whose value is between from and to, a null bound means no bound.
+   */
+  ArrayList<Cell> scan(Cell from, boolean fromInclusive, Cell to, boolean toInclusive) {
+    IndexKey low = from == null ? null : IndexKey.bound(from, fromInclusive ? IndexKey.LOW : IndexKey.HIGH);
+    IndexKey high = to == null ? null : IndexKey.bound(to, toInclusive ? IndexKey.HIGH : IndexKey.LOW);
+    ArrayList<Cell> keys = new ArrayList<>();
+    BPlusTreeIterator<IndexKey, Cell> iterator = tree.iterator(low, false, high, false);
+    while (iterator.hasNext())
+      keys.add(iterator.next().right);
+    return keys;
+  }
+
+  int size() {
+    return tree.size();
+  }
+
+  void flush() {
+    tree.flush();
+  }
+
+  Runnable checkpoint() {
+    return tree.checkpoint();
+  }
+
+  void drop() {
+    tree.close();
+    File file = new File(path);
+    if (file.exists() && !file.delete())
+      throw new FileIOException(path + " when dropping index " + name);
+  }
+
+  // line of the table meta file, a column line has five fields; a hash index adds its type, see HashIndex
+  static final String META_PREFIX = "INDEX,";
+
+  String toMeta(String columnName) {
+    return META_PREFIX + name + "," + columnName;
+  }
+
+  static boolean isMeta(String line) {
+    int fields = line.split(",").length;
+    return line.startsWith(META_PREFIX) && (fields == 3 || fields == 4);
+  }
+
+  private static class KeyCodec implements Codec<IndexKey> {
+    private final CellCodec valueCodec;
+    private final Codec<Cell> primaryCodec;
+
+    KeyCodec(CellCodec valueCodec, Codec<Cell> primaryCodec) {
+      this.valueCodec = valueCodec;
+      this.primaryCodec = primaryCodec;
+    }
+
+    @Override
+    public void write(DataOutput out, IndexKey key) throws IOException {
+      valueCodec.write(out, key.value);
+      primaryCodec.write(out, key.primary);
+    }
+
+    @Override
+    public IndexKey read(DataInput in) throws IOException {
+      return new IndexKey(valueCodec.read(in), primaryCodec.read(in));
+    }
+
+    @Override
+    public int width() {
+      int primaryWidth = primaryCodec.width();
+      return primaryWidth == 0 ? 0 : valueCodec.width() + primaryWidth;
+    }
+  }
+}
@@ -2,13 +2,25 @@ package cn.edu.thssdb.schema;
 
 import cn.edu.thssdb.exception.*;
 import cn.edu.thssdb.index.BPlusTree;
+import cn.edu.thssdb.index.KeyArray;
 import cn.edu.thssdb.common.Global;
 import cn.edu.thssdb.common.Pair;
+import cn.edu.thssdb.storage.Codec;
+import cn.edu.thssdb.storage.PageFile;
+import cn.edu.thssdb.storage.WriteAheadLog;
+import cn.edu.thssdb.transaction.LockManager;
+import cn.edu.thssdb.transaction.Transaction;
+import cn.edu.thssdb.transaction.VersionStore;
+import cn.edu.thssdb.type.IndexType;
+import cn.edu.thssdb.type.LockType;
 
 import java.io.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.TreeSet;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static cn.edu.thssdb.type.ColumnType.STRING;
@@ -22,38 +34,102 @@ public class Table implements Iterable<Row> {
   public String tableName;
   public ArrayList<Column> columns;
   public BPlusTree<Cell, Row> index;
-  private int primaryIndex;
+  private VersionStore<Cell, Row> versions;   // older versions of the rows read by running snapshots
+  private LinkedHashMap<String, SecondaryIndex> secondaryIndexes;
+  private LinkedHashMap<String, HashIndex> hashIndexes;
+  private volatile HashIndex primaryHash;     // hash index on a single-column primary key, serves point lookups
+  private int primaryIndex;         // the leading column of the primary key
+  private int[] primaryColumns;     // the columns of the primary key in key order
+  private WriteAheadLog log;
+  private Codec<Cell> keyCodec;
+  private RowCodec rowCodec;
+  private int fanout;               // asked for a new primary index, 0 fits its nodes to the pages
+
+  // S, X locks of the table are kept by the lock manager until the transaction of the session commits.
+  public Boolean testSLock(Long sessionId){ return LockManager.getInstance().test(sessionId, this, LockType.SHARED); }
+  public void takeSLock(Long sessionId) {
+    if (!readOptimistically(sessionId, null))
+      LockManager.getInstance().acquire(sessionId, this, LockType.SHARED);
+  }
+  public void releaseSLock(Long sessionId){ LockManager.getInstance().release(sessionId, this); }
+  public Boolean testXLock(Long sessionId){ return LockManager.getInstance().test(sessionId, this, LockType.EXCLUSIVE); }
+  public Boolean takeXLock(Long sessionId){ // 返回值false表示session之前已拥有这个表的X锁。
+    readOptimistically(sessionId, null);
+    return LockManager.getInstance().acquire(sessionId, this, LockType.EXCLUSIVE);
+  }
+  public void releaseXLock(Long sessionId){ LockManager.getInstance().release(sessionId, this); }
+
+  // row locks on primary keys, taken under an intention lock on the table so that sessions working on
+  // different rows proceed in parallel while a table S/X lock still excludes them all.
+  public void takeRowSLock(Long sessionId, Cell primaryCell) {
+    if (readOptimistically(sessionId, primaryCell))
+      return;
+    LockManager.getInstance().acquire(sessionId, this, LockType.INTENTION_SHARED);
+    LockManager.getInstance().acquire(sessionId, new Pair<>(this, primaryCell), LockType.SHARED);
+  }
+  public void takeRowXLock(Long sessionId, Cell primaryCell) {
+    readOptimistically(sessionId, primaryCell);
+    LockManager.getInstance().acquire(sessionId, this, LockType.INTENTION_EXCLUSIVE);
+    LockManager.getInstance().acquire(sessionId, new Pair<>(this, primaryCell), LockType.EXCLUSIVE);
+  }
 
-  // ADD lock variables for S, X locks and etc here.
+  // an optimistic transaction takes no read lock, it records the row (the whole table if primaryCell is null)
+  // and validates at commit that no one has changed it since its snapshot. Its writes still take the X locks,
+  // so locking readers never see its uncommitted rows and DDL waits for it like for any other writer.
+  private boolean readOptimistically(Long sessionId, Cell primaryCell) {
+    // recovery replays with sessions below 0 while the manager is still being created, they are never optimistic
+    if (sessionId < 0)
+      return false;
+    Transaction transaction = Manager.getInstance().getTransaction(sessionId);
+    if (transaction == null || !transaction.isOptimistic())
+      return false;
+    transaction.recordRead(primaryCell == null ? this : new Pair<>(this, primaryCell),
+            () -> this.changedSince(primaryCell, transaction));
+    return true;
+  }
 
-  // TODO: table/tuple level locks
-  public Boolean testSLock(Long sessionId){ return false;}
-  public void takeSLock(Long sessionId) {}
-  public void releaseSLock(Long sessionId){}
-  public Boolean testXLock(Long sessionId){ return false;}
-  public Boolean takeXLock(Long sessionId){ return false;} // 在test成功前提下拿X锁。返回值false表示session之前已拥有这个表的X锁。
-  public void releaseXLock(Long sessionId){}
+  private boolean changedSince(Cell primaryCell, Transaction reader) {
+    try {
+      this.lock.readLock().lock();
+      return this.versions.changedSince(primaryCell, reader);
+    }finally {
+      this.lock.readLock().unlock();
+    }
+  }
 
 
   // Initiate: Table, recover
-  public Table(String databaseName, String tableName, Column[] columns) {
+  public Table(String databaseName, String tableName, Column[] columns, WriteAheadLog log) {
+    this(databaseName, tableName, columns, log, 0);
+  }
+
+  public Table(String databaseName, String tableName, Column[] columns, WriteAheadLog log, int fanout) {
+    if (fanout != 0)
+      BPlusTree.checkFanout(fanout);
+    this.fanout = fanout;
     this.lock = new ReentrantReadWriteLock();
     this.databaseName = databaseName;
+    this.log = log;
     this.tableName = tableName;
     this.columns = new ArrayList<>(Arrays.asList(columns));
-    this.index = new BPlusTree<>();
     this.primaryIndex = -1;
+    this.versions = new VersionStore<>();
+    this.secondaryIndexes = new LinkedHashMap<>();
+    this.hashIndexes = new LinkedHashMap<>();
 
+    ArrayList<Integer> keyColumns = new ArrayList<>();
     for (int i=0;i<this.columns.size();i++)
     {
-      if(this.columns.get(i).isPrimary()){
-        if(this.primaryIndex >= 0)
-          throw new MultiPrimaryKeyException(this.tableName);
-        this.primaryIndex = i;
-      }
+      if(this.columns.get(i).isPrimary())
+        keyColumns.add(i);
     }
-    if(this.primaryIndex < 0)
+    if(keyColumns.isEmpty())
       throw new MultiPrimaryKeyException(this.tableName);
+    keyColumns.sort(Comparator.comparingInt(i -> this.columns.get(i).getPrimary()));
+    this.primaryColumns = new int[keyColumns.size()];
+    for (int i = 0; i < this.primaryColumns.length; i++)
+      this.primaryColumns[i] = keyColumns.get(i);
+    this.primaryIndex = this.primaryColumns[0];
 
     // TODO initiate lock status.
 
@@ -61,85 +137,377 @@ public class Table implements Iterable<Row> {
   }
 
   private void recover() {
-    // read from disk for recovering
+    // open the paged table file, nodes of the index are loaded on demand
       try {
         // TODO lock control
-        ArrayList<Row> rowsOnDisk = deserialize();
-        for(Row row: rowsOnDisk)
-          this.index.put(row.getEntries().get(this.primaryIndex), row);
+        File tableFolder = new File(this.getTableFolderPath());
+        if (!tableFolder.exists() ? !tableFolder.mkdirs() : !tableFolder.isDirectory())
+          throw new FileIOException(this.getTableFolderPath() + " when recover");
+        ArrayList<Row> legacyRows = null;
+        File tableFile = new File(this.getTablePath());
+        if (tableFile.isFile() && tableFile.length() > 0 && !PageFile.isPageFile(this.getTablePath())) {
+          legacyRows = deserialize();   // table file written row by row with java serialization
+          if (!tableFile.delete())
+            throw new FileIOException(this.getTablePath() + " when converting to paged file");
+        }
+        if (this.isCompositeKey()) {
+          ArrayList<Column> keyColumns = new ArrayList<>();
+          for (int column : this.primaryColumns)
+            keyColumns.add(this.columns.get(column));
+          this.keyCodec = new CompositeKeyCodec(keyColumns);
+        } else {
+          this.keyCodec = new CellCodec(this.columns.get(this.primaryIndex));
+        }
+        this.rowCodec = new RowCodec(this.columns);
+        this.index = new BPlusTree<>(this.getTablePath(), this.keyCodec, this.rowCodec, this.keyArray(), this.fanout);
+        if (legacyRows != null) {
+          ArrayList<Pair<Cell, Row>> entries = new ArrayList<>();
+          for (Row row : legacyRows)
+            entries.add(new Pair<>(this.primaryKey(row), row));
+          this.index.bulkLoad(entries);
+          this.index.flush();
+        }
       }finally {
         // TODO lock control
       }
   }
 
 
+  // INT and LONG primary keys are kept unboxed in the nodes of the primary index, STRING ones prefix compressed
+  private KeyArray<Cell> keyArray() {
+    if (this.isCompositeKey())
+      return KeyArray.objects();
+    switch (this.columns.get(this.primaryIndex).getColumnType()) {
+      case INT:
+        return KeyArray.ints(cell -> (Integer) cell.value, value -> new Cell(value));
+      case LONG:
+        return KeyArray.longs(cell -> (Long) cell.value, value -> new Cell(value));
+      case STRING:
+        return KeyArray.strings(cell -> (String) cell.value, value -> new Cell(value));
+      default:
+        return KeyArray.objects();
+    }
+  }
+
+
   // Operations: get, insert, delete, update, dropTable, you can add other operations.
   // remember to use locks to fill the TODOs
 
+  // this.lock keeps the B+ tree and the version store consistent during one operation, transactions are
+  // isolated by the lock manager. Point lookups go to the B+ tree directly, it is safe for concurrent use.
+  // a hash index on the primary key answers for missing keys without going down the B+ tree
   public Row get(Cell primaryCell){
+    HashIndex hashIndex = this.primaryHash;
+    if (hashIndex != null && !hashIndex.contains(primaryCell))
+      throw new KeyNotExistException();
+    return this.index.get(primaryCell);
+  }
+
+  public boolean containsKey(Cell primaryCell){
+    HashIndex hashIndex = this.primaryHash;
+    if (hashIndex == null)
+      return this.index.contains(primaryCell);
+    return hashIndex.contains(primaryCell);
+  }
+
+  // the current row with the primary key, null if there is none
+  private Row current(Cell primaryCell){
+    return this.containsKey(primaryCell) ? this.index.get(primaryCell) : null;
+  }
+
+  /**
+   * The rows in the snapshot of the transaction, in primary key order. Readers take no locks,
+   * rows changed by running or later transactions are read from their older versions.
+   */
+  public ArrayList<Row> snapshot(Transaction reader) {
+    try {
+      this.lock.readLock().lock();
+      return this.versions.snapshot(this.index.iterator(), reader);
+    }finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * The rows of the snapshot with primary keys between from and to, read by a range scan of the index.
+   */
+  public ArrayList<Row> snapshot(Transaction reader, Cell from, boolean fromInclusive, Cell to, boolean toInclusive) {
     try {
-      // TODO lock control
-      return this.index.get(primaryCell);
+      this.lock.readLock().lock();
+      return this.versions.snapshot(this.index.iterator(from, fromInclusive, to, toInclusive),
+              from, fromInclusive, to, toInclusive, reader);
     }finally {
-      // TODO lock control
+      this.lock.readLock().unlock();
     }
   }
 
-  public void insert(Row row) {
+  /**
+   * The row with the primary key in the snapshot of the transaction, null if there is none.
+   */
+  public Row read(Transaction reader, Cell primaryCell) {
     try {
-      // TODO lock control
+      this.lock.readLock().lock();
+      return this.versions.read(primaryCell, this.current(primaryCell), reader);
+    }finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * The rows of the snapshot whose column, indexed by the secondary index, is between from and to.
+   * The index only holds the newest values, so the keys changed since the oldest snapshot are checked as well.
+   */
+  public ArrayList<Row> snapshot(Transaction reader, SecondaryIndex secondaryIndex,
+                                 Cell from, boolean fromInclusive, Cell to, boolean toInclusive) {
+    try {
+      this.lock.readLock().lock();
+      TreeSet<Cell> primaryCells = new TreeSet<>(secondaryIndex.scan(from, fromInclusive, to, toInclusive));
+      primaryCells.addAll(this.versions.keys());
+      ArrayList<Row> rows = new ArrayList<>();
+      for (Cell primaryCell : primaryCells) {
+        Row row = this.versions.read(primaryCell, this.current(primaryCell), reader);
+        if (row != null && between(row.getEntries().get(secondaryIndex.column), from, fromInclusive, to, toInclusive))
+          rows.add(row);
+      }
+      return rows;
+    }finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * The rows of the snapshot whose column, indexed by the hash index, equals the value.
+   */
+  public ArrayList<Row> snapshot(Transaction reader, HashIndex hashIndex, Cell value) {
+    try {
+      this.lock.readLock().lock();
+      TreeSet<Cell> primaryCells = new TreeSet<>(hashIndex.get(value));
+      primaryCells.addAll(this.versions.keys());
+      ArrayList<Row> rows = new ArrayList<>();
+      for (Cell primaryCell : primaryCells) {
+        Row row = this.versions.read(primaryCell, this.current(primaryCell), reader);
+        if (row != null && value.equals(row.getEntries().get(hashIndex.column)))
+          rows.add(row);
+      }
+      return rows;
+    }finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  public int vacuum(long oldestSnapshot) {
+    try {
+      this.lock.writeLock().lock();
+      return this.versions.vacuum(oldestSnapshot);
+    }finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  // changes of a session are logged before they are applied, negative sessions (recovery) are not logged
+  public void insert(long session, Row row) {
+    Transaction writer = this.writerOf(session);
+    try {
+      this.lock.writeLock().lock();
       this.checkRowValidInTable(row);
+      Cell primaryCell = this.primaryKey(row);
+      this.checkWrite(writer, primaryCell);
       if(this.containsRow(row))
         throw new DuplicateKeyException();
-      this.index.put(row.getEntries().get(this.primaryIndex), row);
+      this.writeLog(session, WriteAheadLog.INSERT, null, row, null);
+      this.writeVersion(session, writer, primaryCell, null, row);
+      this.index.put(primaryCell, row);
+      this.indexRow(row, primaryCell);
       }finally {
-      // TODO lock control
+      this.lock.writeLock().unlock();
     }
   }
 
-  public void delete(Row row) {
+  public void delete(long session, Row row) {
+    Transaction writer = this.writerOf(session);
     try {
-      // TODO lock control.
+      this.lock.writeLock().lock();
       this.checkRowValidInTable(row);
       if(!this.containsRow(row))
         throw new KeyNotExistException();
-      this.index.remove(row.getEntries().get(this.primaryIndex));
+      Cell primaryCell = this.primaryKey(row);
+      this.checkWrite(writer, primaryCell);
+      Row oldRow = this.index.get(primaryCell);
+      this.writeLog(session, WriteAheadLog.DELETE, primaryCell, null, oldRow);
+      this.writeVersion(session, writer, primaryCell, oldRow, null);
+      this.index.remove(primaryCell);
+      this.unindexRow(oldRow, primaryCell);
     }finally {
-      // TODO lock control.
+      this.lock.writeLock().unlock();
     }
   }
 
-  public void update(Cell primaryCell, Row newRow) {
+  public void update(long session, Cell primaryCell, Row newRow) {
+    Transaction writer = this.writerOf(session);
     try {
-      // TODO lock control.
+      this.lock.writeLock().lock();
       this.checkRowValidInTable(newRow);
-      Row oldRow = this.get(primaryCell);
-      if(this.containsRow(newRow))
+      if(!this.index.contains(primaryCell))
+        throw new KeyNotExistException();
+      Cell newPrimaryCell = this.primaryKey(newRow);
+      this.checkWrite(writer, primaryCell);
+      if (!newPrimaryCell.equals(primaryCell))
+        this.checkWrite(writer, newPrimaryCell);
+      if(!newPrimaryCell.equals(primaryCell) && this.containsRow(newRow))
         throw new DuplicateKeyException();   // 要么删并插入，要么抛出异常
+      Row oldRow = this.index.get(primaryCell);
+      this.writeLog(session, WriteAheadLog.UPDATE, primaryCell, newRow, oldRow);
+      if (newPrimaryCell.equals(primaryCell)) {
+        this.writeVersion(session, writer, primaryCell, oldRow, newRow);
+      } else {
+        this.writeVersion(session, writer, primaryCell, oldRow, null);
+        this.writeVersion(session, writer, newPrimaryCell, null, newRow);
+      }
       this.index.remove(primaryCell);
-      this.index.put(newRow.getEntries().get(this.primaryIndex), newRow);
+      this.index.put(newPrimaryCell, newRow);
+      this.unindexRow(oldRow, primaryCell);
+      this.indexRow(newRow, newPrimaryCell);
     }finally {
-      // TODO lock control.
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Re-applies a logged change. A change sets the row of a key rather than modifying it, so it may be
+   * applied to a table file that already holds it (the file is as of a checkpoint, logged changes before
+   * and after it are replayed alike).
+   */
+  void redo(byte type, DataInput in) throws IOException {
+    if (type == WriteAheadLog.DELETE || type == WriteAheadLog.UPDATE)
+      this.setRow(this.keyCodec.read(in), null);
+    if (type == WriteAheadLog.INSERT || type == WriteAheadLog.UPDATE) {
+      Row row = this.rowCodec.read(in);
+      this.setRow(this.primaryKey(row), row);
     }
   }
 
-  private void serialize() {
+  /**
+   * Reverts a logged change of a transaction that did not finish before the crash, by its before-image.
+   * Returns false for a record written before the log kept before-images.
+   */
+  boolean undo(byte type, DataInputStream in) throws IOException {
+    if (type == WriteAheadLog.INSERT) {
+      this.setRow(this.primaryKey(this.rowCodec.read(in)), null);
+      return true;
+    }
+    Cell primaryCell = this.keyCodec.read(in);
+    Row after = type == WriteAheadLog.UPDATE ? this.rowCodec.read(in) : null;
+    if (in.available() == 0)
+      return false;
+    Row before = this.rowCodec.read(in);
+    if (after != null)
+      this.setRow(this.primaryKey(after), null);
+    this.setRow(primaryCell, before);
+    return true;
+  }
+
+  // recovery: the key gets the row, or none for null
+  private void setRow(Cell primaryCell, Row row) {
+    if (this.index.contains(primaryCell)) {
+      this.unindexRow(this.index.get(primaryCell), primaryCell);
+      if (row == null)
+        this.index.remove(primaryCell);
+      else
+        this.index.update(primaryCell, row);
+    } else if (row != null) {
+      this.index.put(primaryCell, row);
+    }
+    if (row != null)
+      this.indexRow(row, primaryCell);
+  }
+
+  // null for recovery, whose changes are neither versioned nor undone
+  private Transaction writerOf(long session) {
+    if (session < 0)
+      return null;
+    Transaction writer = Manager.getInstance().getTransaction(session);
+    return writer == null ? Transaction.COMMITTED : writer;
+  }
+
+  // before anything is logged: the key must not be changed by another running transaction
+  private void checkWrite(Transaction writer, Cell primaryCell) {
+    if (writer != null)
+      this.versions.checkWrite(primaryCell, writer);
+  }
+
+  // keeps the before-image for older snapshots and for the undo log of the transaction
+  private void writeVersion(long session, Transaction writer, Cell primaryCell, Row before, Row after) {
+    if (writer == null)
+      return;
+    this.versions.write(primaryCell, before, after, writer);
+    if (writer != Transaction.COMMITTED)
+      writer.addUndo(() -> this.restore(session, writer, primaryCell, after, before));
+  }
+
+  /**
+   * Puts the before-image of a key back while rolling back. It is logged like any other change of
+   * the session, so redo of the transaction followed by its ABORT record leaves the key unchanged.
+   */
+  private void restore(long session, Transaction writer, Cell primaryCell, Row current, Row before) {
     try {
-      File tableFolder = new File(this.getTableFolderPath());
-      if (!tableFolder.exists() ? !tableFolder.mkdirs() : !tableFolder.isDirectory())
-        throw new FileIOException(this.getTableFolderPath() + " on serializing table in folder");
-      File tableFile = new File(this.getTablePath());
-      if (!tableFile.exists() ? !tableFile.createNewFile() : !tableFile.isFile())
-        throw new FileIOException(this.getTablePath() + " on serializing table to file");
-      FileOutputStream fileOutputStream = new FileOutputStream(this.getTablePath());
-      ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream);
-      for(Row row: this)
-        objectOutputStream.writeObject(row);
-      objectOutputStream.close();
-      fileOutputStream.close();
-    }catch (IOException e){
-      throw new FileIOException(this.getTablePath() + " on serializing");
+      this.lock.writeLock().lock();
+      if (before == null) {
+        this.writeLog(session, WriteAheadLog.DELETE, primaryCell, null, current);
+        this.index.remove(primaryCell);
+      } else if (current == null) {
+        this.writeLog(session, WriteAheadLog.INSERT, null, before, null);
+        this.index.put(primaryCell, before);
+      } else {
+        this.writeLog(session, WriteAheadLog.UPDATE, primaryCell, before, current);
+        this.index.update(primaryCell, before);
+      }
+      if (current != null)
+        this.unindexRow(current, primaryCell);
+      if (before != null)
+        this.indexRow(before, primaryCell);
+      this.versions.write(primaryCell, current, before, writer);
+    }finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  // secondary indexes follow the rows of the primary index under this.lock
+  private void indexRow(Row row, Cell primaryCell) {
+    for (SecondaryIndex secondaryIndex : this.secondaryIndexes.values())
+      secondaryIndex.insert(row, primaryCell);
+    for (HashIndex hashIndex : this.hashIndexes.values())
+      hashIndex.insert(row, primaryCell);
+  }
+
+  private void unindexRow(Row row, Cell primaryCell) {
+    for (SecondaryIndex secondaryIndex : this.secondaryIndexes.values())
+      secondaryIndex.remove(row, primaryCell);
+    for (HashIndex hashIndex : this.hashIndexes.values())
+      hashIndex.remove(row, primaryCell);
+  }
+
+  // record payload: table name, then the old primary key for DELETE/UPDATE, the new row for INSERT/UPDATE
+  // and the old row for DELETE/UPDATE, to undo the change of a transaction cut off by a crash
+  private void writeLog(long session, byte type, Cell primaryCell, Row row, Row before) {
+    if (this.log == null || session < 0)
+      return;
+    // the first change of a transaction in this database logs its BEGIN here, before the change
+    Transaction transaction = Manager.getInstance().getTransaction(session);
+    if (transaction != null && transaction.addDatabase(this.databaseName))
+      Manager.getInstance().get(this.databaseName).logBegin(session);
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(buffer)) {
+      out.writeUTF(this.tableName);
+      if (primaryCell != null)
+        this.keyCodec.write(out, primaryCell);
+      if (row != null)
+        this.rowCodec.write(out, row);
+      if (before != null)
+        this.rowCodec.write(out, before);
+    } catch (IOException e) {
+      throw new FileIOException(this.tableName + " when writing log");
     }
+    this.log.append(session, type, buffer.toByteArray());
   }
 
   private ArrayList<Row> deserialize() {
@@ -168,19 +536,40 @@ public class Table implements Iterable<Row> {
     }
   }
 
+  /**
+   * Checkpoints the primary and the secondary indexes together, so that their files match each other.
+   * They are taken while no statement changes the table and written afterwards, once the log records of the
+   * changes they hold are on disk.
+   */
   public void persist(){
+    ArrayList<Runnable> checkpoints = new ArrayList<>();
+    long lsn;
     try {
-      // TODO add lock control.
-      serialize();
+      this.lock.readLock().lock();
+      checkpoints.add(this.index.checkpoint());
+      for (SecondaryIndex secondaryIndex : this.secondaryIndexes.values())
+        checkpoints.add(secondaryIndex.checkpoint());
+      for (HashIndex hashIndex : this.hashIndexes.values())
+        checkpoints.add(hashIndex.checkpoint());
+      lsn = this.log == null ? 0 : this.log.getEndLsn();
     }
     finally {
-      // TODO add lock control.
+      this.lock.readLock().unlock();
     }
+    if (this.log != null)
+      this.log.flush(lsn);
+    for (Runnable checkpoint : checkpoints)
+      checkpoint.run();
   }
 
   public void dropTable(){ // remove table data file
     try {
       // TODO lock control.
+      this.index.close();
+      for (SecondaryIndex secondaryIndex : this.secondaryIndexes.values())
+        secondaryIndex.drop();
+      for (HashIndex hashIndex : this.hashIndexes.values())
+        hashIndex.drop();
       File tableFolder = new File(this.getTableFolderPath());
       if (!tableFolder.exists() ? !tableFolder.mkdirs() : !tableFolder.isDirectory())
         throw new FileIOException(this.getTableFolderPath() + " when dropTable");
@@ -193,6 +582,130 @@ public class Table implements Iterable<Row> {
     }
   }
 
+    /**
+     * Builds a secondary index on the column from the rows of the table. When opening a table, an index
+     * whose file is there is only opened.
+     */
+    public void createIndex(String name, String columnName, IndexType type) {
+      if (type == IndexType.HASH)
+        this.addHashIndex(name, columnName, true);
+      else
+        this.addIndex(name, columnName, true);
+    }
+
+    void openIndex(String name, String columnName, IndexType type) {
+      boolean build = !PageFile.isPageFile(this.getIndexPath(name));
+      if (type == IndexType.HASH)
+        this.addHashIndex(name, columnName, build);
+      else
+        this.addIndex(name, columnName, build);
+    }
+
+    private int checkNewIndex(String name, String columnName) {
+      if (this.secondaryIndexes.containsKey(name) || this.hashIndexes.containsKey(name))
+        throw new DuplicateIndexException(name);
+      int column = this.findColumnIdx(columnName);
+      if (column < 0)
+        throw new KeyNotExistException();
+      return column;
+    }
+
+    private void addHashIndex(String name, String columnName, boolean build) {
+      try {
+        this.lock.writeLock().lock();
+        int column = this.checkNewIndex(name, columnName);
+        String path = this.getIndexPath(name);
+        File file = new File(path);
+        if (build && file.exists() && !file.delete())
+          throw new FileIOException(path + " when creating index " + name);
+        HashIndex hashIndex = new HashIndex(name, column, path, this.columns.get(column), this.keyCodec);
+        if (build) {
+          for (Pair<Cell, Row> entry : this.index)
+            hashIndex.insert(entry.right, entry.left);
+          hashIndex.flush();
+        }
+        this.hashIndexes.put(name, hashIndex);
+        if (column == this.primaryIndex && !this.isCompositeKey() && this.primaryHash == null)
+          this.primaryHash = hashIndex;
+      }finally {
+        this.lock.writeLock().unlock();
+      }
+    }
+
+    private void addIndex(String name, String columnName, boolean build) {
+      try {
+        this.lock.writeLock().lock();
+        int column = this.checkNewIndex(name, columnName);
+        String path = this.getIndexPath(name);
+        File file = new File(path);
+        if (build && file.exists() && !file.delete())
+          throw new FileIOException(path + " when creating index " + name);
+        SecondaryIndex secondaryIndex = new SecondaryIndex(name, column, path, this.columns.get(column), this.keyCodec);
+        if (build) {
+          secondaryIndex.build(this.index);
+          secondaryIndex.flush();
+        }
+        this.secondaryIndexes.put(name, secondaryIndex);
+      }finally {
+        this.lock.writeLock().unlock();
+      }
+    }
+
+    public void dropIndex(String name) {
+      try {
+        this.lock.writeLock().lock();
+        HashIndex hashIndex = this.hashIndexes.remove(name);
+        if (hashIndex != null) {
+          if (hashIndex == this.primaryHash)
+            this.primaryHash = this.isCompositeKey() ? null : this.getHashIndexOn(this.primaryIndex);
+          hashIndex.drop();
+          return;
+        }
+        SecondaryIndex secondaryIndex = this.secondaryIndexes.remove(name);
+        if (secondaryIndex == null)
+          throw new IndexNotExistException(name);
+        secondaryIndex.drop();
+      }finally {
+        this.lock.writeLock().unlock();
+      }
+    }
+
+    // the first secondary index on the column, null if there is none
+    public SecondaryIndex getIndexOn(int column) {
+      try {
+        this.lock.readLock().lock();
+        for (SecondaryIndex secondaryIndex : this.secondaryIndexes.values())
+          if (secondaryIndex.column == column)
+            return secondaryIndex;
+        return null;
+      }finally {
+        this.lock.readLock().unlock();
+      }
+    }
+
+    // the first hash index on the column, null if there is none
+    public HashIndex getHashIndexOn(int column) {
+      try {
+        this.lock.readLock().lock();
+        for (HashIndex hashIndex : this.hashIndexes.values())
+          if (hashIndex.column == column)
+            return hashIndex;
+        return null;
+      }finally {
+        this.lock.readLock().unlock();
+      }
+    }
+
+    // lines of the meta file describing the secondary indexes
+    ArrayList<String> getIndexMeta() {
+      ArrayList<String> lines = new ArrayList<>();
+      for (SecondaryIndex secondaryIndex : this.secondaryIndexes.values())
+        lines.add(secondaryIndex.toMeta(this.columns.get(secondaryIndex.column).getColumnName()));
+      for (HashIndex hashIndex : this.hashIndexes.values())
+        lines.add(hashIndex.toMeta(this.columns.get(hashIndex.column).getColumnName()));
+      return lines;
+    }
+
     public int findColumnIdx(String name) {
       for (int i = 0; i < this.columns.size(); ++i) {
         if (this.columns.get(i).getColumnName().equals(name))
@@ -212,8 +725,8 @@ public class Table implements Iterable<Row> {
   private class TableIterator implements Iterator<Row> {
     private Iterator<Pair<Cell, Row>> iterator;
 
-    TableIterator(Table table) {
-      this.iterator = table.index.iterator();
+    TableIterator(Iterator<Pair<Cell, Row>> iterator) {
+      this.iterator = iterator;
     }
 
     @Override
@@ -229,7 +742,65 @@ public class Table implements Iterable<Row> {
 
   @Override
   public Iterator<Row> iterator() {
-    return new TableIterator(this);
+    return new TableIterator(this.index.iterator());
+  }
+
+  /**
+   * The current rows whose column, indexed by the secondary index, is between from and to.
+   */
+  public Iterator<Row> iterator(SecondaryIndex secondaryIndex, Cell from, boolean fromInclusive, Cell to, boolean toInclusive) {
+    try {
+      this.lock.readLock().lock();
+      ArrayList<Row> rows = new ArrayList<>();
+      for (Cell primaryCell : secondaryIndex.scan(from, fromInclusive, to, toInclusive)) {
+        Row row = this.current(primaryCell);
+        if (row != null && between(row.getEntries().get(secondaryIndex.column), from, fromInclusive, to, toInclusive))
+          rows.add(row);
+      }
+      return rows.iterator();
+    }finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * The current rows whose column, indexed by the hash index, equals the value.
+   */
+  public Iterator<Row> iterator(HashIndex hashIndex, Cell value) {
+    try {
+      this.lock.readLock().lock();
+      ArrayList<Row> rows = new ArrayList<>();
+      for (Cell primaryCell : hashIndex.get(value)) {
+        Row row = this.current(primaryCell);
+        if (row != null)
+          rows.add(row);
+      }
+      return rows.iterator();
+    }finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private static boolean between(Cell value, Cell from, boolean fromInclusive, Cell to, boolean toInclusive) {
+    if (value.value == null)
+      return false;
+    if (from != null) {
+      int order = value.compareTo(from);
+      if (order < 0 || (order == 0 && !fromInclusive))
+        return false;
+    }
+    if (to != null) {
+      int order = value.compareTo(to);
+      return order < 0 || (order == 0 && toInclusive);
+    }
+    return true;
+  }
+
+  /**
+   * The current rows with primary keys between from and to, a null bound means no bound.
+   */
+  public Iterator<Row> iterator(Cell from, boolean fromInclusive, Cell to, boolean toInclusive) {
+    return new TableIterator(this.index.iterator(from, fromInclusive, to, toInclusive));
   }
 
   private void checkRowValidInTable(Row row){
@@ -252,7 +823,7 @@ public class Table implements Iterable<Row> {
   }
 
   private Boolean containsRow(Row row){
-    return this.index.contains(row.getEntries().get(this.primaryIndex));
+    return this.containsKey(this.primaryKey(row));
   }
 
   public String getTableFolderPath(){
@@ -261,6 +832,9 @@ public class Table implements Iterable<Row> {
   public String getTablePath(){
     return this.getTableFolderPath() + File.separator + this.tableName;
   }
+  public String getIndexPath(String indexName){
+    return this.getTablePath() + "." + indexName + Global.INDEX_SUFFIX;
+  }
   public String getTableMetaPath(){
     return this.getTablePath() + Global.META_SUFFIX;
   }
@@ -275,4 +849,23 @@ public class Table implements Iterable<Row> {
     return primaryIndex;
   }
 
+  public boolean isCompositeKey(){
+    return primaryColumns.length > 1;
+  }
+
+  /**
+   * The primary key of the row, a CompositeKey cell if the key has several columns. Null if a key column is null.
+   */
+  public Cell primaryKey(Row row){
+    if (!this.isCompositeKey())
+      return row.getEntries().get(this.primaryIndex);
+    Comparable<?>[] values = new Comparable<?>[primaryColumns.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = row.getEntries().get(primaryColumns[i]).value;
+      if (values[i] == null)
+        return new Cell(null);
+    }
+    return new Cell(new CompositeKey(values));
+  }
+
 }
@@ -5,7 +5,7 @@ import cn.edu.thssdb.schema.Manager;
 import cn.edu.thssdb.service.IServiceHandler;
 import cn.edu.thssdb.common.Global;
 import org.apache.thrift.server.TServer;
-import org.apache.thrift.server.TSimpleServer;
+import org.apache.thrift.server.TThreadPoolServer;
 import org.apache.thrift.transport.TServerSocket;
 import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
@@ -41,7 +41,8 @@ public class ThssDB {
   private static void setUp(IService.Processor processor) {
     try {
       transport = new TServerSocket(Global.DEFAULT_SERVER_PORT);
-      server = new TSimpleServer(new TServer.Args(transport).processor(processor));
+      // one worker thread per connection, sessions are isolated by the lock manager
+      server = new TThreadPoolServer(new TThreadPoolServer.Args(transport).processor(processor));
       logger.info("Starting ThssDB ...");
       server.serve();
     } catch (TTransportException e) {
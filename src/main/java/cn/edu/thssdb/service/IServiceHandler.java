@@ -50,7 +50,10 @@ public class IServiceHandler implements IService.Iface {
 
   @Override
   public ConnectResp connect(ConnectReq req) throws TException {
-    long session = sessionCount++;
+    long session;
+    synchronized (this) {   // connections are served by several threads
+      session = sessionCount++;
+    }
     ConnectResp resp = new ConnectResp();
     resp.setStatus(new Status(Global.SUCCESS_CODE));
     resp.setSessionId(session);
@@ -88,11 +91,14 @@ public class IServiceHandler implements IService.Iface {
       if ((Arrays.asList(CMD_HEADS).contains(cmd_head.toLowerCase())) && !manager.currentSessions.contains(session)) {
         sqlHandler.evaluate("begin transaction", session);
         queryResults = sqlHandler.evaluate(statement, session);
-        sqlHandler.evaluate("commit", session);
+        if (!isAborted(queryResults))
+          sqlHandler.evaluate("commit", session);
       } else queryResults = sqlHandler.evaluate(statement, session);
-      if (queryResults == null || queryResults.size() == 0) {
+      if (queryResults == null || queryResults.size() == 0 || isAborted(queryResults)) {
         resp.setStatus(new Status(Global.SUCCESS_CODE));
         resp.setIsAbort(true);
+        if (queryResults != null && queryResults.size() > 0)
+          resp.addToColumnsList(queryResults.get(0).errorMessage);
         return resp;
       }
       results.addAll(queryResults);
@@ -120,4 +126,9 @@ public class IServiceHandler implements IService.Iface {
 
     return resp;
   }
+
+  private static boolean isAborted(ArrayList<QueryResult> queryResults) {
+    return queryResults != null && queryResults.size() > 0 && queryResults.get(0) != null
+            && queryResults.get(0).resultType == QueryResultType.ABORT;
+  }
 }
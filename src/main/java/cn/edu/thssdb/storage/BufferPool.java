@@ -0,0 +1,453 @@
+package cn.edu.thssdb.storage;
+
+import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.common.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * BufferPool caches pages of every paged file in a fixed number of frames.
+ * A page is pinned while it is in use and can only be evicted once its pin count drops to zero.
+ * Victims are chosen by the CLOCK algorithm; dirty victims are written back through their source
+ * before the frame is reused. A background flusher writes dirty unpinned pages back ahead of time
+ * so that eviction rarely has to wait for a write.
+ * The flusher and checkpoints take a snapshot of a page under the pool lock and write it without
+ * holding the lock, so writers are only blocked while a single page is being encoded.
+ * Sources decide where a page goes when it is written back, e.g. a source that must keep the pages of its
+ * last checkpoint intact writes every image to a new place (see DiskNodeStore).
+ */
+public final class BufferPool {
+
+  /**
+   * The owner of a set of pages, e.g. the node store of one B+ tree.
+   */
+  public interface PageSource<T> {
+    T load(int pageId);
+
+    byte[] encode(T page);
+
+    void write(int pageId, byte[] image);
+  }
+
+  private static final class PageKey {
+    final PageSource<?> source;
+    final int pageId;
+
+    PageKey(PageSource<?> source, int pageId) {
+      this.source = source;
+      this.pageId = pageId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof PageKey))
+        return false;
+      PageKey other = (PageKey) obj;
+      return source == other.source && pageId == other.pageId;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(source) * 31 + pageId;
+    }
+  }
+
+  private static final class Frame {
+    PageKey key;
+    Object page;
+    int pinCount;
+    boolean dirty;
+    boolean referenced;
+    boolean writing;
+  }
+
+  private final Frame[] frames;
+  private final HashMap<PageKey, Frame> pageTable;
+  private final ArrayList<Frame> freeFrames;
+  private int clockHand;
+  private int dirtyCount;
+  private int waiters;
+
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long writeBacks;
+
+  public static BufferPool getInstance() {
+    return BufferPoolHolder.INSTANCE;
+  }
+
+  public BufferPool(int capacity) {
+    this.frames = new Frame[capacity];
+    this.pageTable = new HashMap<>(capacity * 2);
+    this.freeFrames = new ArrayList<>(capacity);
+    for (int i = capacity - 1; i >= 0; i--) {
+      frames[i] = new Frame();
+      freeFrames.add(frames[i]);
+    }
+  }
+
+  /**
+   * Returns the page, loading it from its source on a miss. The page stays pinned until unpin().
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <T> T pin(PageSource<T> source, int pageId) {
+    PageKey key = new PageKey(source, pageId);
+    Frame frame = pageTable.get(key);
+    if (frame != null) {
+      hits++;
+    } else {
+      misses++;
+      frame = victim();
+      try {
+        frame.page = source.load(pageId);
+      } catch (RuntimeException e) {
+        freeFrames.add(frame);
+        throw e;
+      }
+      frame.key = key;
+      pageTable.put(key, frame);
+    }
+    frame.pinCount++;
+    frame.referenced = true;
+    return (T) frame.page;
+  }
+
+  /**
+   * Pins the page only if it is in the pool, returns null on a miss without loading it.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <T> T pinIfCached(PageSource<T> source, int pageId) {
+    Frame frame = pageTable.get(new PageKey(source, pageId));
+    if (frame == null)
+      return null;
+    hits++;
+    frame.pinCount++;
+    frame.referenced = true;
+    return (T) frame.page;
+  }
+
+  /**
+   * Puts a newly created page into the pool, pinned and dirty.
+   */
+  public synchronized <T> void add(PageSource<T> source, int pageId, T page) {
+    PageKey key = new PageKey(source, pageId);
+    Frame frame = pageTable.get(key);
+    if (frame == null) {
+      frame = victim();
+      frame.key = key;
+      pageTable.put(key, frame);
+    }
+    frame.page = page;
+    frame.pinCount++;
+    frame.referenced = true;
+    markDirty(frame);
+  }
+
+  public synchronized void unpin(PageSource<?> source, int pageId, boolean dirty) {
+    Frame frame = pageTable.get(new PageKey(source, pageId));
+    if (frame == null)
+      return;   // discarded while pinned
+    if (frame.pinCount > 0)
+      frame.pinCount--;
+    if (dirty)
+      markDirty(frame);
+    if (frame.pinCount == 0 && waiters > 0)
+      notifyAll();
+  }
+
+  /**
+   * Drops a page without writing it back, e.g. when it has been freed. Waits for a write of the page to finish.
+   */
+  public synchronized void discard(PageSource<?> source, int pageId) {
+    PageKey key = new PageKey(source, pageId);
+    Frame frame;
+    while ((frame = pageTable.get(key)) != null && frame.writing)
+      awaitWrite();
+    if (frame != null) {
+      pageTable.remove(key);
+      reset(frame);
+    }
+    if (waiters > 0)
+      notifyAll();
+  }
+
+  /**
+   * Takes the images of every dirty page of the source for a checkpoint, once the writes of its pages running
+   * meanwhile are done. The pages count as clean and are neither evicted nor written back until the caller
+   * has written each image and called endWrite().
+   */
+  public synchronized <T> List<Pair<Integer, byte[]>> takeDirty(PageSource<T> source) {
+    while (writing(source))
+      awaitWrite();
+    List<Pair<Integer, byte[]>> images = new ArrayList<>();
+    for (Frame frame : pageTable.values()) {
+      if (frame.key.source != source || !frame.dirty)
+        continue;
+      @SuppressWarnings("unchecked")
+      T page = (T) frame.page;
+      images.add(new Pair<>(frame.key.pageId, source.encode(page)));
+      frame.dirty = false;
+      frame.writing = true;
+      dirtyCount--;
+      writeBacks++;
+    }
+    return images;
+  }
+
+  /**
+   * Ends the write of a page taken by takeDirty(), a page whose image could not be written is dirty again.
+   */
+  public synchronized void endWrite(PageSource<?> source, int pageId, boolean written) {
+    Frame frame = pageTable.get(new PageKey(source, pageId));
+    if (frame == null)
+      return;
+    frame.writing = false;
+    if (!written)
+      markDirty(frame);
+    notifyAll();
+  }
+
+  /**
+   * Fuzzy checkpoint of one source: writes back every page of the source that is dirty when the call
+   * starts, waiting for pinned pages to be unpinned. Pages dirtied again meanwhile are left for the next call.
+   */
+  public void flush(PageSource<?> source) {
+    List<PageKey> keys = new ArrayList<>();
+    synchronized (this) {
+      for (Frame frame : pageTable.values())
+        if (frame.dirty && frame.key.source == source)
+          keys.add(frame.key);
+    }
+    for (PageKey key : keys) {
+      Frame frame;
+      synchronized (this) {
+        waiters++;
+        try {
+          while ((frame = pageTable.get(key)) != null && (frame.pinCount > 0 || frame.writing))
+            wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } finally {
+          waiters--;
+        }
+        if (frame == null || !frame.dirty)
+          continue;   // evicted or written by someone else
+      }
+      writeOutside(frame);
+    }
+  }
+
+  /**
+   * Drops every page of the source without writing it back, e.g. when its file is closed or deleted.
+   */
+  public synchronized void discardAll(PageSource<?> source) {
+    while (writing(source))
+      awaitWrite();
+    Iterator<Frame> iterator = pageTable.values().iterator();
+    while (iterator.hasNext()) {
+      Frame frame = iterator.next();
+      if (frame.key.source == source) {
+        iterator.remove();
+        reset(frame);
+      }
+    }
+    if (waiters > 0)
+      notifyAll();
+  }
+
+  /**
+   * Writes back up to limit dirty pages that are not pinned, returns the number of pages written.
+   */
+  public int flushSome(int limit) {
+    int written = 0;
+    for (int i = 0; i < frames.length && written < limit; i++) {
+      Frame frame = frames[i];
+      synchronized (this) {
+        if (dirtyCount == 0)
+          break;
+        if (frame.key == null || !frame.dirty || frame.pinCount > 0 || frame.writing)
+          continue;
+      }
+      if (writeOutside(frame))
+        written++;
+    }
+    return written;
+  }
+
+  public int getCapacity() {
+    return frames.length;
+  }
+
+  public synchronized int getDirtyCount() {
+    return dirtyCount;
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  public synchronized long getWriteBacks() {
+    return writeBacks;
+  }
+
+  public synchronized double getHitRatio() {
+    return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+  }
+
+  public synchronized String toString() {
+    return String.format("BufferPool{capacity=%d, used=%d, dirty=%d, hits=%d, misses=%d, hitRatio=%.4f, evictions=%d, writeBacks=%d}",
+            frames.length, pageTable.size(), dirtyCount, hits, misses, getHitRatio(), evictions, writeBacks);
+  }
+
+  private Frame victim() {
+    if (!freeFrames.isEmpty())
+      return freeFrames.remove(freeFrames.size() - 1);
+    // two full sweeps clear every reference bit, a third one finds a victim if any frame is unpinned
+    for (int i = 0; i < 3 * frames.length; i++) {
+      Frame frame = frames[clockHand];
+      clockHand = (clockHand + 1) % frames.length;
+      if (frame.pinCount > 0 || frame.writing)
+        continue;
+      if (frame.referenced) {
+        frame.referenced = false;
+        continue;
+      }
+      if (frame.dirty)
+        writeBack(frame);
+      pageTable.remove(frame.key);
+      clear(frame);
+      evictions++;
+      return frame;
+    }
+    throw new IllegalStateException("all " + frames.length + " frames of the buffer pool are pinned");
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeBack(Frame frame) {
+    PageSource<Object> source = (PageSource<Object>) frame.key.source;
+    source.write(frame.key.pageId, source.encode(frame.page));
+    frame.dirty = false;
+    dirtyCount--;
+    writeBacks++;
+  }
+
+  /**
+   * Encodes the page under the pool lock and writes the image without holding it. A frame being written
+   * is neither evicted nor written by anyone else, so writes of the same page never overtake each other.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean writeOutside(Frame frame) {
+    PageSource<Object> source;
+    int pageId;
+    byte[] image;
+    synchronized (this) {
+      if (frame.key == null || !frame.dirty || frame.pinCount > 0 || frame.writing)
+        return false;
+      source = (PageSource<Object>) frame.key.source;
+      pageId = frame.key.pageId;
+      image = source.encode(frame.page);
+      frame.dirty = false;
+      frame.writing = true;
+      dirtyCount--;
+      writeBacks++;
+    }
+    try {
+      source.write(pageId, image);
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        markDirty(frame);
+      }
+      throw e;
+    } finally {
+      synchronized (this) {
+        frame.writing = false;
+        notifyAll();
+      }
+    }
+    return true;
+  }
+
+  private boolean writing(PageSource<?> source) {
+    for (Frame frame : pageTable.values())
+      if (frame.writing && frame.key.source == source)
+        return true;
+    return false;
+  }
+
+  private void awaitWrite() {
+    waiters++;
+    try {
+      wait();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted while waiting for a page write");
+    } finally {
+      waiters--;
+    }
+  }
+
+  private void markDirty(Frame frame) {
+    if (!frame.dirty) {
+      frame.dirty = true;
+      dirtyCount++;
+      if (dirtyCount > frames.length / 2)
+        notifyAll();
+    }
+  }
+
+  private void reset(Frame frame) {
+    clear(frame);
+    freeFrames.add(frame);
+  }
+
+  private void clear(Frame frame) {
+    if (frame.dirty)
+      dirtyCount--;
+    frame.key = null;
+    frame.page = null;
+    frame.pinCount = 0;
+    frame.dirty = false;
+    frame.referenced = false;
+    frame.writing = false;
+  }
+
+  private void runFlusher() {
+    while (true) {
+      synchronized (this) {
+        try {
+          wait(Global.bufferPoolFlushInterval);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+      flushSome(Math.max(1, frames.length / 8));
+    }
+  }
+
+  private static class BufferPoolHolder {
+    private static final BufferPool INSTANCE = new BufferPool(Global.bufferPoolSize);
+
+    static {
+      Thread flusher = new Thread(INSTANCE::runFlusher, "buffer-pool-flusher");
+      flusher.setDaemon(true);
+      flusher.start();
+    }
+
+    private BufferPoolHolder() {
+
+    }
+  }
+}
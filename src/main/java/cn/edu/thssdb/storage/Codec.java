@@ -0,0 +1,21 @@
+package cn.edu.thssdb.storage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codec turns keys and values into bytes so that they can be kept in pages.
+ */
+public interface Codec<T> {
+  void write(DataOutput out, T value) throws IOException;
+
+  T read(DataInput in) throws IOException;
+
+  /**
+   * Bytes a value usually takes once written, 0 if not known. On-disk B+ trees size their nodes by it.
+   */
+  default int width() {
+    return 0;
+  }
+}
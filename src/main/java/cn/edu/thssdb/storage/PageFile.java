@@ -0,0 +1,328 @@
+package cn.edu.thssdb.storage;
+
+import cn.edu.thssdb.exception.FileIOException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * PageFile stores records in chains of fixed-size pages of a single file, each page starting with the id of
+ * the next page of the chain and the number of bytes used in this page. A record is never overwritten:
+ * write() puts it into newly allocated pages and free() gives the pages of an old one back, so the pages the
+ * last sync() refers to stay intact until the next one (shadow paging).
+ * Page 0 is the header page: magic and page size, then two copies of the state of the last sync(), i.e. the
+ * page count, the record listing the free pages and a few meta slots left to the owner (e.g. root and size
+ * of a B+ tree). A sync overwrites the older copy only; each copy has a sequence number and a checksum, so
+ * a crash while writing one leaves the other and the file always opens as of a completed sync.
+ * Free pages are tracked in memory. The list written by a sync also holds every page written since the
+ * previous one that the new state does not refer to, after a crash they are reused like the others.
+ */
+public class PageFile implements Closeable {
+  public static final int META_SLOTS = 16;
+
+  private static final int MAGIC = 0x54485342;
+  private static final int NO_PAGE = 0;   // page 0 is the header, it never appears in a chain
+  private static final int PAGE_HEADER = 8;
+  private static final int STATE_SIZE = 8 + 4 + 4 + 8 * META_SLOTS + 4;
+  private static final int HEADER_SIZE = 8 + 2 * STATE_SIZE;
+
+  private final String path;
+  private final int pageSize;
+  private final RandomAccessFile file;
+  private final FileChannel channel;
+  private final Object syncLock = new Object();
+  private int pageCount;
+  private final ArrayDeque<Integer> freePages;
+  private final BitSet written;   // pages allocated since the last sync took its list of free pages
+  private final long[] meta;
+  private long sequence;          // of the state copy in use
+  private int freeRecord;         // the record listing the free pages as of the last sync
+
+  public PageFile(String path, int pageSize) {
+    this.path = path;
+    this.meta = new long[META_SLOTS];
+    this.freePages = new ArrayDeque<>();
+    this.written = new BitSet();
+    try {
+      boolean exists = new File(path).length() > 0;
+      this.file = new RandomAccessFile(path, "rw");
+      this.channel = file.getChannel();
+      if (exists) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);   // a file only synced once may end before the second copy
+        if (header.getInt(0) != MAGIC)
+          throw new FileIOException(path + " (not a page file)");
+        this.pageSize = header.getInt(4);
+        if (!readState(header, 8) & !readState(header, 8 + STATE_SIZE))
+          throw new FileIOException(path + " (no valid header)");
+        for (int pageId : decodeFreePages(readRecord(freeRecord)))
+          freePages.push(pageId);
+      } else {
+        if (pageSize < HEADER_SIZE)
+          throw new IllegalArgumentException("page size " + pageSize + " is smaller than the file header");
+        this.pageSize = pageSize;
+        this.pageCount = 1;
+        this.freeRecord = NO_PAGE;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        header.putInt(MAGIC).putInt(pageSize).flip();
+        writeFully(header, 0);
+        writeFully(encodeState(0), 8);
+        channel.force(true);
+      }
+    } catch (IOException e) {
+      throw new FileIOException(path);
+    }
+  }
+
+  public static boolean isPageFile(String path) {
+    File f = new File(path);
+    if (!f.isFile() || f.length() < 4)
+      return false;
+    try (RandomAccessFile raf = new RandomAccessFile(f, "r")) {
+      return raf.readInt() == MAGIC;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  // bytes of a record that fit in a single page
+  public int getPageCapacity() {
+    return pageSize - PAGE_HEADER;
+  }
+
+  public synchronized int getPageCount() {
+    return pageCount;
+  }
+
+  public synchronized long getMeta(int slot) {
+    return meta[slot];
+  }
+
+  public synchronized void setMeta(int slot, long value) {
+    meta[slot] = value;
+  }
+
+  private synchronized int allocate() {
+    int pageId = freePages.isEmpty() ? pageCount++ : freePages.pop();
+    written.set(pageId);
+    return pageId;
+  }
+
+  /**
+   * Returns every page of the record to the free pages. The caller makes sure the last sync does not
+   * refer to it, its pages are overwritten by the next records written.
+   */
+  public void free(int pageId) {
+    List<Integer> pages = pages(pageId);
+    synchronized (this) {
+      for (int page : pages)
+        freePages.push(page);
+    }
+  }
+
+  public byte[] readRecord(int pageId) {
+    ByteBuffer page = ByteBuffer.allocate(pageSize);
+    byte[] result = new byte[0];
+    int length = 0;
+    while (pageId != NO_PAGE) {
+      page.clear();
+      readFully(page, offset(pageId));
+      int next = page.getInt(0);
+      int used = page.getInt(4);
+      if (length + used > result.length)
+        result = Arrays.copyOf(result, Math.max(length + used, result.length * 2));
+      System.arraycopy(page.array(), PAGE_HEADER, result, length, used);
+      length += used;
+      pageId = next;
+    }
+    return length == result.length ? result : Arrays.copyOf(result, length);
+  }
+
+  /**
+   * Writes data to newly allocated pages and returns the first one, the id of the record.
+   */
+  public int write(byte[] data) {
+    int capacity = getPageCapacity();
+    int count = Math.max(1, (data.length + capacity - 1) / capacity);
+    int[] pages = new int[count];
+    for (int i = 0; i < count; i++)
+      pages[i] = allocate();
+    writePages(pages, data);
+    return pages[0];
+  }
+
+  private void writePages(int[] pages, byte[] data) {
+    int capacity = getPageCapacity();
+    ByteBuffer page = ByteBuffer.allocate(pageSize);
+    for (int i = 0; i < pages.length; i++) {
+      int offset = i * capacity;
+      int used = Math.min(capacity, data.length - offset);
+      page.clear();
+      page.putInt(i + 1 < pages.length ? pages[i + 1] : NO_PAGE).putInt(used).put(data, offset, used).flip();
+      writeFully(page, offset(pages[i]));
+    }
+  }
+
+  // the pages of a record, in order
+  private List<Integer> pages(int pageId) {
+    ArrayList<Integer> pages = new ArrayList<>();
+    ByteBuffer header = ByteBuffer.allocate(PAGE_HEADER);
+    while (pageId != NO_PAGE) {
+      pages.add(pageId);
+      header.clear();
+      readFully(header, offset(pageId));
+      pageId = header.getInt(0);
+    }
+    return pages;
+  }
+
+  /**
+   * Makes the meta slots and the records written so far durable and switches the file to them at once.
+   * kept are the records written since the last sync that the new state refers to, every other page written
+   * since is free in it. dropped are the records the last state refers to and the new one does not, they
+   * are freed once the new state is on disk. Returns once it is.
+   */
+  public void sync(List<Integer> kept, List<Integer> dropped) {
+    synchronized (syncLock) {
+      HashSet<Integer> keptPages = new HashSet<>();
+      for (int record : kept)
+        keptPages.addAll(pages(record));
+      ArrayList<Integer> droppedPages = new ArrayList<>();
+      for (int record : dropped)
+        droppedPages.addAll(pages(record));
+      droppedPages.addAll(pages(freeRecord));
+      ArrayList<Integer> free = new ArrayList<>(droppedPages);
+      int[] recordPages;
+      ByteBuffer state;
+      synchronized (this) {
+        HashSet<Integer> freeNow = new HashSet<>(freePages);
+        free.addAll(freeNow);
+        for (int page = written.nextSetBit(0); page >= 0; page = written.nextSetBit(page + 1))
+          if (!keptPages.contains(page) && !freeNow.contains(page))
+            free.add(page);
+        written.clear();
+        // the list is put at the end of the file, it does not take any of the pages it lists
+        int capacity = getPageCapacity();
+        recordPages = new int[Math.max(1, (4 + 4 * free.size() + capacity - 1) / capacity)];
+        for (int i = 0; i < recordPages.length; i++)
+          recordPages[i] = pageCount++;
+        state = encodeState(sequence + 1, recordPages[0]);
+      }
+      try {
+        writePages(recordPages, encodeFreePages(free));
+        channel.force(false);
+        writeFully(state, 8 + STATE_SIZE * (int) ((sequence + 1) % 2));
+        channel.force(false);
+      } catch (IOException e) {
+        throw new FileIOException(path);
+      }
+      synchronized (this) {
+        sequence++;
+        freeRecord = recordPages[0];
+        for (int page : droppedPages)
+          freePages.push(page);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      channel.close();
+      file.close();
+    } catch (IOException e) {
+      throw new FileIOException(path);
+    }
+  }
+
+  private ByteBuffer encodeState(long sequence, int freeRecord) {
+    ByteBuffer state = ByteBuffer.allocate(STATE_SIZE);
+    state.putLong(sequence).putInt(pageCount).putInt(freeRecord);
+    for (long value : meta)
+      state.putLong(value);
+    CRC32 crc = new CRC32();
+    crc.update(state.array(), 0, STATE_SIZE - 4);
+    state.putInt((int) crc.getValue()).flip();
+    return state;
+  }
+
+  private ByteBuffer encodeState(long sequence) {
+    return encodeState(sequence, freeRecord);
+  }
+
+  // takes the copy at offset if it is valid and newer than the one taken so far
+  private boolean readState(ByteBuffer header, int offset) {
+    CRC32 crc = new CRC32();
+    crc.update(header.array(), offset, STATE_SIZE - 4);
+    if (header.getInt(offset + STATE_SIZE - 4) != (int) crc.getValue())
+      return false;
+    long copy = header.getLong(offset);
+    if (copy < sequence)
+      return true;
+    sequence = copy;
+    pageCount = header.getInt(offset + 8);
+    freeRecord = header.getInt(offset + 12);
+    for (int i = 0; i < META_SLOTS; i++)
+      meta[i] = header.getLong(offset + 16 + 8 * i);
+    return true;
+  }
+
+  private static byte[] encodeFreePages(List<Integer> pages) {
+    ByteBuffer buffer = ByteBuffer.allocate(4 + 4 * pages.size());
+    buffer.putInt(pages.size());
+    for (int page : pages)
+      buffer.putInt(page);
+    return buffer.array();
+  }
+
+  private static int[] decodeFreePages(byte[] record) {
+    if (record.length == 0)
+      return new int[0];
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+    int[] pages = new int[buffer.getInt()];
+    for (int i = 0; i < pages.length; i++)
+      pages[i] = buffer.getInt();
+    return pages;
+  }
+
+  private long offset(int pageId) {
+    return (long) pageId * pageSize;
+  }
+
+  private void readFully(ByteBuffer buffer, long position) {
+    try {
+      while (buffer.hasRemaining()) {
+        int n = channel.read(buffer, position);
+        if (n < 0)
+          break;  // pages past the end of the file read as zeros
+        position += n;
+      }
+    } catch (IOException e) {
+      throw new FileIOException(path);
+    }
+  }
+
+  private void writeFully(ByteBuffer buffer, long position) {
+    try {
+      while (buffer.hasRemaining())
+        position += channel.write(buffer, position);
+    } catch (IOException e) {
+      throw new FileIOException(path);
+    }
+  }
+}
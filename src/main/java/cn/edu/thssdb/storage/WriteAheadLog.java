@@ -0,0 +1,279 @@
+package cn.edu.thssdb.storage;
+
+import cn.edu.thssdb.exception.FileIOException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * WriteAheadLog appends binary records to segment files through a single FileChannel.
+ * A record is [payload length][crc32][lsn][type][session][payload], the CRC covering everything after itself.
+ * The LSN of a record is its offset in the whole log and a segment file is named after the LSN of its first record.
+ * append() only buffers the record in memory; flush(lsn) makes it durable. The first caller of flush() writes and
+ * forces everything appended so far while later callers wait for it, so concurrent commits share one fsync.
+ */
+public class WriteAheadLog implements Closeable {
+  public static final byte BEGIN = 1;
+  public static final byte COMMIT = 2;
+  public static final byte INSERT = 3;
+  public static final byte DELETE = 4;
+  public static final byte UPDATE = 5;
+  public static final byte ABORT = 6;   // the transaction was rolled back, its undo is logged before it
+
+  private static final int HEADER = 4 + 4 + 8 + 1 + 8;
+  private static final String SUFFIX = ".wal";
+
+  public static final class Record {
+    public final long lsn;
+    public final byte type;
+    public final long session;
+    public final byte[] payload;
+
+    Record(long lsn, byte type, long session, byte[] payload) {
+      this.lsn = lsn;
+      this.type = type;
+      this.session = session;
+      this.payload = payload;
+    }
+  }
+
+  private final File dir;
+  private final long segmentSize;
+  private final TreeMap<Long, File> segments;
+  private FileChannel channel;
+  private ByteArrayOutputStream pending;
+  private long endLsn;       // LSN of the next record
+  private long durableLsn;   // every record before it is forced to disk
+  private boolean flushing;
+
+  public WriteAheadLog(String dirPath, long segmentSize) {
+    this.dir = new File(dirPath);
+    this.segmentSize = segmentSize;
+    this.segments = new TreeMap<>();
+    this.pending = new ByteArrayOutputStream();
+    if (!dir.isDirectory() && !dir.mkdirs())
+      throw new FileIOException(dirPath);
+    File[] files = dir.listFiles();
+    if (files != null)
+      for (File file : files)
+        if (file.getName().endsWith(SUFFIX))
+          segments.put(Long.parseLong(file.getName().substring(0, file.getName().length() - SUFFIX.length()), 16), file);
+    if (segments.isEmpty()) {
+      openSegment(0);
+    } else {
+      // only the last segment may end with a torn record, cut it off before appending after it
+      Map.Entry<Long, File> last = segments.lastEntry();
+      long end = scan(last.getValue(), last.getKey(), null);
+      try (FileChannel tail = FileChannel.open(last.getValue().toPath(), StandardOpenOption.WRITE)) {
+        tail.truncate(end - last.getKey());
+      } catch (IOException e) {
+        throw new FileIOException(last.getValue().getPath());
+      }
+      segments.remove(last.getKey());
+      openSegment(last.getKey());
+      endLsn = end;
+    }
+    durableLsn = endLsn;
+  }
+
+  /**
+   * Buffers a record and returns the LSN following it, pass it to flush() to make the record durable.
+   */
+  public synchronized long append(long session, byte type, byte[] payload) {
+    ByteBuffer record = ByteBuffer.allocate(HEADER + payload.length);
+    record.putInt(payload.length).putInt(0).putLong(endLsn).put(type).putLong(session).put(payload);
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), 8, record.capacity() - 8);
+    record.putInt(4, (int) crc.getValue());
+    pending.write(record.array(), 0, record.capacity());
+    endLsn += record.capacity();
+    return endLsn;
+  }
+
+  /**
+   * Returns once every record before lsn is on disk.
+   */
+  public void flush(long lsn) {
+    sync(lsn, false);
+  }
+
+  /**
+   * Flushes the log and starts a new segment, returns the LSN the new segment starts at.
+   * Segments before it can be dropped by truncate() once the pages they describe are written.
+   */
+  public long roll() {
+    return sync(Long.MAX_VALUE, true);
+  }
+
+  /**
+   * Deletes the segments that only hold records before lsn. The current segment is always kept.
+   */
+  public synchronized void truncate(long lsn) {
+    while (segments.size() > 1) {
+      Map.Entry<Long, File> first = segments.firstEntry();
+      if (segments.higherKey(first.getKey()) > lsn)
+        break;
+      if (!first.getValue().delete())
+        throw new FileIOException(first.getValue().getPath());
+      segments.remove(first.getKey());
+    }
+  }
+
+  /**
+   * Passes every valid record, oldest first, to the consumer. Reading stops at the first torn or corrupted record.
+   */
+  public void replay(Consumer<Record> consumer) {
+    ArrayList<Map.Entry<Long, File>> files;
+    synchronized (this) {
+      files = new ArrayList<>(segments.entrySet());
+    }
+    for (int i = 0; i < files.size(); i++) {
+      long start = files.get(i).getKey();
+      long end = scan(files.get(i).getValue(), start, consumer);
+      if (i + 1 < files.size() && end != files.get(i + 1).getKey()) {
+        System.out.println("! log segment " + files.get(i).getValue() + " is corrupted at " + end + ", skip the rest");
+        return;
+      }
+    }
+  }
+
+  public synchronized long getEndLsn() {
+    return endLsn;
+  }
+
+  /**
+   * Bytes of log kept on disk or buffered.
+   */
+  public synchronized long size() {
+    return endLsn - segments.firstKey();
+  }
+
+  @Override
+  public void close() {
+    flush(Long.MAX_VALUE);
+    synchronized (this) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new FileIOException(dir.getPath());
+      }
+    }
+  }
+
+  /**
+   * Closes the log and deletes its files.
+   */
+  public void delete() {
+    close();
+    synchronized (this) {
+      for (File file : segments.values())
+        file.delete();
+      segments.clear();
+      dir.delete();
+    }
+  }
+
+  private long sync(long lsn, boolean roll) {
+    ByteArrayOutputStream batch;
+    long batchEnd;
+    synchronized (this) {
+      try {
+        while (flushing && (roll || durableLsn < Math.min(lsn, endLsn)))
+          wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FileIOException(dir.getPath() + " (interrupted while flushing)");
+      }
+      if (!roll && durableLsn >= Math.min(lsn, endLsn))
+        return durableLsn;
+      flushing = true;
+      batch = pending;
+      batchEnd = endLsn;
+      pending = new ByteArrayOutputStream();
+    }
+    boolean done = false;
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+      while (buffer.hasRemaining())
+        channel.write(buffer);
+      channel.force(false);
+      if (roll || channel.size() >= segmentSize) {
+        channel.close();
+        synchronized (this) {
+          openSegment(batchEnd);
+        }
+      }
+      done = true;
+    } catch (IOException e) {
+      throw new FileIOException(dir.getPath());
+    } finally {
+      synchronized (this) {
+        if (done)
+          durableLsn = batchEnd;
+        flushing = false;
+        notifyAll();
+      }
+    }
+    return batchEnd;
+  }
+
+  private void openSegment(long start) {
+    File file = new File(dir, String.format("%016x", start) + SUFFIX);
+    try {
+      channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new FileIOException(file.getPath());
+    }
+    segments.put(start, file);
+  }
+
+  /**
+   * Reads the records of one segment and returns the LSN following the last valid one.
+   */
+  private long scan(File file, long start, Consumer<Record> consumer) {
+    long lsn = start;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      long remaining = file.length();
+      CRC32 crc = new CRC32();
+      while (remaining >= HEADER) {
+        int length = in.readInt();
+        int checksum = in.readInt();
+        if (length < 0 || length > remaining - HEADER)
+          break;
+        byte[] body = new byte[HEADER - 8 + length];
+        in.readFully(body);
+        crc.reset();
+        crc.update(body);
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        if ((int) crc.getValue() != checksum || buffer.getLong() != lsn)
+          break;
+        byte type = buffer.get();
+        long session = buffer.getLong();
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        if (consumer != null)
+          consumer.accept(new Record(lsn, type, session, payload));
+        lsn += HEADER + length;
+        remaining -= HEADER + length;
+      }
+    } catch (EOFException ignored) {
+    } catch (IOException e) {
+      throw new FileIOException(file.getPath());
+    }
+    return lsn;
+  }
+}
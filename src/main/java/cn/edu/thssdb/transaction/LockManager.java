@@ -0,0 +1,297 @@
+package cn.edu.thssdb.transaction;
+
+import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.exception.DeadlockException;
+import cn.edu.thssdb.exception.LockWaitTimeoutException;
+import cn.edu.thssdb.type.LockType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+
+/**
+ * LockManager grants multi-granularity locks (IS, IX, S, SIX, X) on resources to sessions, e.g. a table
+ * and the primary keys of its rows; a row is locked after taking the matching intention lock on its table.
+ * Every locked resource has an entry with the granted requests and a FIFO queue of waiting ones.
+ * A request is granted once it is at the head of the queue and compatible with the locks of the
+ * other sessions; a conversion of a lock already held (e.g. S->X, IX+S->SIX) jumps to the head of the queue.
+ * Locks are kept until releaseAll() when the transaction commits (strict two-phase locking).
+ * Whenever a request has to wait, the wait-for graph is searched for a cycle through its session; the youngest
+ * transaction of the cycle (the last one to take its first lock) is chosen as victim and its acquire() throws
+ * DeadlockException. A wait longer than the timeout aborts the waiter as well. An aborted session stays aborted,
+ * i.e. every further acquire() fails, until its transaction ends with releaseAll().
+ */
+public class LockManager {
+  // indexed by LockType ordinal: IS, IX, S, SIX, X
+  private static final boolean[][] COMPATIBLE = {
+          {true, true, true, true, false},
+          {true, true, false, false, false},
+          {true, false, true, false, false},
+          {true, false, false, false, false},
+          {false, false, false, false, false},
+  };
+  private static final boolean[][] COVERS = {
+          {true, false, false, false, false},
+          {true, true, false, false, false},
+          {true, false, true, false, false},
+          {true, true, true, true, false},
+          {true, true, true, true, true},
+  };
+
+  private static final class Request {
+    final long session;
+    LockType type;
+
+    Request(long session, LockType type) {
+      this.session = session;
+      this.type = type;
+    }
+  }
+
+  private static final class LockEntry {
+    final ArrayList<Request> granted = new ArrayList<>();
+    final LinkedList<Request> waiting = new LinkedList<>();
+  }
+
+  private final HashMap<Object, LockEntry> entries;
+  private final HashMap<Long, LinkedHashSet<Object>> held;
+  private final HashMap<Long, LockEntry> waitingOn;  // the entry a blocked session waits in
+  private final HashMap<Long, Long> ages;            // session -> order of its first lock
+  private final HashSet<Long> aborted;
+  private final long timeout;
+  private long nextAge;
+  private long deadlocks;
+
+  public static LockManager getInstance() {
+    return LockManagerHolder.INSTANCE;
+  }
+
+  public LockManager(long timeout) {
+    this.entries = new HashMap<>();
+    this.held = new HashMap<>();
+    this.waitingOn = new HashMap<>();
+    this.ages = new HashMap<>();
+    this.aborted = new HashSet<>();
+    this.timeout = timeout;
+  }
+
+  /**
+   * Blocks until the session holds the lock. Returns false if the session already held it (or a stronger one).
+   */
+  public synchronized boolean acquire(long session, Object resource, LockType type) {
+    if (aborted.contains(session))
+      throw new DeadlockException();
+    if (!ages.containsKey(session))
+      ages.put(session, nextAge++);
+    LockEntry entry = entries.computeIfAbsent(resource, r -> new LockEntry());
+    Request mine = find(entry, session);
+    if (mine != null && covers(mine.type, type))
+      return false;
+    Request request = new Request(session, mine == null ? type : supremum(mine.type, type));
+    if (mine != null)
+      entry.waiting.addFirst(request);
+    else
+      entry.waiting.addLast(request);
+    long deadline = System.currentTimeMillis() + timeout;
+    boolean granted = false;
+    try {
+      if (!grantable(entry, request)) {
+        waitingOn.put(session, entry);
+        detectDeadlock(session);
+      }
+      while (!grantable(entry, request)) {
+        if (aborted.contains(session))
+          throw new DeadlockException();
+        long left = deadline - System.currentTimeMillis();
+        if (left <= 0) {
+          aborted.add(session);
+          throw new LockWaitTimeoutException();
+        }
+        wait(left);
+      }
+      granted = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      aborted.add(session);
+      throw new LockWaitTimeoutException();
+    } finally {
+      waitingOn.remove(session);
+      entry.waiting.remove(request);
+      if (!granted && entry.granted.isEmpty() && entry.waiting.isEmpty())
+        entries.remove(resource);
+      notifyAll();    // the requests behind may be grantable now
+    }
+    if (mine != null)
+      mine.type = request.type;
+    else
+      entry.granted.add(request);
+    held.computeIfAbsent(session, s -> new LinkedHashSet<>()).add(resource);
+    return true;
+  }
+
+  /**
+   * Whether acquire() would return at once.
+   */
+  public synchronized boolean test(long session, Object resource, LockType type) {
+    LockEntry entry = entries.get(resource);
+    if (entry == null)
+      return true;
+    Request mine = find(entry, session);
+    if (mine != null && covers(mine.type, type))
+      return true;
+    return (mine != null || entry.waiting.isEmpty())
+            && compatible(entry, session, mine == null ? type : supremum(mine.type, type));
+  }
+
+  public synchronized void release(long session, Object resource) {
+    LinkedHashSet<Object> resources = held.get(session);
+    if (resources == null || !resources.remove(resource))
+      return;
+    if (resources.isEmpty())
+      held.remove(session);
+    releaseEntry(session, resource);
+    notifyAll();
+  }
+
+  /**
+   * Releases every lock of the session, called when its transaction ends.
+   */
+  public synchronized void releaseAll(long session) {
+    aborted.remove(session);
+    ages.remove(session);
+    LinkedHashSet<Object> resources = held.remove(session);
+    if (resources == null)
+      return;
+    for (Object resource : resources)
+      releaseEntry(session, resource);
+    notifyAll();
+  }
+
+  public synchronized boolean holds(long session, Object resource, LockType type) {
+    LockEntry entry = entries.get(resource);
+    Request mine = entry == null ? null : find(entry, session);
+    return mine != null && covers(mine.type, type);
+  }
+
+  /**
+   * Whether the session was chosen as a deadlock victim or timed out, its transaction must be aborted.
+   */
+  public synchronized boolean isAborted(long session) {
+    return aborted.contains(session);
+  }
+
+  public synchronized long getDeadlockCount() {
+    return deadlocks;
+  }
+
+  public synchronized int getWaitingCount() {
+    int count = 0;
+    for (LockEntry entry : entries.values())
+      count += entry.waiting.size();
+    return count;
+  }
+
+  private void releaseEntry(long session, Object resource) {
+    LockEntry entry = entries.get(resource);
+    if (entry == null)
+      return;
+    entry.granted.removeIf(request -> request.session == session);
+    if (entry.granted.isEmpty() && entry.waiting.isEmpty())
+      entries.remove(resource);
+  }
+
+  /**
+   * Aborts the youngest session of every cycle of the wait-for graph that goes through the given session.
+   */
+  private void detectDeadlock(long session) {
+    ArrayList<Long> cycle;
+    while ((cycle = findCycle(session, new ArrayList<>(), new HashSet<>())) != null) {
+      long victim = cycle.get(0);
+      for (long member : cycle)
+        if (ages.get(member) > ages.get(victim))
+          victim = member;
+      aborted.add(victim);
+      deadlocks++;
+      if (victim == session)
+        return;
+      notifyAll();    // wake the victim so that it gives up its request
+    }
+  }
+
+  // depth-first search from the last session of path back to its first one
+  private ArrayList<Long> findCycle(long session, ArrayList<Long> path, HashSet<Long> visited) {
+    path.add(session);
+    visited.add(session);
+    for (long next : waitsFor(session)) {
+      if (next == path.get(0))
+        return path;
+      if (!visited.contains(next) && findCycle(next, path, visited) != null)
+        return path;
+    }
+    path.remove(path.size() - 1);
+    return null;
+  }
+
+  // a waiting request waits for the incompatible granted locks and for every request queued before it
+  private ArrayList<Long> waitsFor(long session) {
+    ArrayList<Long> result = new ArrayList<>();
+    LockEntry entry = waitingOn.get(session);
+    if (entry == null || aborted.contains(session))
+      return result;
+    Request mine = null;
+    for (Request request : entry.waiting) {
+      if (request.session == session) {
+        mine = request;
+        break;
+      }
+      result.add(request.session);
+    }
+    if (mine == null)
+      return result;
+    for (Request other : entry.granted)
+      if (other.session != session && !COMPATIBLE[mine.type.ordinal()][other.type.ordinal()])
+        result.add(other.session);
+    return result;
+  }
+
+  private boolean grantable(LockEntry entry, Request request) {
+    return entry.waiting.peekFirst() == request && compatible(entry, request.session, request.type);
+  }
+
+  private static boolean compatible(LockEntry entry, long session, LockType type) {
+    for (Request other : entry.granted)
+      if (other.session != session && !COMPATIBLE[type.ordinal()][other.type.ordinal()])
+        return false;
+    return true;
+  }
+
+  private static boolean covers(LockType held, LockType wanted) {
+    return COVERS[held.ordinal()][wanted.ordinal()];
+  }
+
+  // the weakest lock covering both, IX and S are the only pair covered by neither
+  private static LockType supremum(LockType a, LockType b) {
+    if (covers(a, b))
+      return a;
+    if (covers(b, a))
+      return b;
+    return LockType.SHARED_INTENTION_EXCLUSIVE;
+  }
+
+  private static Request find(LockEntry entry, long session) {
+    for (Request request : entry.granted)
+      if (request.session == session)
+        return request;
+    return null;
+  }
+
+  private static class LockManagerHolder {
+    private static final LockManager INSTANCE = new LockManager(Global.lockWaitTimeout);
+
+    private LockManagerHolder() {
+
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package cn.edu.thssdb.transaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Transaction is the MVCC state of a session: the snapshot it reads and, once committed, its commit timestamp.
+ * Every version written by the transaction points to it, so setting the commit timestamp makes them
+ * visible to later snapshots all at once.
+ * It also keeps the undo log of the session: one action per changed key putting back its before-image,
+ * so the transaction, or the last statements of it, can be rolled back.
+ * An optimistic transaction takes no read locks. It records what it read instead, and validate() checks at
+ * commit that no other transaction has committed a change of it since the snapshot.
+ * The databases it changed are kept too, its BEGIN, COMMIT and ABORT records go to the log of each.
+ */
+public class Transaction {
+  private static final long RUNNING = Long.MAX_VALUE;
+
+  // writer of the versions seen by every snapshot, e.g. rows changed outside of any transaction
+  public static final Transaction COMMITTED = new Transaction(-1, 0);
+
+  static {
+    COMMITTED.commit(0);
+  }
+
+  private final long session;
+  private final long snapshot;
+  private final boolean optimistic;
+  private volatile long commitTimestamp;
+  private volatile boolean aborted;
+  private volatile boolean rollbackOnly;
+  private final ArrayList<Runnable> undoLog;
+  private final HashMap<Object, BooleanSupplier> readSet;  // resource -> whether it changed since the snapshot
+  private final LinkedHashSet<String> databases;
+
+  public Transaction(long session, long snapshot) {
+    this(session, snapshot, false);
+  }
+
+  public Transaction(long session, long snapshot, boolean optimistic) {
+    this.session = session;
+    this.snapshot = snapshot;
+    this.optimistic = optimistic;
+    this.commitTimestamp = RUNNING;
+    this.aborted = false;
+    this.rollbackOnly = false;
+    this.undoLog = new ArrayList<>();
+    this.readSet = new HashMap<>();
+    this.databases = new LinkedHashSet<>();
+  }
+
+  /**
+   * A version is visible if this transaction wrote it or its writer committed no later than the snapshot.
+   */
+  public boolean sees(Transaction writer) {
+    return writer == this || writer.commitTimestamp <= snapshot;
+  }
+
+  public void commit(long timestamp) {
+    this.commitTimestamp = timestamp;
+  }
+
+  public void addUndo(Runnable undo) {
+    undoLog.add(undo);
+  }
+
+  // savepoint: the number of changes made so far
+  public int getUndoPosition() {
+    return undoLog.size();
+  }
+
+  /**
+   * Undoes the changes made after the position, newest first.
+   */
+  public void rollback(int position) {
+    for (int i = undoLog.size() - 1; i >= position; i--)
+      undoLog.remove(i).run();
+  }
+
+  // versions written by an aborted transaction are never seen by others and dropped by the vacuum
+  public void abort() {
+    this.aborted = true;
+  }
+
+  public boolean isAborted() {
+    return aborted;
+  }
+
+  public void recordRead(Object resource, BooleanSupplier changed) {
+    readSet.putIfAbsent(resource, changed);
+  }
+
+  /**
+   * Whether none of the resources read has been changed by a transaction committed after the snapshot.
+   * A transaction that wrote nothing always passes, it read a consistent snapshot.
+   */
+  public boolean validate() {
+    if (undoLog.isEmpty())
+      return true;
+    for (BooleanSupplier changed : readSet.values())
+      if (changed.getAsBoolean())
+        return false;
+    return true;
+  }
+
+  // a statement hit a write conflict, the transaction can only be rolled back
+  public void setRollbackOnly() {
+    this.rollbackOnly = true;
+  }
+
+  public boolean isRollbackOnly() {
+    return rollbackOnly;
+  }
+
+  public boolean isRunning() {
+    return commitTimestamp == RUNNING && !aborted;
+  }
+
+  public boolean isOptimistic() {
+    return optimistic;
+  }
+
+  public boolean committedBefore(long timestamp) {
+    return commitTimestamp <= timestamp;
+  }
+
+  public boolean committedAfter(long timestamp) {
+    return commitTimestamp != RUNNING && commitTimestamp > timestamp;
+  }
+
+  // returns true for the first change of the transaction in the database
+  public synchronized boolean addDatabase(String databaseName) {
+    return databases.add(databaseName);
+  }
+
+  public synchronized Set<String> getDatabases() {
+    return new LinkedHashSet<>(databases);
+  }
+
+  public long getSession() {
+    return session;
+  }
+
+  public long getSnapshot() {
+    return snapshot;
+  }
+}
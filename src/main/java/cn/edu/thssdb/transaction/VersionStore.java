@@ -0,0 +1,202 @@
+package cn.edu.thssdb.transaction;
+
+import cn.edu.thssdb.common.Pair;
+import cn.edu.thssdb.exception.WriteConflictException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * VersionStore keeps the older versions of recently written keys of an index. The index itself holds the
+ * newest version of every key; a key written since the oldest running snapshot gets a chain of versions,
+ * newest first, down to one that every snapshot can see. A null value means the key is absent in that version.
+ * Versions of aborted transactions are skipped and dropped, their writers put the before-images back.
+ * Not thread safe, the table guards it with the same latch as its index.
+ */
+public class VersionStore<K extends Comparable<K>, V> {
+  private static final class Version<V> {
+    final V value;
+    final Transaction writer;
+    Version<V> older;
+
+    Version(V value, Transaction writer, Version<V> older) {
+      this.value = value;
+      this.writer = writer;
+      this.older = older;
+    }
+  }
+
+  private final TreeMap<K, Version<V>> chains = new TreeMap<>();
+
+  /**
+   * Records that the writer changed the key from before to after, call it together with the change of the index.
+   */
+  public void write(K key, V before, V after, Transaction writer) {
+    Version<V> head = unlinkAborted(chains.get(key));
+    if (head == null) {
+      if (writer == Transaction.COMMITTED)
+        return;
+      head = new Version<>(before, Transaction.COMMITTED, null);
+    }
+    if (head.writer == writer)
+      chains.put(key, new Version<>(after, writer, head.older));   // a transaction keeps one version per key
+    else
+      chains.put(key, new Version<>(after, writer, head));
+  }
+
+  /**
+   * Call before changing the key. The first writer wins: the key must not have a version of another running
+   * transaction. An optimistic writer also loses to a transaction that committed the key after its snapshot.
+   * The losing writer is marked rollback only.
+   */
+  public void checkWrite(K key, Transaction writer) {
+    Version<V> head = unlinkAborted(chains.get(key));
+    if (head == null || head.writer == writer)
+      return;
+    if (head.writer.isRunning() || (writer.isOptimistic() && head.writer.committedAfter(writer.getSnapshot()))) {
+      if (writer != Transaction.COMMITTED)
+        writer.setRollbackOnly();
+      throw new WriteConflictException();
+    }
+  }
+
+  /**
+   * Whether a transaction other than the reader committed a version of the key after the snapshot of the
+   * reader, or of any key if key is null.
+   */
+  public boolean changedSince(K key, Transaction reader) {
+    if (key != null)
+      return changedSince(chains.get(key), reader);
+    for (Version<V> head : chains.values())
+      if (changedSince(head, reader))
+        return true;
+    return false;
+  }
+
+  /**
+   * The value of the key in the snapshot of the reader, given the newest value from the index.
+   */
+  public V read(K key, V current, Transaction reader) {
+    Version<V> head = chains.get(key);
+    return head == null ? current : visible(head, reader);
+  }
+
+  /**
+   * Merges the entries of the index, in key order, with the versions seen by the reader.
+   * Keys removed from the index but still visible to the reader are included.
+   */
+  public ArrayList<V> snapshot(Iterator<Pair<K, V>> current, Transaction reader) {
+    return merge(current, chains, reader);
+  }
+
+  /**
+   * Like snapshot() for the keys between from and to only, current iterates the same range of the index.
+   * A null bound means no bound.
+   */
+  public ArrayList<V> snapshot(Iterator<Pair<K, V>> current, K from, boolean fromInclusive, K to, boolean toInclusive,
+                               Transaction reader) {
+    NavigableMap<K, Version<V>> range = chains;
+    if (from != null)
+      range = range.tailMap(from, fromInclusive);
+    if (to != null)
+      range = range.headMap(to, toInclusive);
+    return merge(current, range, reader);
+  }
+
+  private ArrayList<V> merge(Iterator<Pair<K, V>> current, NavigableMap<K, Version<V>> chains, Transaction reader) {
+    ArrayList<V> result = new ArrayList<>();
+    Iterator<Map.Entry<K, Version<V>>> versions = chains.entrySet().iterator();
+    Map.Entry<K, Version<V>> version = versions.hasNext() ? versions.next() : null;
+    Pair<K, V> entry = current.hasNext() ? current.next() : null;
+    while (entry != null || version != null) {
+      int order = entry == null ? 1 : version == null ? -1 : entry.left.compareTo(version.getKey());
+      V value;
+      if (order < 0) {
+        value = entry.right;
+      } else {
+        value = visible(version.getValue(), reader);
+        version = versions.hasNext() ? versions.next() : null;
+      }
+      if (order <= 0)
+        entry = current.hasNext() ? current.next() : null;
+      if (value != null)
+        result.add(value);
+    }
+    return result;
+  }
+
+  /**
+   * Drops the versions no running snapshot can see, i.e. those older than a version committed no later
+   * than the oldest snapshot. Returns the number of versions dropped.
+   */
+  public int vacuum(long oldestSnapshot) {
+    int dropped = 0;
+    Iterator<Map.Entry<K, Version<V>>> iterator = chains.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<K, Version<V>> entry = iterator.next();
+      dropped += length(entry.getValue());
+      Version<V> head = unlinkAborted(entry.getValue());
+      Version<V> version = head;
+      while (version != null && !version.writer.committedBefore(oldestSnapshot))
+        version = version.older;
+      if (version == head) {
+        iterator.remove();    // the index holds the only version still needed
+        continue;
+      }
+      if (version != null)
+        version.older = null;
+      entry.setValue(head);
+      dropped -= length(head);
+    }
+    return dropped;
+  }
+
+  /**
+   * The keys with older versions, i.e. written since the oldest running snapshot.
+   */
+  public Set<K> keys() {
+    return chains.keySet();
+  }
+
+  public int size() {
+    int size = 0;
+    for (Version<V> head : chains.values())
+      size += length(head);
+    return size;
+  }
+
+  private static boolean changedSince(Version<?> head, Transaction reader) {
+    for (Version<?> version = head; version != null; version = version.older)
+      if (version.writer != reader && version.writer.committedAfter(reader.getSnapshot()))
+        return true;
+    return false;
+  }
+
+  // returns the chain without the versions of aborted transactions
+  private static <V> Version<V> unlinkAborted(Version<V> head) {
+    while (head != null && head.writer.isAborted())
+      head = head.older;
+    for (Version<V> version = head; version != null; version = version.older)
+      while (version.older != null && version.older.writer.isAborted())
+        version.older = version.older.older;
+    return head;
+  }
+
+  private V visible(Version<V> head, Transaction reader) {
+    for (Version<V> version = head; version != null; version = version.older)
+      if (reader.sees(version.writer))
+        return version.value;
+    return null;
+  }
+
+  private static int length(Version<?> version) {
+    int length = 0;
+    for (; version != null; version = version.older)
+      length++;
+    return length;
+  }
+}
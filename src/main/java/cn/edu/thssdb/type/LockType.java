@@ -0,0 +1,5 @@
+package cn.edu.thssdb.type;
+
+public enum LockType {
+    INTENTION_SHARED, INTENTION_EXCLUSIVE, SHARED, SHARED_INTENTION_EXCLUSIVE, EXCLUSIVE
+}
@@ -0,0 +1,298 @@
+package cn.edu.thssdb.bench;
+
+import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.exception.DuplicateKeyException;
+import cn.edu.thssdb.exception.KeyNotExistException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * The in-memory B+ tree as it was before its nodes were backed by arrays, kept only as the baseline of
+ * BPlusTreeBenchmark: keys, values and children are ArrayLists filled with Collections.nCopies, inserts and
+ * removals shift them with get/set and every search goes through Collections.binarySearch on a subList.
+ */
+final class ArrayListBPlusTree<K extends Comparable<K>, V> {
+  private Node<K, V> root;
+  private int size;
+
+  ArrayListBPlusTree() {
+    root = new LeafNode<>(0);
+  }
+
+  int size() {
+    return size;
+  }
+
+  V get(K key) {
+    return root.get(key);
+  }
+
+  void put(K key, V value) {
+    root.put(key, value);
+    size++;
+    if (root.isOverFlow()) {
+      Node<K, V> sibling = root.split();
+      InternalNode<K, V> newRoot = new InternalNode<>(1);
+      newRoot.keys.set(0, sibling.getFirstLeafKey());
+      newRoot.children.set(0, root);
+      newRoot.children.set(1, sibling);
+      root = newRoot;
+    }
+  }
+
+  void remove(K key) {
+    root.remove(key);
+    size--;
+    if (root instanceof InternalNode && root.nodeSize == 0)
+      root = ((InternalNode<K, V>) root).children.get(0);
+  }
+
+  private static int capacity() {
+    return (int) (1.5 * Global.fanout) + 1;
+  }
+
+  private abstract static class Node<K extends Comparable<K>, V> {
+    ArrayList<K> keys;
+    int nodeSize;
+
+    abstract V get(K key);
+
+    abstract void put(K key, V value);
+
+    abstract void remove(K key);
+
+    abstract K getFirstLeafKey();
+
+    abstract Node<K, V> split();
+
+    abstract void merge(Node<K, V> sibling);
+
+    boolean isOverFlow() {
+      return nodeSize > Global.fanout - 1;
+    }
+
+    boolean isUnderFlow() {
+      return nodeSize < (Global.fanout + 1) / 2 - 1;
+    }
+
+    int binarySearch(K key) {
+      return Collections.binarySearch(keys.subList(0, nodeSize), key);
+    }
+
+    void keysAdd(int index, K key) {
+      for (int i = nodeSize; i > index; i--)
+        keys.set(i, keys.get(i - 1));
+      keys.set(index, key);
+      nodeSize++;
+    }
+
+    void keysRemove(int index) {
+      for (int i = index; i < nodeSize - 1; i++)
+        keys.set(i, keys.get(i + 1));
+      nodeSize--;
+    }
+  }
+
+  private static final class LeafNode<K extends Comparable<K>, V> extends Node<K, V> {
+    ArrayList<V> values;
+    LeafNode<K, V> next;
+
+    LeafNode(int size) {
+      keys = new ArrayList<>(Collections.nCopies(capacity(), null));
+      values = new ArrayList<>(Collections.nCopies(capacity(), null));
+      nodeSize = size;
+    }
+
+    private void valuesAdd(int index, V value) {
+      for (int i = nodeSize; i > index; i--)
+        values.set(i, values.get(i - 1));
+      values.set(index, value);
+    }
+
+    private void valuesRemove(int index) {
+      for (int i = index; i < nodeSize - 1; i++)
+        values.set(i, values.get(i + 1));
+    }
+
+    @Override
+    V get(K key) {
+      int index = binarySearch(key);
+      if (index >= 0)
+        return values.get(index);
+      throw new KeyNotExistException();
+    }
+
+    @Override
+    void put(K key, V value) {
+      int index = binarySearch(key);
+      if (index >= 0)
+        throw new DuplicateKeyException();
+      valuesAdd(-index - 1, value);
+      keysAdd(-index - 1, key);
+    }
+
+    @Override
+    void remove(K key) {
+      int index = binarySearch(key);
+      if (index < 0)
+        throw new KeyNotExistException();
+      valuesRemove(index);
+      keysRemove(index);
+    }
+
+    @Override
+    K getFirstLeafKey() {
+      return keys.get(0);
+    }
+
+    @Override
+    Node<K, V> split() {
+      int from = (nodeSize + 1) / 2;
+      int to = nodeSize;
+      LeafNode<K, V> sibling = new LeafNode<>(to - from);
+      for (int i = 0; i < to - from; i++) {
+        sibling.keys.set(i, keys.get(i + from));
+        sibling.values.set(i, values.get(i + from));
+        keys.set(i + from, null);
+        values.set(i + from, null);
+      }
+      nodeSize = from;
+      sibling.next = next;
+      next = sibling;
+      return sibling;
+    }
+
+    @Override
+    void merge(Node<K, V> sibling) {
+      int index = nodeSize;
+      LeafNode<K, V> node = (LeafNode<K, V>) sibling;
+      int length = node.nodeSize;
+      for (int i = 0; i < length; i++) {
+        keys.set(i + index, node.keys.get(i));
+        values.set(i + index, node.values.get(i));
+      }
+      nodeSize = index + length;
+      next = node.next;
+    }
+  }
+
+  private static final class InternalNode<K extends Comparable<K>, V> extends Node<K, V> {
+    ArrayList<Node<K, V>> children;
+
+    InternalNode(int size) {
+      keys = new ArrayList<>(Collections.nCopies(capacity(), null));
+      children = new ArrayList<>(Collections.nCopies(capacity() + 1, null));
+      nodeSize = size;
+    }
+
+    private void childrenAdd(int index, Node<K, V> node) {
+      for (int i = nodeSize + 1; i > index; i--)
+        children.set(i, children.get(i - 1));
+      children.set(index, node);
+    }
+
+    private void childrenRemove(int index) {
+      for (int i = index; i < nodeSize; i++)
+        children.set(i, children.get(i + 1));
+    }
+
+    private int childIndex(K key) {
+      int index = binarySearch(key);
+      return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    @Override
+    V get(K key) {
+      return children.get(childIndex(key)).get(key);
+    }
+
+    @Override
+    void put(K key, V value) {
+      Node<K, V> child = children.get(childIndex(key));
+      child.put(key, value);
+      if (child.isOverFlow()) {
+        Node<K, V> sibling = child.split();
+        insertChild(sibling.getFirstLeafKey(), sibling);
+      }
+    }
+
+    @Override
+    void remove(K key) {
+      int index = binarySearch(key);
+      int childIndex = index >= 0 ? index + 1 : -index - 1;
+      Node<K, V> child = children.get(childIndex);
+      child.remove(key);
+      if (child.isUnderFlow()) {
+        Node<K, V> leftSibling = childIndex > 0 ? children.get(childIndex - 1) : null;
+        Node<K, V> rightSibling = childIndex < nodeSize ? children.get(childIndex + 1) : null;
+        Node<K, V> left = leftSibling != null ? leftSibling : child;
+        Node<K, V> right = leftSibling != null ? child : rightSibling;
+        left.merge(right);
+        if (index >= 0) {
+          childrenRemove(index + 1);
+          keysRemove(index);
+        } else {
+          deleteChild(right.getFirstLeafKey());
+        }
+        if (left.isOverFlow()) {
+          Node<K, V> sibling = left.split();
+          insertChild(sibling.getFirstLeafKey(), sibling);
+        }
+      } else if (index >= 0) {
+        keys.set(index, children.get(index + 1).getFirstLeafKey());
+      }
+    }
+
+    @Override
+    K getFirstLeafKey() {
+      return children.get(0).getFirstLeafKey();
+    }
+
+    @Override
+    Node<K, V> split() {
+      int from = nodeSize / 2 + 1;
+      int to = nodeSize;
+      InternalNode<K, V> sibling = new InternalNode<>(to - from);
+      for (int i = 0; i < to - from; i++) {
+        sibling.keys.set(i, keys.get(i + from));
+        sibling.children.set(i, children.get(i + from));
+      }
+      sibling.children.set(to - from, children.get(to));
+      nodeSize = nodeSize - to + from - 1;
+      return sibling;
+    }
+
+    @Override
+    void merge(Node<K, V> sibling) {
+      int index = nodeSize;
+      InternalNode<K, V> node = (InternalNode<K, V>) sibling;
+      int length = node.nodeSize;
+      keys.set(index, node.getFirstLeafKey());
+      for (int i = 0; i < length; i++) {
+        keys.set(i + index + 1, node.keys.get(i));
+        children.set(i + index + 1, node.children.get(i));
+      }
+      children.set(length + index + 1, node.children.get(length));
+      nodeSize = index + length + 1;
+    }
+
+    private void insertChild(K key, Node<K, V> child) {
+      int index = binarySearch(key);
+      if (index >= 0) {
+        children.set(index + 1, child);
+      } else {
+        childrenAdd(-index, child);
+        keysAdd(-index - 1, key);
+      }
+    }
+
+    private void deleteChild(K key) {
+      int index = binarySearch(key);
+      if (index >= 0) {
+        childrenRemove(index + 1);
+        keysRemove(index);
+      }
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package cn.edu.thssdb.bench;
+
+import cn.edu.thssdb.index.BPlusTree;
+import cn.edu.thssdb.index.KeyArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory BPlusTree, whose nodes are plain arrays, with the ArrayList nodes it replaced.
+ * "array" is the tree with boxed keys in object arrays, "unboxed" the one keeping int keys in an int[],
+ * "arrayList" the old one. Run with the gc profiler to see the allocations per operation as well:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=cn.edu.thssdb.bench.BPlusTreeBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BPlusTreeBenchmark {
+  private static final int BATCH = 10000;
+
+  @Param({"array", "unboxed", "arrayList"})
+  public String nodes;
+
+  @Param({"100000"})
+  public int size;
+
+  private Integer[] keys;
+  private Integer[] batch;
+  private BPlusTree<Integer, Integer> tree;
+  private ArrayListBPlusTree<Integer, Integer> baseline;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    keys = new Integer[size];
+    for (int i = 0; i < size; i++)
+      keys[i] = i * 2;
+    for (int i = size - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      Integer key = keys[i];
+      keys[i] = keys[j];
+      keys[j] = key;
+    }
+    batch = new Integer[BATCH];
+    for (int i = 0; i < BATCH; i++)
+      batch[i] = keys[i] + 1;   // odd, never in the tree
+    tree = newTree();
+    baseline = new ArrayListBPlusTree<>();
+    for (Integer key : keys) {
+      if (tree != null)
+        tree.put(key, key);
+      else
+        baseline.put(key, key);
+    }
+  }
+
+  private BPlusTree<Integer, Integer> newTree() {
+    switch (nodes) {
+      case "array":
+        return new BPlusTree<>(KeyArray.<Integer>objects());
+      case "unboxed":
+        return new BPlusTree<>(KeyArray.<Integer>ints(key -> key, key -> key));
+      default:
+        return null;
+    }
+  }
+
+  @Benchmark
+  public Integer get() {
+    Integer key = keys[next++ % size];
+    return tree != null ? tree.get(key) : baseline.get(key);
+  }
+
+  // a batch of keys put into the full tree and removed again, so every invocation starts from the same tree
+  @Benchmark
+  @OperationsPerInvocation(2 * BATCH)
+  public void putRemove(Blackhole blackhole) {
+    if (tree != null) {
+      for (Integer key : batch)
+        tree.put(key, key);
+      for (Integer key : batch)
+        tree.remove(key);
+      blackhole.consume(tree.size());
+    } else {
+      for (Integer key : batch)
+        baseline.put(key, key);
+      for (Integer key : batch)
+        baseline.remove(key);
+      blackhole.consume(baseline.size());
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(BPlusTreeBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -1,13 +1,20 @@
 package cn.edu.thssdb.index;
 
+import cn.edu.thssdb.common.Pair;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class BPlusTreeTest {
@@ -69,4 +76,143 @@ public class BPlusTreeTest {
     }
     assertEquals(values.size(), c);
   }
+
+  private void assertRange(Iterable<Integer> expected, BPlusTreeIterator<Integer, Integer> iterator) {
+    for (Integer key : expected) {
+      assertTrue(iterator.hasNext());
+      Pair<Integer, Integer> entry = iterator.next();
+      assertEquals(key, entry.left);
+      assertEquals(map.get(key), entry.right);
+    }
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testRangeIterator() {
+    TreeMap<Integer, Integer> sorted = new TreeMap<>(map);
+    int[][] ranges = {{100, 200}, {-5, 3}, {9990, 20000}, {500, 500}, {4000, 3000}};
+    for (int[] range : ranges) {
+      for (int flags = 0; flags < 4; flags++) {
+        boolean fromInclusive = (flags & 1) != 0;
+        boolean toInclusive = (flags & 2) != 0;
+        NavigableMap<Integer, Integer> expected = range[0] > range[1] ? new TreeMap<>()
+                : sorted.subMap(range[0], fromInclusive, range[1], toInclusive);
+        assertRange(expected.keySet(), tree.iterator(range[0], fromInclusive, range[1], toInclusive));
+        assertRange(expected.descendingKeySet(), tree.descendingIterator(range[0], fromInclusive, range[1], toInclusive));
+      }
+    }
+    assertRange(sorted.headMap(5000, false).keySet(), tree.iterator(null, false, 5000, false));
+    assertRange(sorted.tailMap(5000, true).descendingKeySet(), tree.descendingIterator(5000, true, null, false));
+    assertRange(sorted.descendingKeySet(), tree.descendingIterator(null, false, null, false));
+  }
+
+  @Test
+  public void testBulkLoad() {
+    TreeMap<Integer, Integer> sorted = new TreeMap<>(map);
+    for (double fillFactor : new double[]{0.5, 0.9, 1.0}) {
+      BPlusTree<Integer, Integer> loaded = new BPlusTree<>();
+      ArrayList<Pair<Integer, Integer>> entries = new ArrayList<>();
+      for (Integer key : sorted.keySet())
+        entries.add(new Pair<>(key, map.get(key)));
+      loaded.bulkLoad(entries.iterator(), fillFactor);
+      assertEquals(map.size(), loaded.size());
+      tree = loaded;
+      testGet();
+      assertRange(sorted.keySet(), loaded.iterator(null, false, null, false));
+      assertRange(sorted.descendingKeySet(), loaded.descendingIterator(null, false, null, false));
+      // the tree keeps working like one built by put()
+      testRemove();
+      for (int i = 0; i < keys.size(); i += 2)
+        loaded.put(keys.get(i), values.get(i));
+      assertEquals(map.size(), loaded.size());
+      testGet();
+    }
+  }
+
+  @Test
+  public void testIntKeys() {
+    tree = new BPlusTree<>(KeyArray.ints(Integer::intValue, Integer::valueOf));
+    for (int i = 0; i < keys.size(); i++)
+      tree.put(keys.get(i), values.get(i));
+    testGet();
+    testIterator();
+    testRangeIterator();
+    testRemove();
+  }
+
+  @Test
+  public void testStringKeys() {
+    BPlusTree<String, Integer> strings = new BPlusTree<>(KeyArray.<String>strings(s -> s, s -> s));
+    TreeMap<String, Integer> sorted = new TreeMap<>();
+    // long shared prefixes, chars taking 1 to 3 bytes and keys that are prefixes of others
+    String[] parts = {"a", "b", "\u00E9", "\u4E2D", "\uD83D\uDE00", "\uFF01"};
+    for (Integer key : keys) {
+      StringBuilder s = new StringBuilder("https://example.com/");
+      for (int k = key; k > 0; k /= parts.length)
+        s.append(parts[k % parts.length]);
+      sorted.put(s.toString(), key);
+      strings.put(s.toString(), key);
+    }
+    for (Map.Entry<String, Integer> entry : sorted.entrySet())
+      assertEquals(entry.getValue(), strings.get(entry.getKey()));
+    assertFalse(strings.contains("https://example.com"));
+    assertFalse(strings.contains("https://example.com/\uFFFF"));
+    ArrayList<String> all = new ArrayList<>(sorted.keySet());
+    for (int i = 0; i < all.size(); i += 3) {
+      strings.remove(all.get(i));
+      sorted.remove(all.get(i));
+    }
+    ArrayList<String> iterated = new ArrayList<>();
+    for (Pair<String, Integer> entry : strings)
+      iterated.add(entry.left);
+    assertEquals(new ArrayList<>(sorted.keySet()), iterated);
+    String from = "https://example.com/b";
+    String to = "https://example.com/\u4E2D";
+    iterated.clear();
+    BPlusTreeIterator<String, Integer> iterator = strings.descendingIterator(from, true, to, false);
+    while (iterator.hasNext())
+      iterated.add(iterator.next().left);
+    assertEquals(new ArrayList<>(sorted.subMap(from, true, to, false).descendingKeySet()), iterated);
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    BPlusTree<Integer, Integer> shared = new BPlusTree<>();
+    int writers = 4;
+    int count = 5000;
+    List<Integer> failures = Collections.synchronizedList(new ArrayList<>());
+    Thread[] threads = new Thread[writers * 2];
+    for (int t = 0; t < writers; t++) {
+      final int base = t * count;
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < count; i++)
+          shared.put(base + i, i);
+        // remove every other key again, which also merges leaves
+        for (int i = 0; i < count; i += 2)
+          shared.remove(base + i);
+      });
+      // once inserted, the keys that stay are always found with their value
+      threads[writers + t] = new Thread(() -> {
+        for (int i = 1; i < count; i += 2) {
+          if (shared.contains(base + i) && shared.get(base + i) != i)
+            failures.add(base + i);
+        }
+      });
+    }
+    for (Thread thread : threads)
+      thread.start();
+    for (Thread thread : threads)
+      thread.join();
+    assertTrue(failures.isEmpty());
+    assertEquals(writers * count / 2, shared.size());
+    int previous = -1;
+    int c = 0;
+    for (Pair<Integer, Integer> entry : shared) {
+      assertTrue(entry.left > previous);
+      assertEquals(1, entry.left % 2);
+      previous = entry.left;
+      c++;
+    }
+    assertEquals(shared.size(), c);
+  }
 }
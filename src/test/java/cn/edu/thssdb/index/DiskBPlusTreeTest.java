@@ -0,0 +1,270 @@
+package cn.edu.thssdb.index;
+
+import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.common.Pair;
+import cn.edu.thssdb.storage.BufferPool;
+import cn.edu.thssdb.storage.Codec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DiskBPlusTreeTest {
+  private static final Codec<Integer> INT_CODEC = new Codec<Integer>() {
+    @Override
+    public void write(DataOutput out, Integer value) throws IOException {
+      out.writeInt(value);
+    }
+
+    @Override
+    public Integer read(DataInput in) throws IOException {
+      return in.readInt();
+    }
+  };
+
+  private File file;
+  private BPlusTree<Integer, Integer> tree;
+  private ArrayList<Integer> keys;
+  private HashMap<Integer, Integer> map;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("bplustree", ".page");
+    file.delete();
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC);
+    keys = new ArrayList<>();
+    map = new HashMap<>();
+    HashSet<Integer> set = new HashSet<>();
+    int size = 10000;
+    for (int i = 0; i < size; i++)
+      set.add((int) (Math.random() * size));
+    for (Integer key : set) {
+      keys.add(key);
+      tree.put(key, key * 2);
+      map.put(key, key * 2);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    tree.close();
+    file.delete();
+  }
+
+  private void reopen() {
+    tree.flush();
+    tree.close();
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC);
+  }
+
+  @Test
+  public void testReopen() {
+    reopen();
+    assertEquals(keys.size(), tree.size());
+    for (Integer key : keys)
+      assertEquals(map.get(key), tree.get(key));
+  }
+
+  @Test
+  public void testRemoveAndReopen() {
+    int size = keys.size();
+    for (int i = 0; i < size; i += 2)
+      tree.remove(keys.get(i));
+    reopen();
+    assertEquals(size / 2, tree.size());
+    for (int i = 0; i < size; i++) {
+      if (i % 2 == 0)
+        assertFalse(tree.contains(keys.get(i)));
+      else
+        assertEquals(map.get(keys.get(i)), tree.get(keys.get(i)));
+    }
+  }
+
+  @Test
+  public void testBulkLoadAndReopen() {
+    tree.close();
+    file.delete();
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC);
+    ArrayList<Pair<Integer, Integer>> entries = new ArrayList<>();
+    for (Integer key : keys)
+      entries.add(new Pair<>(key, key * 2));
+    tree.bulkLoad(entries);
+    reopen();
+    assertEquals(keys.size(), tree.size());
+    for (Integer key : keys)
+      assertEquals(map.get(key), tree.get(key));
+  }
+
+  @Test
+  public void testFanout() throws IOException {
+    // codecs of unknown width keep the global fanout
+    assertEquals(Global.fanout, tree.store.fanout);
+    tree.close();
+    file.delete();
+    Codec<Integer> narrow = new Codec<Integer>() {
+      @Override
+      public void write(DataOutput out, Integer value) throws IOException {
+        INT_CODEC.write(out, value);
+      }
+
+      @Override
+      public Integer read(DataInput in) throws IOException {
+        return INT_CODEC.read(in);
+      }
+
+      @Override
+      public int width() {
+        return 4;
+      }
+    };
+    tree = new BPlusTree<>(file.getPath(), narrow, narrow, KeyArray.objects(), 0);
+    assertTrue(tree.store.fanout > Global.fanout && tree.store.fanout * 8 <= Global.pageSize);
+    tree.close();
+    file.delete();
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC, KeyArray.objects(), 8);
+    for (Integer key : keys)
+      tree.put(key, key * 2);
+    tree.flush();
+    tree.close();
+    // the fanout a tree was created with stays with its file
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC, KeyArray.objects(), 64);
+    assertEquals(8, tree.store.fanout);
+    assertEquals(8, tree.store.leafFanout);
+    for (Integer key : keys)
+      assertEquals(map.get(key), tree.get(key));
+  }
+
+  @Test
+  public void testCompressedKeys() {
+    Codec<String> strings = new Codec<String>() {
+      @Override
+      public void write(DataOutput out, String value) throws IOException {
+        out.writeUTF(value);
+      }
+
+      @Override
+      public String read(DataInput in) throws IOException {
+        return in.readUTF();
+      }
+
+      @Override
+      public int width() {
+        return 2 + 32;
+      }
+    };
+    Codec<Integer> narrow = new Codec<Integer>() {
+      @Override
+      public void write(DataOutput out, Integer value) throws IOException {
+        INT_CODEC.write(out, value);
+      }
+
+      @Override
+      public Integer read(DataInput in) throws IOException {
+        return INT_CODEC.read(in);
+      }
+
+      @Override
+      public int width() {
+        return 4;
+      }
+    };
+    tree.close();
+    file.delete();
+    long[] lengths = new long[2];
+    for (int round = 0; round < 2; round++) {
+      KeyArray<String> array = round == 0 ? KeyArray.objects() : KeyArray.strings(s -> s, s -> s);
+      BPlusTree<String, Integer> strTree = new BPlusTree<>(file.getPath(), strings, narrow, array, 0);
+      for (Integer key : keys)
+        strTree.put(String.format("some/long/shared/prefix/%08d", key), key * 2);
+      strTree.flush();
+      strTree.close();
+      lengths[round] = file.length();
+      strTree = new BPlusTree<>(file.getPath(), strings, narrow, array, 0);
+      assertEquals(keys.size(), strTree.size());
+      for (Integer key : keys)
+        assertEquals(map.get(key), strTree.get(String.format("some/long/shared/prefix/%08d", key)));
+      strTree.close();
+      file.delete();
+    }
+    // pages hold the shared prefix once, so the same keys take fewer of them
+    assertTrue(lengths[1] < lengths[0]);
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC);
+  }
+
+  @Test
+  public void testCrashAfterWriteBack() {
+    tree.close();
+    file.delete();
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC, KeyArray.objects(), 4);
+    for (int i = 0; i < 3; i++)
+      tree.put(i, i);
+    tree.flush();
+    for (int i = 3; i < 40; i++)
+      tree.put(i, i);
+    BufferPool.getInstance().flushSome(10000);
+    // closing without a flush drops the changes since, the file keeps the tree of the last flush
+    tree.close();
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC);
+    assertEquals(3, tree.size());
+    int count = 0;
+    for (Pair<Integer, Integer> entry : tree)
+      assertEquals(Integer.valueOf(count++), entry.left);
+    assertEquals(3, count);
+  }
+
+  @Test
+  public void testWritesDuringCheckpoint() {
+    Runnable checkpoint = tree.checkpoint();
+    for (int i = 0; i < 10000; i++)
+      tree.put(-1 - i, i);
+    BufferPool.getInstance().flushSome(10000);
+    checkpoint.run();
+    tree.close();
+    tree = new BPlusTree<>(file.getPath(), INT_CODEC, INT_CODEC);
+    assertEquals(keys.size(), tree.size());
+    for (Integer key : keys)
+      assertEquals(map.get(key), tree.get(key));
+    assertFalse(tree.contains(-1));
+    for (int i = 0; i < 10000; i++)
+      tree.put(-1 - i, i);
+    reopen();
+    assertEquals(keys.size() + 10000, tree.size());
+    for (int i = 0; i < 10000; i++)
+      assertEquals(Integer.valueOf(i), tree.get(-1 - i));
+  }
+
+  @Test
+  public void testLookupsDuringSplits() throws Exception {
+    reopen();   // nothing cached, the first lookups fall back to latched reads
+    int[] failures = new int[1];
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 10000; i++)
+        tree.put(-1 - i, i);
+    });
+    Thread reader = new Thread(() -> {
+      for (int round = 0; round < 5; round++)
+        for (Integer key : keys)
+          if (!map.get(key).equals(tree.get(key)))
+            failures[0]++;
+    });
+    writer.start();
+    reader.start();
+    writer.join();
+    reader.join();
+    assertEquals(0, failures[0]);
+    assertEquals(keys.size() + 10000, tree.size());
+    for (int i = 0; i < 10000; i++)
+      assertEquals(Integer.valueOf(i), tree.get(-1 - i));
+  }
+}
@@ -0,0 +1,54 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.type.ColumnType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompositeKeyTest {
+  private static CompositeKey key(int tenant, long ts) {
+    return new CompositeKey(new Comparable<?>[]{tenant, ts});
+  }
+
+  @Test
+  public void testOrder() {
+    assertTrue(key(1, 5L).compareTo(key(2, 1L)) < 0);
+    assertTrue(key(1, 5L).compareTo(key(1, 6L)) < 0);
+    assertEquals(0, key(1, 5L).compareTo(key(1, 5L)));
+    assertEquals(key(1, 5L), key(1, 5L));
+    assertEquals(key(1, 5L).hashCode(), key(1, 5L).hashCode());
+
+    TreeSet<CompositeKey> keys = new TreeSet<>();
+    for (int tenant = 0; tenant < 10; tenant++)
+      for (long ts = 0; ts < 10; ts++)
+        keys.add(key(tenant, ts));
+    CompositeKey low = CompositeKey.bound(CompositeKey.LOW, 3);
+    CompositeKey high = CompositeKey.bound(CompositeKey.HIGH, 3);
+    assertEquals(10, keys.subSet(low, high).size());
+    assertEquals(key(3, 0L), keys.subSet(low, high).first());
+    assertEquals(30, keys.headSet(low).size());
+    assertEquals(60, keys.tailSet(high).size());
+  }
+
+  @Test
+  public void testCodec() throws IOException {
+    CompositeKeyCodec codec = new CompositeKeyCodec(new ArrayList<>(Arrays.asList(
+            new Column("tenant", ColumnType.INT, 1, true, -1),
+            new Column("ts", ColumnType.LONG, 2, true, -1))));
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    codec.write(new DataOutputStream(buffer), new Cell(key(7, 1L << 40)));
+    assertEquals(12, buffer.size());
+    Cell decoded = codec.read(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+    assertEquals(new Cell(key(7, 1L << 40)), decoded);
+  }
+}
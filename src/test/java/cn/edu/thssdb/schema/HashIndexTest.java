@@ -0,0 +1,85 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.type.ColumnType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashIndexTest {
+  private File file;
+  private HashIndex index;
+
+  @Before
+  public void setUp() throws Exception {
+    file = File.createTempFile("hash", ".idx");
+    file.delete();
+    index = open();
+  }
+
+  @After
+  public void tearDown() {
+    index.drop();
+  }
+
+  private HashIndex open() {
+    return new HashIndex("group", 1, file.getPath(), new Column("group", ColumnType.INT, 0, false, -1),
+            new CellCodec(new Column("id", ColumnType.INT, 1, true, -1)));
+  }
+
+  private static Row row(int id, Integer group) {
+    return new Row(new Cell[]{new Cell(id), new Cell(group)});
+  }
+
+  @Test
+  public void testInsertRemove() {
+    for (int id = 0; id < 10000; id++)
+      index.insert(row(id, id % 100), new Cell(id));
+    index.insert(row(10000, null), new Cell(10000));
+    index.insert(row(5, 5), new Cell(5));   // already there
+    assertEquals(10000, index.size());
+    ArrayList<Cell> keys = index.get(new Cell(42));
+    assertEquals(100, keys.size());
+    for (Cell key : keys)
+      assertEquals(42, (Integer) key.value % 100);
+    assertTrue(index.get(new Cell(100)).isEmpty());
+    assertTrue(index.get(new Cell(null)).isEmpty());
+
+    for (int id = 0; id < 10000; id += 2)
+      index.remove(row(id, id % 100), new Cell(id));
+    assertEquals(5000, index.size());
+    assertEquals(100, index.get(new Cell(43)).size());
+    assertTrue(index.get(new Cell(42)).isEmpty());
+    // removed slots are reused
+    for (int id = 0; id < 10000; id += 2)
+      index.insert(row(id, -1), new Cell(id));
+    assertEquals(5000, index.get(new Cell(-1)).size());
+    assertEquals(10000, index.size());
+  }
+
+  @Test
+  public void testReopen() {
+    for (int id = 0; id < 1000; id++)
+      index.insert(row(id, id % 10), new Cell(id));
+    index.flush();
+    index.remove(row(3, 3), new Cell(3));
+    index.insert(row(1000, 0), new Cell(1000));
+    Runnable checkpoint = index.checkpoint();
+    index.remove(row(13, 3), new Cell(13));   // after the checkpoint was taken, not in the file
+    checkpoint.run();
+    index.close();
+
+    index = open();
+    assertEquals(1000, index.size());
+    assertEquals(101, index.get(new Cell(0)).size());
+    ArrayList<Cell> keys = index.get(new Cell(3));
+    assertEquals(99, keys.size());
+    assertTrue(keys.contains(new Cell(13)));
+    assertTrue(!keys.contains(new Cell(3)));
+  }
+}
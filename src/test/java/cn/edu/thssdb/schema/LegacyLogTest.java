@@ -0,0 +1,102 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.common.Global;
+import cn.edu.thssdb.exception.FileIOException;
+import cn.edu.thssdb.type.ColumnType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+// the text log of older versions is replayed by the manager while it is being created
+public class LegacyLogTest {
+  private static final String DATABASE = "legacy";
+
+  private File dir;
+  private File log;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = new File(Global.DBMS_DIR);
+    assumeFalse("a database directory is in the way", dir.exists());
+    File tables = new File(dir, "data" + File.separator + DATABASE + File.separator + "tables");
+    assertTrue(tables.mkdirs());
+    write(new File(Manager.getManagerDataFilePath()), DATABASE);
+    write(new File(tables, "t" + Global.META_SUFFIX),
+            new Column("id", ColumnType.INT, 1, true, -1).toString(),
+            new Column("v", ColumnType.INT, 0, false, -1).toString());
+    log = new File(Manager.getTableDataFilePath(DATABASE));
+  }
+
+  @After
+  public void tearDown() {
+    delete(dir);
+  }
+
+  private static void write(File file, String... lines) throws IOException {
+    try (PrintWriter writer = new PrintWriter(file)) {
+      for (String line : lines)
+        writer.println(line);
+    }
+  }
+
+  private static void delete(File file) {
+    File[] files = file.listFiles();
+    if (files != null)
+      for (File child : files)
+        delete(child);
+    file.delete();
+  }
+
+  private static ArrayList<Integer> values(Table table) {
+    ArrayList<Integer> values = new ArrayList<>();
+    for (Row row : table)
+      values.add((Integer) row.getEntries().get(1).value);
+    return values;
+  }
+
+  @Test
+  public void testReplayAtStartup() throws IOException {
+    write(log,
+            "0#begin transaction",
+            "0#insert into t values (1, 10);",
+            "0#insert into t values (2, 20);",
+            "0#commit",
+            "1#insert into t values (3, 30);",
+            "1#update t set v = 31 where id = 3;",
+            "1#delete from t where id = 1;");
+    // the singleton, as the server starts: tables must not need it while it is being created
+    Manager manager = Manager.getInstance();
+    Table table = manager.get(DATABASE).get("t");
+    assertEquals(2, table.index.size());
+    ArrayList<Integer> values = values(table);
+    assertEquals(2, values.size());
+    assertEquals(Integer.valueOf(20), values.get(0));
+    assertEquals(Integer.valueOf(31), values.get(1));
+    assertFalse(log.exists());
+  }
+
+  @Test
+  public void testFailedReplayKeepsLog() throws IOException {
+    write(log,
+            "0#insert into t values (1, 10);",
+            "0#insert into t values (1, 11);");
+    try {
+      new Manager();
+      fail("the duplicate key was not reported");
+    } catch (FileIOException e) {
+      assertTrue(e.getMessage().contains("line 2"));
+    }
+    assertTrue(log.exists());
+  }
+}
@@ -0,0 +1,54 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.type.ColumnType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RowCodecTest {
+  private final ArrayList<Column> columns = new ArrayList<>(Arrays.asList(
+          new Column("id", ColumnType.INT, 1, true, -1),
+          new Column("l", ColumnType.LONG, 0, false, -1),
+          new Column("f", ColumnType.FLOAT, 0, false, -1),
+          new Column("d", ColumnType.DOUBLE, 0, false, -1),
+          new Column("s", ColumnType.STRING, 0, false, 10),
+          new Column("t", ColumnType.STRING, 0, false, 1000)));
+  private final RowCodec codec = new RowCodec(columns);
+
+  private Row roundTrip(Row row) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    codec.write(new DataOutputStream(buffer), row);
+    return codec.read(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    Row row = new Row(new Cell[]{new Cell(7), new Cell(1L << 40), new Cell(1.5f), new Cell(2.25),
+            new Cell("清华"), new Cell("thssdb")});
+    Row decoded = roundTrip(row);
+    for (int i = 0; i < columns.size(); i++)
+      assertEquals(row.getEntries().get(i), decoded.getEntries().get(i));
+  }
+
+  @Test
+  public void testNulls() throws IOException {
+    Row row = new Row(new Cell[]{new Cell(1), new Cell(null), new Cell(null), new Cell(3.0),
+            new Cell(null), new Cell("")});
+    Row decoded = roundTrip(row);
+    assertEquals(new Cell(1), decoded.getEntries().get(0));
+    assertNull(decoded.getEntries().get(1).value);
+    assertNull(decoded.getEntries().get(2).value);
+    assertEquals(new Cell(3.0), decoded.getEntries().get(3));
+    assertNull(decoded.getEntries().get(4).value);
+    assertEquals(new Cell(""), decoded.getEntries().get(5));
+  }
+}
@@ -0,0 +1,60 @@
+package cn.edu.thssdb.schema;
+
+import cn.edu.thssdb.type.ColumnType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+public class SecondaryIndexTest {
+  private File file;
+  private SecondaryIndex index;
+
+  @Before
+  public void setUp() throws Exception {
+    file = File.createTempFile("secondary", ".idx");
+    file.delete();
+    index = new SecondaryIndex("age", 1, file.getPath(), new Column("age", ColumnType.INT, 0, false, -1),
+            new CellCodec(new Column("id", ColumnType.INT, 1, true, -1)));
+  }
+
+  @After
+  public void tearDown() {
+    index.drop();
+  }
+
+  private static Row row(int id, Integer age) {
+    return new Row(new Cell[]{new Cell(id), new Cell(age)});
+  }
+
+  private static ArrayList<Integer> ids(ArrayList<Cell> keys) {
+    ArrayList<Integer> result = new ArrayList<>();
+    for (Cell key : keys)
+      result.add((Integer) key.value);
+    return result;
+  }
+
+  @Test
+  public void testDuplicateValues() {
+    for (int id = 0; id < 1000; id++)
+      index.insert(row(id, id % 10), new Cell(id));
+    index.insert(row(1000, null), new Cell(1000));
+    assertEquals(1000, index.size());
+    ArrayList<Integer> equal = ids(index.scan(new Cell(3), true, new Cell(3), true));
+    assertEquals(100, equal.size());
+    for (int i = 0; i < equal.size(); i++)
+      assertEquals(Integer.valueOf(i * 10 + 3), equal.get(i));
+    assertEquals(200, index.scan(new Cell(3), false, new Cell(6), false).size());
+    assertEquals(700, index.scan(null, false, new Cell(6), true).size());
+    assertEquals(300, index.scan(new Cell(6), false, null, false).size());
+
+    for (int id = 0; id < 1000; id += 2)
+      index.remove(row(id, id % 10), new Cell(id));
+    assertEquals(100, index.scan(new Cell(3), true, new Cell(3), true).size());
+    assertEquals(0, index.scan(new Cell(4), true, new Cell(4), true).size());
+  }
+}
@@ -0,0 +1,92 @@
+package cn.edu.thssdb.storage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BufferPoolTest {
+  private BufferPool pool;
+  private HashMap<Integer, String> disk;
+  private int loads;
+
+  private final BufferPool.PageSource<String> source = new BufferPool.PageSource<String>() {
+    @Override
+    public String load(int pageId) {
+      loads++;
+      return disk.get(pageId);
+    }
+
+    @Override
+    public byte[] encode(String page) {
+      return page.getBytes();
+    }
+
+    @Override
+    public void write(int pageId, byte[] image) {
+      disk.put(pageId, new String(image));
+    }
+  };
+
+  @Before
+  public void setUp() {
+    pool = new BufferPool(4);
+    disk = new HashMap<>();
+    loads = 0;
+    for (int i = 0; i < 16; i++)
+      disk.put(i, "page" + i);
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 4; i++) {
+        assertEquals("page" + i, pool.pin(source, i));
+        pool.unpin(source, i, false);
+      }
+    }
+    assertEquals(4, loads);
+    assertEquals(8, pool.getHits());
+    assertEquals(4, pool.getMisses());
+  }
+
+  @Test
+  public void testDirtyWriteBackOnEviction() {
+    pool.add(source, 100, "new page");
+    pool.unpin(source, 100, false);
+    for (int i = 0; i < 16; i++) {
+      pool.pin(source, i);
+      pool.unpin(source, i, false);
+    }
+    assertEquals("new page", disk.get(100));
+    assertTrue(pool.getEvictions() > 0);
+  }
+
+  @Test
+  public void testPinnedPagesAreNotEvicted() {
+    pool.pin(source, 0);
+    for (int i = 1; i < 16; i++) {
+      pool.pin(source, i);
+      pool.unpin(source, i, false);
+    }
+    int before = loads;
+    assertEquals("page0", pool.pin(source, 0));
+    assertEquals(before, loads);
+  }
+
+  @Test
+  public void testFlush() {
+    pool.add(source, 100, "a");
+    pool.unpin(source, 100, false);
+    pool.add(source, 101, "b");
+    pool.unpin(source, 101, false);
+    assertEquals(2, pool.getDirtyCount());
+    pool.flush(source);
+    assertEquals(0, pool.getDirtyCount());
+    assertEquals("a", disk.get(100));
+    assertEquals("b", disk.get(101));
+  }
+}
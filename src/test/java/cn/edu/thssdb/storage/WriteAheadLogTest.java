@@ -0,0 +1,100 @@
+package cn.edu.thssdb.storage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WriteAheadLogTest {
+  private File dir;
+
+  @Before
+  public void setUp() throws Exception {
+    dir = Files.createTempDirectory("wal").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = dir.listFiles();
+    if (files != null)
+      for (File file : files)
+        file.delete();
+    dir.delete();
+  }
+
+  private ArrayList<String> replay(WriteAheadLog log) {
+    ArrayList<String> result = new ArrayList<>();
+    log.replay(record -> result.add(record.session + ":" + new String(record.payload)));
+    return result;
+  }
+
+  @Test
+  public void testReplayAfterReopen() {
+    WriteAheadLog log = new WriteAheadLog(dir.getPath(), 1 << 20);
+    for (int i = 0; i < 100; i++)
+      log.append(i % 3, WriteAheadLog.INSERT, ("statement " + i).getBytes());
+    log.close();
+    log = new WriteAheadLog(dir.getPath(), 1 << 20);
+    ArrayList<String> records = replay(log);
+    assertEquals(100, records.size());
+    assertEquals("2:statement 98", records.get(98));
+    log.close();
+  }
+
+  @Test
+  public void testTornTailIsDropped() throws Exception {
+    WriteAheadLog log = new WriteAheadLog(dir.getPath(), 1 << 20);
+    log.append(0, WriteAheadLog.INSERT, "first".getBytes());
+    long end = log.append(0, WriteAheadLog.INSERT, "second".getBytes());
+    log.close();
+    File segment = dir.listFiles()[0];
+    try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+      file.setLength(end - 3);
+    }
+    log = new WriteAheadLog(dir.getPath(), 1 << 20);
+    log.flush(log.append(0, WriteAheadLog.INSERT, "third".getBytes()));
+    ArrayList<String> records = replay(log);
+    assertEquals(2, records.size());
+    assertEquals("0:third", records.get(1));
+    log.close();
+  }
+
+  @Test
+  public void testRollAndTruncate() {
+    WriteAheadLog log = new WriteAheadLog(dir.getPath(), 256);
+    for (int i = 0; i < 50; i++)
+      log.flush(log.append(0, WriteAheadLog.INSERT, ("statement " + i).getBytes()));
+    assertTrue(dir.listFiles().length > 1);
+    long start = log.roll();
+    log.flush(log.append(0, WriteAheadLog.INSERT, "after".getBytes()));
+    log.truncate(start);
+    assertEquals(1, dir.listFiles().length);
+    assertEquals(1, replay(log).size());
+    log.close();
+  }
+
+  @Test
+  public void testGroupCommit() throws Exception {
+    WriteAheadLog log = new WriteAheadLog(dir.getPath(), 1 << 20);
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      final int session = t;
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < 100; i++)
+          log.flush(log.append(session, WriteAheadLog.COMMIT, new byte[0]));
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads)
+      thread.join();
+    log.close();
+    assertEquals(800, replay(new WriteAheadLog(dir.getPath(), 1 << 20)).size());
+  }
+}
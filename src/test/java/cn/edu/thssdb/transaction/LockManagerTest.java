@@ -0,0 +1,171 @@
+package cn.edu.thssdb.transaction;
+
+import cn.edu.thssdb.exception.DeadlockException;
+import cn.edu.thssdb.exception.LockWaitTimeoutException;
+import cn.edu.thssdb.type.LockType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LockManagerTest {
+  private LockManager lockManager;
+  private final Object table = new Object();
+
+  @Before
+  public void setUp() {
+    lockManager = new LockManager(2000);
+  }
+
+  private Thread start(Runnable runnable) {
+    Thread thread = new Thread(runnable);
+    thread.start();
+    return thread;
+  }
+
+  private void waitForWaiters(int count) throws InterruptedException {
+    while (lockManager.getWaitingCount() < count)
+      Thread.sleep(5);
+  }
+
+  @Test
+  public void testSharedLocksAreCompatible() {
+    assertTrue(lockManager.acquire(1, table, LockType.SHARED));
+    assertTrue(lockManager.acquire(2, table, LockType.SHARED));
+    assertFalse(lockManager.acquire(1, table, LockType.SHARED));
+    assertFalse(lockManager.test(3, table, LockType.EXCLUSIVE));
+    lockManager.releaseAll(1);
+    lockManager.releaseAll(2);
+    assertTrue(lockManager.test(3, table, LockType.EXCLUSIVE));
+  }
+
+  @Test
+  public void testExclusiveWaitsForRelease() throws Exception {
+    lockManager.acquire(1, table, LockType.EXCLUSIVE);
+    List<Long> order = Collections.synchronizedList(new ArrayList<>());
+    Thread reader = start(() -> {
+      lockManager.acquire(2, table, LockType.SHARED);
+      order.add(2L);
+    });
+    waitForWaiters(1);
+    order.add(1L);
+    lockManager.releaseAll(1);
+    reader.join();
+    assertEquals(2, order.size());
+    assertEquals(Long.valueOf(1), order.get(0));
+    assertTrue(lockManager.holds(2, table, LockType.SHARED));
+  }
+
+  @Test
+  public void testFifoQueue() throws Exception {
+    lockManager.acquire(1, table, LockType.SHARED);
+    List<Long> order = Collections.synchronizedList(new ArrayList<>());
+    Thread writer = start(() -> {
+      lockManager.acquire(2, table, LockType.EXCLUSIVE);
+      order.add(2L);
+      lockManager.releaseAll(2);
+    });
+    waitForWaiters(1);
+    // a reader arriving after a waiting writer does not overtake it
+    Thread reader = start(() -> {
+      lockManager.acquire(3, table, LockType.SHARED);
+      order.add(3L);
+    });
+    waitForWaiters(2);
+    lockManager.releaseAll(1);
+    writer.join();
+    reader.join();
+    assertEquals(Long.valueOf(2), order.get(0));
+    assertEquals(Long.valueOf(3), order.get(1));
+  }
+
+  @Test
+  public void testUpgrade() throws Exception {
+    lockManager.acquire(1, table, LockType.SHARED);
+    lockManager.acquire(2, table, LockType.SHARED);
+    Thread upgrader = start(() -> lockManager.acquire(1, table, LockType.EXCLUSIVE));
+    waitForWaiters(1);
+    lockManager.releaseAll(2);
+    upgrader.join();
+    assertTrue(lockManager.holds(1, table, LockType.EXCLUSIVE));
+    assertFalse(lockManager.test(2, table, LockType.SHARED));
+  }
+
+  @Test
+  public void testIntentionLocks() {
+    Object row1 = new Object();
+    Object row2 = new Object();
+    lockManager.acquire(1, table, LockType.INTENTION_EXCLUSIVE);
+    lockManager.acquire(1, row1, LockType.EXCLUSIVE);
+    assertTrue(lockManager.acquire(2, table, LockType.INTENTION_EXCLUSIVE));
+    assertTrue(lockManager.acquire(2, row2, LockType.EXCLUSIVE));
+    assertFalse(lockManager.test(2, row1, LockType.SHARED));
+    assertTrue(lockManager.test(3, table, LockType.INTENTION_SHARED));
+    assertFalse(lockManager.test(3, table, LockType.SHARED));
+    lockManager.releaseAll(2);
+    // IX + S of the same session becomes SIX
+    lockManager.acquire(1, table, LockType.SHARED);
+    assertTrue(lockManager.holds(1, table, LockType.SHARED_INTENTION_EXCLUSIVE));
+    assertTrue(lockManager.test(3, table, LockType.INTENTION_SHARED));
+    assertFalse(lockManager.test(3, table, LockType.INTENTION_EXCLUSIVE));
+  }
+
+  @Test
+  public void testDeadlockAbortsYoungest() throws Exception {
+    Object other = new Object();
+    lockManager.acquire(1, table, LockType.EXCLUSIVE);
+    lockManager.acquire(2, other, LockType.EXCLUSIVE);
+    Thread older = start(() -> lockManager.acquire(1, other, LockType.EXCLUSIVE));
+    waitForWaiters(1);
+    try {
+      lockManager.acquire(2, table, LockType.SHARED);
+      fail();
+    } catch (DeadlockException e) {
+      assertTrue(lockManager.isAborted(2));
+      assertFalse(lockManager.isAborted(1));
+    }
+    lockManager.releaseAll(2);
+    older.join();
+    assertTrue(lockManager.holds(1, other, LockType.EXCLUSIVE));
+    assertEquals(1, lockManager.getDeadlockCount());
+  }
+
+  @Test
+  public void testWaitingVictimIsWoken() throws Exception {
+    lockManager.acquire(1, table, LockType.SHARED);
+    lockManager.acquire(2, table, LockType.SHARED);
+    Thread younger = start(() -> {
+      try {
+        lockManager.acquire(2, table, LockType.EXCLUSIVE);
+      } catch (DeadlockException e) {
+        lockManager.releaseAll(2);
+      }
+    });
+    waitForWaiters(1);
+    // both sessions upgrade, the older one wins
+    assertTrue(lockManager.acquire(1, table, LockType.EXCLUSIVE));
+    younger.join();
+    assertFalse(lockManager.isAborted(2));
+  }
+
+  @Test
+  public void testTimeout() {
+    lockManager = new LockManager(50);
+    lockManager.acquire(1, table, LockType.EXCLUSIVE);
+    try {
+      lockManager.acquire(2, table, LockType.SHARED);
+      fail();
+    } catch (LockWaitTimeoutException e) {
+      assertEquals(0, lockManager.getWaitingCount());
+      assertTrue(lockManager.isAborted(2));
+    }
+    assertTrue(lockManager.holds(1, table, LockType.EXCLUSIVE));
+  }
+}
@@ -0,0 +1,139 @@
+package cn.edu.thssdb.transaction;
+
+import cn.edu.thssdb.common.Pair;
+import cn.edu.thssdb.exception.WriteConflictException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VersionStoreTest {
+  private VersionStore<Integer, String> store;
+  private TreeMap<Integer, String> index;
+
+  @Before
+  public void setUp() {
+    store = new VersionStore<>();
+    index = new TreeMap<>();
+    for (int i = 0; i < 5; i++)
+      index.put(i, "v" + i);
+  }
+
+  private void write(int key, String value, Transaction writer) {
+    store.write(key, index.get(key), value, writer);
+    if (value == null)
+      index.remove(key);
+    else
+      index.put(key, value);
+  }
+
+  private ArrayList<String> scan(Transaction reader) {
+    ArrayList<Pair<Integer, String>> entries = new ArrayList<>();
+    index.forEach((key, value) -> entries.add(new Pair<>(key, value)));
+    return store.snapshot(entries.iterator(), reader);
+  }
+
+  @Test
+  public void testSnapshotIgnoresLaterWrites() {
+    Transaction reader = new Transaction(1, 0);
+    Transaction writer = new Transaction(2, 0);
+    write(1, "w1", writer);
+    write(3, null, writer);
+    write(7, "w7", writer);
+    assertEquals(Arrays.asList("v0", "v1", "v2", "v3", "v4"), scan(reader));
+    assertEquals(Arrays.asList("v0", "w1", "v2", "v4", "w7"), scan(writer));
+    writer.commit(1);
+    assertEquals(Arrays.asList("v0", "v1", "v2", "v3", "v4"), scan(reader));
+    assertEquals(Arrays.asList("v0", "w1", "v2", "v4", "w7"), scan(new Transaction(3, 1)));
+    assertEquals("v1", store.read(1, index.get(1), reader));
+    assertNull(store.read(7, index.get(7), reader));
+  }
+
+  @Test
+  public void testRangeSnapshot() {
+    Transaction reader = new Transaction(1, 0);
+    Transaction writer = new Transaction(2, 0);
+    write(2, null, writer);
+    write(4, "w4", writer);
+    write(6, "w6", writer);
+    ArrayList<Pair<Integer, String>> entries = new ArrayList<>();
+    index.subMap(1, true, 4, false).forEach((key, value) -> entries.add(new Pair<>(key, value)));
+    assertEquals(Arrays.asList("v1", "v2", "v3"), store.snapshot(entries.iterator(), 1, true, 4, false, reader));
+    assertEquals(Arrays.asList("v1", "v3"), store.snapshot(entries.iterator(), 1, true, 4, false, writer));
+  }
+
+  @Test
+  public void testVacuum() {
+    Transaction first = new Transaction(1, 0);
+    write(1, "a", first);
+    write(1, "b", first);
+    assertEquals(2, store.size());
+    first.commit(1);
+    Transaction second = new Transaction(2, 1);
+    write(1, "c", second);
+    second.commit(2);
+    assertEquals(3, store.size());
+    // a snapshot at 1 still needs "b"
+    assertEquals(1, store.vacuum(1));
+    assertEquals("b", store.read(1, index.get(1), new Transaction(3, 1)));
+    assertEquals(2, store.vacuum(2));
+    assertEquals(0, store.size());
+    assertEquals("c", store.read(1, index.get(1), new Transaction(3, 2)));
+  }
+
+  @Test
+  public void testRollback() {
+    Transaction writer = new Transaction(1, 0);
+    Transaction reader = new Transaction(2, 0);
+    int savepoint = writer.getUndoPosition();
+    for (int key : new int[]{1, 7}) {
+      String before = index.get(key);
+      String after = "w" + key;
+      write(key, after, writer);
+      writer.addUndo(() -> write(key, before, writer));
+    }
+    assertEquals(Arrays.asList("v0", "w1", "v2", "v3", "v4", "w7"), scan(writer));
+    writer.rollback(savepoint);
+    writer.abort();
+    assertEquals(Arrays.asList("v0", "v1", "v2", "v3", "v4"), scan(reader));
+    assertEquals(Arrays.asList("v0", "v1", "v2", "v3", "v4"), new ArrayList<>(index.values()));
+    assertEquals(4, store.vacuum(0));
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  public void testOptimisticConflicts() {
+    Transaction first = new Transaction(1, 0, true);
+    Transaction second = new Transaction(2, 0, true);
+    store.checkWrite(1, first);
+    write(1, "a", first);
+    try {
+      store.checkWrite(1, second);
+      fail();
+    } catch (WriteConflictException e) {
+      assertTrue(second.isRollbackOnly());
+    }
+    assertFalse(store.changedSince(1, second));
+    first.commit(1);
+    assertTrue(store.changedSince(1, second));
+    assertTrue(store.changedSince(null, second));
+    assertFalse(store.changedSince(2, second));
+    assertFalse(store.changedSince(1, new Transaction(3, 1, true)));
+    // first committer wins against an optimistic snapshot taken before the commit
+    Transaction third = new Transaction(3, 0, true);
+    try {
+      store.checkWrite(1, third);
+      fail();
+    } catch (WriteConflictException ignored) {
+    }
+    store.checkWrite(1, new Transaction(4, 0));
+  }
+}